@@ -0,0 +1,121 @@
+package gg.kite.bench;
+
+import gg.kite.listeners.ClueListener;
+import gg.kite.offline.Fixture;
+import gg.kite.offline.Stubs;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one {@link ClueListener#onPlayerMove} call for a hunting player walking through a populated area.
+ * <p>
+ * Players walk back and forth along random straight lines, one block per move, so every move changes block and the
+ * hysteresis state sees players entering, staying near and leaving clues. Solves are queued on the fixture's tick
+ * scheduler, which the benchmark never runs, so only detection is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClueProximityBenchmark {
+    private static final int CLUES_PER_TREASURE = 5;
+    private static final int WALK_LENGTH = 32;
+    private static final int HALF_SIZE = 2048;
+
+    @Param({"1000", "10000", "50000"})
+    public int clues;
+
+    @Param({"1", "100", "500"})
+    public int players;
+
+    private Fixture fixture;
+    private ClueListener listener;
+    private PlayerMoveEvent[][] walks;
+    private int player;
+    private int step;
+
+    /**
+     * Populates the area, starts a hunt for every player and precomputes their walks.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        fixture = new Fixture();
+        fixture.populate(clues / CLUES_PER_TREASURE, CLUES_PER_TREASURE, HALF_SIZE, 42);
+        listener = new ClueListener(fixture.treasureManager, fixture.scheduler, fixture.messageConfig,
+                fixture.config.getDouble("treasure.clue-find-radius", 3.0),
+                fixture.config.getDouble("treasure.clue-exit-margin", 1.5),
+                fixture.config.getLong("treasure.clue-retry-millis", 1000), fixture.metrics);
+        Random random = new Random(7);
+        walks = new PlayerMoveEvent[players][];
+        for (int i = 0; i < players; i++) {
+            Player stub = Stubs.player(UUID.randomUUID(), "player" + i);
+            fixture.treasureManager.startHunt(stub);
+            walks[i] = walk(stub, random);
+        }
+    }
+
+    /**
+     * Builds the move events of a walk out along a random direction and back.
+     *
+     * @param stub The walking player.
+     * @param random The random source.
+     * @return The move events, in order.
+     */
+    private PlayerMoveEvent[] walk(Player stub, Random random) {
+        double angle = random.nextDouble() * Math.PI * 2;
+        double dx = Math.cos(angle);
+        double dz = Math.sin(angle);
+        Location[] points = new Location[WALK_LENGTH + 1];
+        Location start = new Location(fixture.world, random.nextInt(2 * HALF_SIZE) - HALF_SIZE, 64, random.nextInt(2 * HALF_SIZE) - HALF_SIZE);
+        for (int i = 0; i <= WALK_LENGTH; i++) {
+            // Step a little over a block so consecutive points always fall in different blocks.
+            points[i] = start.clone().add(dx * i * 1.5, 0, dz * i * 1.5);
+        }
+        PlayerMoveEvent[] events = new PlayerMoveEvent[WALK_LENGTH * 2];
+        for (int i = 0; i < WALK_LENGTH; i++) {
+            events[i] = new PlayerMoveEvent(stub, points[i], points[i + 1]);
+            events[WALK_LENGTH + i] = new PlayerMoveEvent(stub, points[WALK_LENGTH - i], points[WALK_LENGTH - i - 1]);
+        }
+        return events;
+    }
+
+    /**
+     * Stops the fixture's background thread.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    /**
+     * Handles the next move of the next player, round-robin.
+     */
+    @Benchmark
+    public void move() {
+        listener.onPlayerMove(walks[player][step]);
+        if (++player == players) {
+            player = 0;
+            step = (step + 1) % walks[0].length;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package gg.kite.bench;
+
+import gg.kite.managers.Clue;
+import gg.kite.managers.Documents;
+import gg.kite.managers.Treasure;
+import gg.kite.offline.Fixture;
+import org.bson.Document;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the stored documents of treasures and clues with {@code Documents}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentBenchmark {
+    private Fixture fixture;
+    private Treasure treasure;
+    private Clue clue;
+
+    /**
+     * Creates a treasure and a clue to serialize.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        fixture = new Fixture();
+        Location location = new Location(fixture.world, 120.5, 64, -340.5);
+        treasure = new Treasure("benchmark-treasure", location, 2);
+        clue = new Clue("Look beneath the old oak", location.clone().add(12, 0, 7), "medium");
+    }
+
+    /**
+     * Stops the fixture's background thread.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    /**
+     * Building a treasure document.
+     *
+     * @return The document.
+     */
+    @Benchmark
+    public Document treasureDocument() {
+        return Documents.toDocument(treasure);
+    }
+
+    /**
+     * Building a clue document.
+     *
+     * @return The document.
+     */
+    @Benchmark
+    public Document clueDocument() {
+        return Documents.toDocument(treasure.getName(), clue);
+    }
+}
@@ -0,0 +1,84 @@
+package gg.kite.bench;
+
+import gg.kite.managers.Team;
+import gg.kite.offline.Fixture;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of ranking teams for the leaderboard and the competition sidebar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+    @Param({"1000", "10000"})
+    public int teams;
+
+    private Fixture fixture;
+
+    /**
+     * Loads teams with random scores through the stubbed teams collection.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        Random random = new Random(42);
+        List<Document> documents = new ArrayList<>(teams);
+        for (int i = 0; i < teams; i++) {
+            documents.add(new Document("name", "team" + i)
+                    .append("members", List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString()))
+                    .append("score", random.nextInt(50)));
+        }
+        fixture = new Fixture(Map.of("teams", documents));
+    }
+
+    /**
+     * Stops the fixture's background thread.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    /**
+     * The top ten teams, as shown by {@code /hunt leaderboard}.
+     *
+     * @return The leaderboard.
+     */
+    @Benchmark
+    public List<Team> leaderboard() {
+        return fixture.treasureManager.getLeaderboard();
+    }
+
+    /**
+     * Every team in rank order, as computed for each sidebar update.
+     *
+     * @return The ranked teams.
+     */
+    @Benchmark
+    public List<Team> rankedTeams() {
+        return fixture.treasureManager.getRankedTeams();
+    }
+}
@@ -0,0 +1,69 @@
+package gg.kite.bench;
+
+import gg.kite.config.MessageConfig;
+import gg.kite.offline.Stubs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Cost of formatting configured messages with {@link MessageConfig#getMessage}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageConfigBenchmark {
+    private MessageConfig messageConfig;
+
+    /**
+     * Loads the bundled messages.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        messageConfig = new MessageConfig(Stubs.config(), Logger.getLogger("TreasureHunt-Bench"));
+    }
+
+    /**
+     * A message without placeholders.
+     *
+     * @return The formatted message.
+     */
+    @Benchmark
+    public String plain() {
+        return messageConfig.getMessage("hunt-complete");
+    }
+
+    /**
+     * A message with one placeholder, as sent on every automatic clue solve.
+     *
+     * @return The formatted message.
+     */
+    @Benchmark
+    public String onePlaceholder() {
+        return messageConfig.getMessage("clue-solved-auto", "%s", "treasure-1");
+    }
+
+    /**
+     * A message with five placeholders.
+     *
+     * @return The formatted message.
+     */
+    @Benchmark
+    public String fivePlaceholders() {
+        return messageConfig.getMessage("metrics-latency", "%n", "clue.move", "%c", "123456", "%a", "12", "%b", "85", "%m", "950");
+    }
+}
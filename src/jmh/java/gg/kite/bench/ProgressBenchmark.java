@@ -0,0 +1,99 @@
+package gg.kite.bench;
+
+import gg.kite.offline.Fixture;
+import gg.kite.offline.Stubs;
+import org.bukkit.entity.Player;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the progress checks in {@code markClueSolved} and {@code markTreasureFound} on the paths players hit
+ * repeatedly: clues they already solved, treasures they already found and treasures they cannot find yet.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProgressBenchmark {
+    private Fixture fixture;
+    private Player veteran;
+    private Player newcomer;
+
+    /**
+     * Populates 1000 treasures and lets one player solve every clue of the first treasure and find it.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        fixture = new Fixture();
+        fixture.populate(1000, 5, 2048, 42);
+        veteran = Stubs.player(UUID.randomUUID(), "veteran");
+        newcomer = Stubs.player(UUID.randomUUID(), "newcomer");
+        for (int i = 0; i < 5; i++) {
+            fixture.treasureManager.markClueSolved(veteran, "t0", "c" + i);
+        }
+        fixture.treasureManager.markTreasureFound(veteran, "t0");
+    }
+
+    /**
+     * Stops the fixture's background thread.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        fixture.close();
+    }
+
+    /**
+     * Solving a clue the player already solved.
+     *
+     * @return False.
+     */
+    @Benchmark
+    public boolean clueAlreadySolved() {
+        return fixture.treasureManager.markClueSolved(veteran, "t0", "c2");
+    }
+
+    /**
+     * Solving a clue that does not exist.
+     *
+     * @return False.
+     */
+    @Benchmark
+    public boolean clueUnknown() {
+        return fixture.treasureManager.markClueSolved(veteran, "t0", "missing");
+    }
+
+    /**
+     * Finding a treasure the player already found.
+     *
+     * @return False.
+     */
+    @Benchmark
+    public boolean treasureAlreadyFound() {
+        return fixture.treasureManager.markTreasureFound(veteran, "t0");
+    }
+
+    /**
+     * Finding a treasure without having solved enough of its clues.
+     *
+     * @return False.
+     */
+    @Benchmark
+    public boolean treasureNotEnoughClues() {
+        return fixture.treasureManager.markTreasureFound(newcomer, "t1");
+    }
+}
@@ -2,17 +2,28 @@ package gg.kite;
 
 import com.google.inject.Guice;
 import com.google.inject.Injector;
-import com.mongodb.client.MongoClient;
-import com.mongodb.client.MongoClients;
 import gg.kite.commands.CommandHandler;
+import gg.kite.commands.RateLimiter;
 import gg.kite.config.MessageConfig;
+import gg.kite.listeners.ChunkListener;
 import gg.kite.listeners.ClueListener;
+import gg.kite.listeners.PlayerListener;
 import gg.kite.listeners.TreasureListener;
-import gg.kite.managers.DatabaseManager;
+import gg.kite.listeners.WorldListener;
+import gg.kite.managers.CleanupService;
+import gg.kite.managers.HintService;
+import gg.kite.managers.ParticleRenderer;
+import gg.kite.managers.PlayerNameCache;
+import gg.kite.managers.ScoreboardService;
+import gg.kite.managers.Storage;
+import gg.kite.managers.TaskExecutor;
+import gg.kite.managers.TickScheduler;
+import gg.kite.managers.TransferService;
 import gg.kite.managers.TreasureManager;
+import gg.kite.metrics.LoadPhaseEvent;
+import gg.kite.metrics.Metrics;
 import gg.kite.modules.TreasureHuntModule;
 import org.bukkit.plugin.java.JavaPlugin;
-import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
 import java.util.concurrent.Executors;
@@ -27,7 +38,11 @@ import java.util.logging.Logger;
  */
 public class TreasureHunt extends JavaPlugin {
     private Injector injector;
-    private MongoClient mongoClient;
+    private Storage storage;
+    private TaskExecutor taskExecutor;
+    private CleanupService cleanupService;
+    private TransferService transferService;
+    private Metrics metrics;
     private ScheduledExecutorService scheduler;
 
     /**
@@ -48,19 +63,41 @@ public class TreasureHunt extends JavaPlugin {
 
         try {
 
-            mongoClient = initializeMongoClient();
-            DatabaseManager databaseManager = injector.getInstance(DatabaseManager.class);
+            LoadPhaseEvent connect = new LoadPhaseEvent();
+            connect.begin();
+            storage = injector.getInstance(Storage.class);
+            connect.commit("open-storage", -1);
+            taskExecutor = injector.getInstance(TaskExecutor.class);
+            cleanupService = injector.getInstance(CleanupService.class);
+            metrics = injector.getInstance(Metrics.class);
             TreasureManager treasureManager = injector.getInstance(TreasureManager.class);
+            transferService = injector.getInstance(TransferService.class);
+            PlayerNameCache playerNameCache = injector.getInstance(PlayerNameCache.class);
+            getServer().getOnlinePlayers().forEach(p -> playerNameCache.remember(p.getUniqueId(), p.getName()));
 
             injector.getInstance(CommandHandler.class).registerCommands();
 
             getServer().getPluginManager().registerEvents(
-                    new TreasureListener(treasureManager, messageConfig), this);
+                    new TreasureListener(treasureManager, messageConfig, metrics), this);
             getServer().getPluginManager().registerEvents(
-                    new ClueListener(treasureManager, messageConfig, getConfig().getDouble("treasure.clue-find-radius", 3.0)), this);
+                    new ClueListener(treasureManager, injector.getInstance(TickScheduler.class), messageConfig,
+                            getConfig().getDouble("treasure.clue-find-radius", 3.0),
+                            getConfig().getDouble("treasure.clue-exit-margin", 1.5),
+                            getConfig().getLong("treasure.clue-retry-millis", 1000), metrics), this);
+            getServer().getPluginManager().registerEvents(new PlayerListener(playerNameCache), this);
+            getServer().getPluginManager().registerEvents(new ChunkListener(treasureManager), this);
+            getServer().getPluginManager().registerEvents(new WorldListener(treasureManager, getLogger()), this);
+            treasureManager.activateLoadedChunks();
 
             scheduler = Executors.newScheduledThreadPool(1);
             scheduler.scheduleAtFixedRate(() -> treasureManager.cleanupStaleData(), 1, 10, TimeUnit.MINUTES);
+            scheduler.scheduleAtFixedRate(injector.getInstance(RateLimiter.class)::expireIdle, 1, 1, TimeUnit.MINUTES);
+            injector.getInstance(TickScheduler.class).start();
+            cleanupService.start();
+            injector.getInstance(HintService.class).start();
+            injector.getInstance(ParticleRenderer.class).start();
+            injector.getInstance(ScoreboardService.class).start();
+            metrics.registerMBeans(getLogger());
 
             getLogger().info(messageConfig.getMessage("plugin-enabled"));
         } catch (Exception e) {
@@ -83,8 +120,20 @@ public class TreasureHunt extends JavaPlugin {
      */
     @Override
     public void onDisable() {
-        if (mongoClient != null) {
-            mongoClient.close();
+        if (transferService != null) {
+            transferService.shutdown();
+        }
+        if (cleanupService != null) {
+            cleanupService.shutdown();
+        }
+        if (taskExecutor != null) {
+            taskExecutor.shutdown();
+        }
+        if (metrics != null) {
+            metrics.unregisterMBeans();
+        }
+        if (storage != null) {
+            storage.close();
         }
         if (scheduler != null) {
             scheduler.shutdown();
@@ -93,31 +142,6 @@ public class TreasureHunt extends JavaPlugin {
         getLogger().info(messageConfig.getMessage("plugin-disabled"));
     }
 
-    /**
-     * Initializes the MongoDB client with retry logic.
-     *
-     * @return The initialized MongoClient.
-     * @throws IllegalStateException if connection fails after retries.
-     */
-    private @NotNull MongoClient initializeMongoClient() {
-        String connectionString = getConfig().getString("mongodb.connection-string", "mongodb://localhost:27017");
-        int retries = 3;
-        for (int i = 0; i < retries; i++) {
-            try {
-                return MongoClients.create(connectionString);
-            } catch (Exception e) {
-                getLogger().log(Level.WARNING, "MongoDB connection attempt {0} failed: {1}", new Object[]{i + 1, e.getMessage()});
-                if (i < retries - 1) {
-                    try {
-                        Thread.sleep(1000L * (i + 1)); // Exponential backoff
-                    } catch (InterruptedException ignored) {
-                    }
-                }
-            }
-        }
-        throw new IllegalStateException("Failed to connect to MongoDB after " + retries + " attempts");
-    }
-
     /**
      * Gets the Guice injector for dependency injection.
      *
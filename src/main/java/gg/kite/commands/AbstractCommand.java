@@ -1,25 +1,43 @@
 package gg.kite.commands;
 
 import gg.kite.config.MessageConfig;
+import gg.kite.managers.TaskExecutor;
+import gg.kite.managers.TickScheduler;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
 /**
  * Abstract base class for command executors, providing common functionality like permission and player checks.
  */
 public abstract class AbstractCommand {
+    protected static final int PAGE_SIZE = 10;
+
     protected final MessageConfig messageConfig;
+    protected final TaskExecutor taskExecutor;
+    protected final RateLimiter rateLimiter;
     protected final String permission;
 
     /**
      * Constructs an AbstractCommand with the given message configuration and permission.
      *
      * @param messageConfig The message configuration for sending formatted messages.
+     * @param taskExecutor The executor for returning asynchronous results to the main thread.
+     * @param rateLimiter The shared per-player command rate limiter.
      * @param permission The permission node required to execute the command.
      */
-    public AbstractCommand(@NotNull MessageConfig messageConfig, @NotNull String permission) {
+    public AbstractCommand(@NotNull MessageConfig messageConfig, @NotNull TaskExecutor taskExecutor, @NotNull RateLimiter rateLimiter,
+                           @NotNull String permission) {
         this.messageConfig = messageConfig;
+        this.taskExecutor = taskExecutor;
+        this.rateLimiter = rateLimiter;
         this.permission = permission;
     }
 
@@ -40,4 +58,83 @@ public abstract class AbstractCommand {
         }
         return true;
     }
+
+    /**
+     * Charges a subcommand against the player's rate limit, telling them how long to wait if it is exhausted.
+     *
+     * @param player The player executing the command.
+     * @param command The command name.
+     * @param subcommand The subcommand name.
+     * @return True if the command may proceed, false if it was rate limited.
+     */
+    protected boolean checkRateLimit(@NotNull Player player, @NotNull String command, @NotNull String subcommand) {
+        long waitNanos = rateLimiter.tryAcquire(player.getUniqueId(), command, subcommand.toLowerCase());
+        if (waitNanos > 0) {
+            long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            player.sendMessage(messageConfig.getMessage("rate-limited", "%s", String.valueOf(seconds)));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parses an optional page number argument.
+     *
+     * @param args The command arguments.
+     * @param index The index of the page argument.
+     * @return The requested page, or 1 if the argument is absent.
+     * @throws IllegalArgumentException if the argument is not a positive number.
+     */
+    protected int parsePage(@NotNull String[] args, int index) {
+        if (args.length <= index) return 1;
+        try {
+            int page = Integer.parseInt(args[index]);
+            if (page >= 1) return page;
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalArgumentException("Page must be a positive number");
+    }
+
+    /**
+     * Sends one page of lines to a player, followed by a page indicator if there is more than one page.
+     *
+     * @param player The player receiving the lines.
+     * @param items The full list of items.
+     * @param page The requested page, clamped to the available pages.
+     * @param formatter Formats an item into a chat line.
+     * @param <T> The item type.
+     */
+    protected <T> void sendPage(@NotNull Player player, @NotNull List<T> items, int page, @NotNull Function<T, String> formatter) {
+        int pages = Math.max(1, (items.size() + PAGE_SIZE - 1) / PAGE_SIZE);
+        int current = Math.min(Math.max(1, page), pages);
+        int end = Math.min(items.size(), current * PAGE_SIZE);
+        for (int i = (current - 1) * PAGE_SIZE; i < end; i++) {
+            player.sendMessage(formatter.apply(items.get(i)));
+        }
+        if (pages > 1) {
+            player.sendMessage(messageConfig.getMessage("page-footer",
+                    "%p", String.valueOf(current), "%t", String.valueOf(pages)));
+        }
+    }
+
+    /**
+     * Delivers the result of an asynchronous operation to a player on the main thread.
+     * Failures are reported with the generic error message; results for players who have left are dropped.
+     *
+     * @param player The player awaiting the result.
+     * @param future The pending operation.
+     * @param onSuccess The callback receiving the result.
+     * @param <T> The result type.
+     */
+    protected <T> void whenComplete(@NotNull Player player, @NotNull CompletableFuture<T> future, @NotNull Consumer<T> onSuccess) {
+        taskExecutor.whenCompleteSync(future, TickScheduler.Priority.FEEDBACK, (result, error) -> {
+            if (!player.isOnline()) return;
+            if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                player.sendMessage(messageConfig.getMessage("error", "%s", String.valueOf(cause.getMessage())));
+                return;
+            }
+            onSuccess.accept(result);
+        });
+    }
 }
\ No newline at end of file
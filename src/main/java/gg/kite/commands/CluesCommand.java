@@ -1,6 +1,7 @@
 package gg.kite.commands;
 
 import gg.kite.config.MessageConfig;
+import gg.kite.managers.TaskExecutor;
 import gg.kite.managers.Clue;
 import gg.kite.managers.Treasure;
 import gg.kite.managers.TreasureManager;
@@ -28,14 +29,17 @@ public class CluesCommand extends AbstractCommand implements TabExecutor {
      *
      * @param manager The treasure manager for clue operations.
      * @param messageConfig The message configuration for sending formatted messages.
+     * @param taskExecutor The executor for returning asynchronous results to the main thread.
+     * @param rateLimiter The shared per-player command rate limiter.
      */
-    public CluesCommand(@NotNull TreasureManager manager, @NotNull MessageConfig messageConfig) {
-        super(messageConfig, "treasurehunt.clue");
+    public CluesCommand(@NotNull TreasureManager manager, @NotNull MessageConfig messageConfig, @NotNull TaskExecutor taskExecutor,
+                        @NotNull RateLimiter rateLimiter) {
+        super(messageConfig, taskExecutor, rateLimiter, "treasurehunt.clue");
         this.treasureManager = manager;
     }
 
     /**
-     * Executes the clue command with subcommands: create, delete, list, solve.
+     * Executes the clue command with subcommands: create, delete, list, solve, require.
      *
      * @param sender The command sender.
      * @param command The command instance.
@@ -53,12 +57,15 @@ public class CluesCommand extends AbstractCommand implements TabExecutor {
             return false;
         }
 
+        if (!checkRateLimit(player, command.getName(), args[0])) return true;
+
         try {
             switch (args[0].toLowerCase()) {
                 case "create" -> createClue(player, args);
                 case "delete" -> deleteClues(player, args);
                 case "list" -> listClues(player, args);
                 case "solve" -> solveClue(player, args);
+                case "require" -> requireClues(player, args);
                 default -> {
                     player.sendMessage(messageConfig.getMessage("invalid-clue-command"));
                     return false;
@@ -85,8 +92,9 @@ public class CluesCommand extends AbstractCommand implements TabExecutor {
         if (description.length() > 100) {
             throw new IllegalArgumentException("Clue description too long (max 100 characters)");
         }
-        boolean created = treasureManager.createClue(args[1], description, player.getLocation());
-        player.sendMessage(messageConfig.getMessage(created ? "clue-created" : "clue-invalid", "%s", args[1]));
+        String treasureName = args[1];
+        whenComplete(player, treasureManager.createClue(treasureName, description, player.getLocation()), created ->
+                player.sendMessage(messageConfig.getMessage(created ? "clue-created" : "clue-invalid", "%s", treasureName)));
     }
 
     /**
@@ -100,8 +108,9 @@ public class CluesCommand extends AbstractCommand implements TabExecutor {
             player.sendMessage(messageConfig.getMessage("usage-clue-delete-error"));
             return;
         }
-        boolean deleted = treasureManager.deleteClues(args[1]);
-        player.sendMessage(messageConfig.getMessage(deleted ? "clues-deleted" : "treasure-not-found", "%s", args[1]));
+        String treasureName = args[1];
+        whenComplete(player, treasureManager.deleteClues(treasureName), deleted ->
+                player.sendMessage(messageConfig.getMessage(deleted ? "clues-deleted" : "treasure-not-found", "%s", treasureName)));
     }
 
     /**
@@ -120,11 +129,16 @@ public class CluesCommand extends AbstractCommand implements TabExecutor {
             player.sendMessage(messageConfig.getMessage("no-clues", "%s", args[1]));
         } else {
             player.sendMessage(messageConfig.getMessage("clue-list", "%s", args[1]));
+            var treasure = treasureManager.getTreasure(args[1]);
             for (int i = 0; i < clues.size(); i++) {
                 Clue clue = clues.get(i);
                 Location loc = clue.location();
                 player.sendMessage(String.format("%d. %s (Difficulty: %s, Location: %.1f, %.1f, %.1f)",
                         i + 1, clue.description(), clue.difficulty(), loc.getX(), loc.getY(), loc.getZ()));
+                long required = treasure != null ? treasure.getPrerequisites(i) : 0L;
+                if (required != 0) {
+                    player.sendMessage(messageConfig.getMessage("clue-requires", "%s", formatPositions(required)));
+                }
             }
         }
     }
@@ -145,6 +159,51 @@ public class CluesCommand extends AbstractCommand implements TabExecutor {
         player.sendMessage(messageConfig.getMessage(solved ? "clue-solved" : "clue-not-found", "%s", args[1]));
     }
 
+    /**
+     * Sets the clues that must be solved before a clue, by their numbers in /clue list.
+     * Only earlier clues can be required, and giving no prerequisites clears them.
+     *
+     * @param player The player executing the command.
+     * @param args The command arguments (expected: require <treasure> <clue#> [prereq#...]).
+     */
+    private void requireClues(@NotNull Player player, @NotNull String @NotNull [] args) {
+        if (args.length < 3) {
+            player.sendMessage(messageConfig.getMessage("usage-clue-require"));
+            return;
+        }
+        String treasureName = args[1];
+        int clueIndex;
+        List<Integer> required = new ArrayList<>();
+        try {
+            clueIndex = Integer.parseInt(args[2]) - 1;
+            for (int i = 3; i < args.length; i++) {
+                required.add(Integer.parseInt(args[i]) - 1);
+            }
+        } catch (NumberFormatException e) {
+            player.sendMessage(messageConfig.getMessage("usage-clue-require"));
+            return;
+        }
+        whenComplete(player, treasureManager.setClueRequirements(treasureName, clueIndex, required), updated ->
+                player.sendMessage(messageConfig.getMessage(updated ? "clue-requirements-set" : "clue-requirements-invalid",
+                        "%s", treasureName, "%d", String.valueOf(clueIndex + 1))));
+    }
+
+    /**
+     * Formats the set bits of a prerequisite mask as one-based clue numbers.
+     *
+     * @param mask The prerequisite mask.
+     * @return The comma-separated clue numbers.
+     */
+    private static String formatPositions(long mask) {
+        var numbers = new ArrayList<String>(Long.bitCount(mask));
+        for (int i = 0; mask != 0; i++, mask >>>= 1) {
+            if ((mask & 1) != 0) {
+                numbers.add(String.valueOf(i + 1));
+            }
+        }
+        return String.join(", ", numbers);
+    }
+
     /**
      * Provides tab completion suggestions for the clue command.
      *
@@ -158,7 +217,7 @@ public class CluesCommand extends AbstractCommand implements TabExecutor {
     public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, @NotNull String @NotNull [] args) {
         List<String> completions = new ArrayList<>();
         if (args.length == 1) {
-            completions.addAll(Arrays.asList("create", "delete", "list", "solve"));
+            completions.addAll(Arrays.asList("create", "delete", "list", "solve", "require"));
         } else if (args.length == 2) {
             completions.addAll(treasureManager.getTreasures().stream()
                     .map(Treasure::getName)
@@ -2,7 +2,14 @@ package gg.kite.commands;
 
 import com.google.inject.Inject;
 import gg.kite.config.MessageConfig;
+import gg.kite.managers.CleanupService;
+import gg.kite.managers.PlayerNameCache;
+import gg.kite.managers.StatusService;
+import gg.kite.managers.TaskExecutor;
+import gg.kite.managers.TransferService;
+import gg.kite.managers.TreasureGenerator;
 import gg.kite.managers.TreasureManager;
+import gg.kite.metrics.Metrics;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.PluginCommand;
 import org.bukkit.command.TabCompleter;
@@ -28,18 +35,30 @@ public class CommandHandler {
      * @param plugin The plugin instance.
      * @param treasureManager The treasure manager for command operations.
      * @param messageConfig The message configuration for command messages.
+     * @param taskExecutor The executor for running database-bound command work.
+     * @param cleanupService The service running background cleanup after deletes.
+     * @param playerNameCache The cache resolving player names for listings.
+     * @param transferService The service streaming treasure imports and exports.
+     * @param rateLimiter The shared per-player command rate limiter.
+     * @param treasureGenerator The generator placing random treasures.
+     * @param metrics The metrics registry shown by the treasure command.
+     * @param statusService The service describing in-memory state for the treasure command.
      */
     @Inject
-    public CommandHandler(@NotNull JavaPlugin plugin, @NotNull TreasureManager treasureManager, @NotNull MessageConfig messageConfig) {
+    public CommandHandler(@NotNull JavaPlugin plugin, @NotNull TreasureManager treasureManager, @NotNull MessageConfig messageConfig,
+                          @NotNull TaskExecutor taskExecutor, @NotNull CleanupService cleanupService,
+                          @NotNull PlayerNameCache playerNameCache, @NotNull TransferService transferService,
+                          @NotNull RateLimiter rateLimiter, @NotNull TreasureGenerator treasureGenerator,
+                          @NotNull Metrics metrics, @NotNull StatusService statusService) {
         this.plugin = plugin;
         this.treasureManager = treasureManager;
         this.messageConfig = messageConfig;
         this.commands = new HashMap<>();
         this.tabCompleters = new HashMap<>();
-        registerCommand("treasure", new TreasureCommand(treasureManager, messageConfig));
-        registerCommand("clue", new CluesCommand(treasureManager, messageConfig));
-        registerCommand("team", new TeamCommand(treasureManager, messageConfig));
-        registerCommand("hunt", new HuntCommand(treasureManager, messageConfig));
+        registerCommand("treasure", new TreasureCommand(treasureManager, messageConfig, taskExecutor, rateLimiter, cleanupService, transferService, treasureGenerator, metrics, statusService));
+        registerCommand("clue", new CluesCommand(treasureManager, messageConfig, taskExecutor, rateLimiter));
+        registerCommand("team", new TeamCommand(treasureManager, messageConfig, taskExecutor, rateLimiter, playerNameCache));
+        registerCommand("hunt", new HuntCommand(treasureManager, messageConfig, taskExecutor, rateLimiter));
     }
 
     /**
@@ -1,6 +1,9 @@
 package gg.kite.commands;
 
 import gg.kite.config.MessageConfig;
+import gg.kite.managers.TaskExecutor;
+import gg.kite.managers.PlayerProgress;
+import gg.kite.managers.Treasure;
 import gg.kite.managers.TreasureManager;
 import gg.kite.managers.Team;
 import org.bukkit.command.Command;
@@ -13,7 +16,6 @@ import org.jetbrains.annotations.NotNull;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -27,9 +29,12 @@ public class HuntCommand extends AbstractCommand implements TabExecutor {
      *
      * @param treasureManager The treasure manager for hunt operations.
      * @param messageConfig The message configuration for command messages.
+     * @param taskExecutor The executor for returning asynchronous results to the main thread.
+     * @param rateLimiter The shared per-player command rate limiter.
      */
-    public HuntCommand(@NotNull TreasureManager treasureManager, @NotNull MessageConfig messageConfig) {
-        super(messageConfig, "treasurehunt.hunt");
+    public HuntCommand(@NotNull TreasureManager treasureManager, @NotNull MessageConfig messageConfig, @NotNull TaskExecutor taskExecutor,
+                       @NotNull RateLimiter rateLimiter) {
+        super(messageConfig, taskExecutor, rateLimiter, "treasurehunt.hunt");
         this.treasureManager = treasureManager;
     }
 
@@ -52,12 +57,14 @@ public class HuntCommand extends AbstractCommand implements TabExecutor {
             return false;
         }
 
+        if (!checkRateLimit(player, command.getName(), args[0])) return true;
+
         try {
             switch (args[0].toLowerCase()) {
                 case "start" -> treasureManager.startHunt(player);
                 case "competition" -> handleCompetition(player, args);
                 case "leaderboard" -> showLeaderboard(player);
-                case "progress" -> showProgress(player);
+                case "progress" -> showProgress(player, args);
                 default -> {
                     player.sendMessage(messageConfig.getMessage("invalid-hunt-command"));
                     return false;
@@ -106,16 +113,45 @@ public class HuntCommand extends AbstractCommand implements TabExecutor {
     }
 
     /**
-     * Displays the player's current hunt progress.
+     * Displays the player's hunt progress, with one line per treasure they have made progress on.
+     * Counts come from the player's per-treasure progress, so only the treasures on the shown page are looked up.
      *
      * @param player The player requesting their progress.
+     * @param args The command arguments (expected: progress [page]).
      */
-    private void showProgress(@NotNull Player player) {
-        Set<String> solvedClues = treasureManager.getPlayerClueProgress(player.getUniqueId());
-        Set<String> foundTreasures = treasureManager.getPlayerTreasureProgress(player.getUniqueId());
+    private void showProgress(@NotNull Player player, @NotNull String @NotNull [] args) {
+        int page = parsePage(args, 1);
+        PlayerProgress progress = treasureManager.getPlayerProgress(player.getUniqueId());
         player.sendMessage(messageConfig.getMessage("progress-header"));
-        player.sendMessage("Clues Solved: " + (solvedClues.isEmpty() ? "None" : solvedClues.size()));
-        player.sendMessage("Treasures Found: " + (foundTreasures.isEmpty() ? "None" : foundTreasures.size()));
+        if (progress == null) {
+            player.sendMessage(messageConfig.getMessage("progress-none"));
+            return;
+        }
+        player.sendMessage(messageConfig.getMessage("progress-summary",
+                "%c", String.valueOf(progress.getTotalSolved()),
+                "%t", String.valueOf(progress.getTotalFound())));
+        sendPage(player, new ArrayList<>(progress.getTouchedTreasures()), page, name -> formatTreasureProgress(progress, name));
+    }
+
+    /**
+     * Formats a player's progress on a single treasure.
+     *
+     * @param progress The player's progress.
+     * @param treasureName The treasure name.
+     * @return The formatted progress line.
+     */
+    private String formatTreasureProgress(@NotNull PlayerProgress progress, @NotNull String treasureName) {
+        Treasure treasure = treasureManager.getTreasure(treasureName);
+        int solved = progress.getSolvedCount(treasureName);
+        int total = treasure != null ? treasure.getClueCount() : solved;
+        int remaining = treasureManager.getMinCluesRequired() - solved;
+        String key = progress.hasFoundTreasure(treasureName) ? "progress-treasure-found"
+                : remaining <= 0 ? "progress-treasure-ready" : "progress-treasure-locked";
+        return messageConfig.getMessage(key,
+                "%n", treasureName,
+                "%c", String.valueOf(solved),
+                "%t", String.valueOf(total),
+                "%r", String.valueOf(Math.max(0, remaining)));
     }
 
     /**
@@ -0,0 +1,135 @@
+package gg.kite.commands;
+
+import com.google.inject.Inject;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-player token-bucket rate limiter shared by all commands.
+ * <p>
+ * Each bucket is tracked as a single theoretical arrival time (the generic cell rate algorithm), so a player's state
+ * is one {@link AtomicLongArray} with a slot per bucket, updated by compare-and-set without locks or allocation.
+ * Subcommands without their own configuration share the default bucket.
+ */
+public class RateLimiter {
+    private static final int DEFAULT_SLOT = 0;
+
+    private final Map<String, Map<String, Bucket>> buckets;
+    private final Bucket defaultBucket;
+    private final int slotCount;
+    private final long idleExpiryNanos;
+    private final long origin;
+    private final ConcurrentHashMap<UUID, AtomicLongArray> states;
+
+    /**
+     * Constructs a RateLimiter from the {@code rate-limits} configuration section.
+     *
+     * @param config The plugin configuration.
+     */
+    @Inject
+    public RateLimiter(@NotNull FileConfiguration config) {
+        this.buckets = new HashMap<>();
+        this.defaultBucket = readBucket(config.getConfigurationSection("rate-limits.default"), DEFAULT_SLOT);
+        int slot = DEFAULT_SLOT + 1;
+        ConfigurationSection commands = config.getConfigurationSection("rate-limits.commands");
+        if (commands != null) {
+            for (String command : commands.getKeys(false)) {
+                ConfigurationSection subcommands = commands.getConfigurationSection(command);
+                if (subcommands == null) continue;
+                for (String subcommand : subcommands.getKeys(false)) {
+                    buckets.computeIfAbsent(command.toLowerCase(), k -> new HashMap<>())
+                            .put(subcommand.toLowerCase(), readBucket(subcommands.getConfigurationSection(subcommand), slot++));
+                }
+            }
+        }
+        this.slotCount = slot;
+        this.idleExpiryNanos = TimeUnit.SECONDS.toNanos(Math.max(1, config.getLong("rate-limits.idle-expiry-seconds", 300)));
+        this.origin = System.nanoTime();
+        this.states = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Reads a bucket definition, falling back to defaults for missing values.
+     *
+     * @param section The bucket section, or null.
+     * @param slot The state slot assigned to the bucket.
+     * @return The bucket.
+     */
+    private static Bucket readBucket(ConfigurationSection section, int slot) {
+        int capacity = section != null ? section.getInt("capacity", 5) : 5;
+        double refillPerSecond = section != null ? section.getDouble("refill-per-second", 1.0) : 1.0;
+        int cost = section != null ? section.getInt("cost", 1) : 1;
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / Math.max(0.0001, refillPerSecond));
+        return new Bucket(slot, interval, Math.max(1, capacity) * interval, Math.max(1, cost));
+    }
+
+    /**
+     * Attempts to take the configured cost of a subcommand from a player's bucket.
+     *
+     * @param playerId The player's UUID.
+     * @param command The command name.
+     * @param subcommand The subcommand name, in lower case.
+     * @return 0 if permitted, otherwise the nanoseconds until the request would be permitted.
+     */
+    public long tryAcquire(@NotNull UUID playerId, @NotNull String command, @NotNull String subcommand) {
+        Bucket bucket = defaultBucket;
+        Map<String, Bucket> commandBuckets = buckets.get(command);
+        if (commandBuckets != null) {
+            bucket = commandBuckets.getOrDefault(subcommand, defaultBucket);
+        }
+        AtomicLongArray state = states.computeIfAbsent(playerId, k -> new AtomicLongArray(slotCount));
+        long increment = bucket.interval() * bucket.cost();
+        while (true) {
+            long now = System.nanoTime() - origin;
+            long arrival = state.get(bucket.slot());
+            long next = Math.max(arrival, now) + increment;
+            long excess = next - now - bucket.tolerance();
+            if (excess > 0) {
+                return excess;
+            }
+            if (state.compareAndSet(bucket.slot(), arrival, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Removes players whose buckets have all been full for longer than the idle expiry.
+     */
+    public void expireIdle() {
+        long cutoff = System.nanoTime() - origin - idleExpiryNanos;
+        states.values().removeIf(state -> {
+            for (int i = 0; i < state.length(); i++) {
+                if (state.get(i) > cutoff) return false;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Gets the number of players with tracked rate limit state.
+     *
+     * @return The number of tracked players.
+     */
+    public int getTrackedPlayers() {
+        return states.size();
+    }
+
+    /**
+     * A configured bucket.
+     *
+     * @param slot The index of the bucket's state slot.
+     * @param interval The nanoseconds needed to refill one token.
+     * @param tolerance The nanoseconds of burst allowed, equal to capacity times interval.
+     * @param cost The tokens taken per use.
+     */
+    private record Bucket(int slot, long interval, long tolerance, int cost) {}
+}
@@ -1,6 +1,9 @@
 package gg.kite.commands;
 
 import gg.kite.config.MessageConfig;
+import gg.kite.managers.PlayerNameCache;
+import gg.kite.managers.TaskExecutor;
+import gg.kite.managers.Team;
 import gg.kite.managers.TreasureManager;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
@@ -11,8 +14,8 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -20,16 +23,22 @@ import java.util.stream.Collectors;
  */
 public class TeamCommand extends AbstractCommand implements TabExecutor {
     private final TreasureManager treasureManager;
+    private final PlayerNameCache playerNameCache;
 
     /**
      * Constructs a TeamCommand with the specified dependencies.
      *
      * @param treasureManager The treasure manager for team operations.
      * @param messageConfig The message configuration for command messages.
+     * @param taskExecutor The executor for returning asynchronous results to the main thread.
+     * @param rateLimiter The shared per-player command rate limiter.
+     * @param playerNameCache The cache resolving member names for listings.
      */
-    public TeamCommand(@NotNull TreasureManager treasureManager, @NotNull MessageConfig messageConfig) {
-        super(messageConfig, "treasurehunt.team");
+    public TeamCommand(@NotNull TreasureManager treasureManager, @NotNull MessageConfig messageConfig, @NotNull TaskExecutor taskExecutor,
+                       @NotNull RateLimiter rateLimiter, @NotNull PlayerNameCache playerNameCache) {
+        super(messageConfig, taskExecutor, rateLimiter, "treasurehunt.team");
         this.treasureManager = treasureManager;
+        this.playerNameCache = playerNameCache;
     }
 
     /**
@@ -51,12 +60,14 @@ public class TeamCommand extends AbstractCommand implements TabExecutor {
             return false;
         }
 
+        if (!checkRateLimit(player, command.getName(), args[0])) return true;
+
         try {
             switch (args[0].toLowerCase()) {
                 case "create" -> createTeam(player, args);
                 case "invite" -> invitePlayer(player, args);
                 case "kick" -> kickPlayer(player, args);
-                case "list" -> listTeams(player);
+                case "list" -> listTeams(player, args);
                 default -> {
                     player.sendMessage(messageConfig.getMessage("invalid-team-command"));
                     return false;
@@ -82,8 +93,9 @@ public class TeamCommand extends AbstractCommand implements TabExecutor {
         if (args[1].length() > 16 || !args[1].matches("[a-zA-Z0-9_-]+")) {
             throw new IllegalArgumentException("Team name must be alphanumeric and up to 16 characters");
         }
-        boolean created = treasureManager.createTeam(args[1], player);
-        player.sendMessage(messageConfig.getMessage(created ? "team-created" : "team-exists", "%s", args[1]));
+        String name = args[1];
+        whenComplete(player, treasureManager.createTeam(name, player), created ->
+                player.sendMessage(messageConfig.getMessage(created ? "team-created" : "team-exists", "%s", name)));
     }
 
     /**
@@ -110,13 +122,17 @@ public class TeamCommand extends AbstractCommand implements TabExecutor {
             player.sendMessage(messageConfig.getMessage("team-not-found"));
             return;
         }
-        boolean invitedSuccessfully = treasureManager.invitePlayer(team.getName(), invited);
-        if (invitedSuccessfully) {
-            player.sendMessage(messageConfig.getMessage("team-invited", "%s", args[1]));
-            invited.sendMessage(messageConfig.getMessage("team-invite-received"));
-        } else {
-            player.sendMessage(messageConfig.getMessage("team-invite-failed", "%s", args[1]));
-        }
+        String invitedName = args[1];
+        whenComplete(player, treasureManager.invitePlayer(team.getName(), invited), invitedSuccessfully -> {
+            if (invitedSuccessfully) {
+                player.sendMessage(messageConfig.getMessage("team-invited", "%s", invitedName));
+                if (invited.isOnline()) {
+                    invited.sendMessage(messageConfig.getMessage("team-invite-received"));
+                }
+            } else {
+                player.sendMessage(messageConfig.getMessage("team-invite-failed", "%s", invitedName));
+            }
+        });
     }
 
     /**
@@ -143,32 +159,36 @@ public class TeamCommand extends AbstractCommand implements TabExecutor {
             player.sendMessage(messageConfig.getMessage("team-not-found"));
             return;
         }
-        boolean kickedSuccessfully = treasureManager.kickPlayer(team.getName(), kicked);
-        if (kickedSuccessfully) {
-            player.sendMessage(messageConfig.getMessage("team-kicked", "%s", args[1]));
-            kicked.sendMessage(messageConfig.getMessage("team-kick-received"));
-        } else {
-            player.sendMessage(messageConfig.getMessage("team-kick-failed", "%s", args[1]));
-        }
+        String kickedName = args[1];
+        whenComplete(player, treasureManager.kickPlayer(team.getName(), kicked), kickedSuccessfully -> {
+            if (kickedSuccessfully) {
+                player.sendMessage(messageConfig.getMessage("team-kicked", "%s", kickedName));
+                if (kicked.isOnline()) {
+                    kicked.sendMessage(messageConfig.getMessage("team-kick-received"));
+                }
+            } else {
+                player.sendMessage(messageConfig.getMessage("team-kick-failed", "%s", kickedName));
+            }
+        });
     }
 
     /**
-     * Lists all teams and their members.
+     * Lists one page of teams and their members, using cached member names.
      *
      * @param player The player executing the command.
+     * @param args The command arguments (expected: list [page]).
      */
-    private void listTeams(@NotNull Player player) {
+    private void listTeams(@NotNull Player player, @NotNull String[] args) {
+        int page = parsePage(args, 1);
         var teams = treasureManager.getTeams();
         if (teams.isEmpty()) {
             player.sendMessage(messageConfig.getMessage("no-teams"));
         } else {
+            teams.sort(Comparator.comparing(Team::getName, String.CASE_INSENSITIVE_ORDER));
             player.sendMessage(messageConfig.getMessage("team-list"));
-            for (var team : teams) {
-                player.sendMessage(team.getName() + ": " + team.getMembers().stream()
-                        .map(uuid -> player.getServer().getOfflinePlayer(uuid).getName())
-                        .filter(Objects::nonNull)
-                        .collect(Collectors.joining(", ")));
-            }
+            sendPage(player, teams, page, team -> team.getName() + ": " + team.getMembers().stream()
+                    .map(playerNameCache::getDisplayName)
+                    .collect(Collectors.joining(", ")));
         }
     }
 
@@ -1,8 +1,15 @@
 package gg.kite.commands;
 
 import gg.kite.config.MessageConfig;
+import gg.kite.managers.CleanupService;
+import gg.kite.managers.StatusService;
+import gg.kite.managers.TaskExecutor;
+import gg.kite.managers.TickScheduler;
+import gg.kite.managers.TransferService;
 import gg.kite.managers.Treasure;
+import gg.kite.managers.TreasureGenerator;
 import gg.kite.managers.TreasureManager;
+import gg.kite.metrics.Metrics;
 import org.bukkit.Location;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandSender;
@@ -14,26 +21,48 @@ import org.jetbrains.annotations.NotNull;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Command executor for managing treasures with tab completion support.
  */
 public class TreasureCommand extends AbstractCommand implements TabExecutor {
     private final TreasureManager treasureManager;
+    private final CleanupService cleanupService;
+    private final TransferService transferService;
+    private final TreasureGenerator treasureGenerator;
+    private final Metrics metrics;
+    private final StatusService statusService;
 
     /**
      * Constructs a TreasureCommand with the specified dependencies.
      *
      * @param treasureManager The treasure manager for treasure operations.
      * @param messageConfig The message configuration for command messages.
+     * @param taskExecutor The executor for returning asynchronous results to the main thread.
+     * @param rateLimiter The shared per-player command rate limiter.
+     * @param cleanupService The cleanup service reporting background delete progress.
+     * @param transferService The service streaming treasure imports and exports.
+     * @param treasureGenerator The generator placing random treasures around a player.
+     * @param metrics The metrics registry shown by the metrics subcommand.
+     * @param statusService The service describing in-memory state for the status subcommand.
      */
-    public TreasureCommand(@NotNull TreasureManager treasureManager, @NotNull MessageConfig messageConfig) {
-        super(messageConfig, "treasurehunt.treasure");
+    public TreasureCommand(@NotNull TreasureManager treasureManager, @NotNull MessageConfig messageConfig, @NotNull TaskExecutor taskExecutor,
+                           @NotNull RateLimiter rateLimiter, @NotNull CleanupService cleanupService, @NotNull TransferService transferService,
+                           @NotNull TreasureGenerator treasureGenerator, @NotNull Metrics metrics,
+                           @NotNull StatusService statusService) {
+        super(messageConfig, taskExecutor, rateLimiter, "treasurehunt.treasure");
         this.treasureManager = treasureManager;
+        this.cleanupService = cleanupService;
+        this.transferService = transferService;
+        this.treasureGenerator = treasureGenerator;
+        this.metrics = metrics;
+        this.statusService = statusService;
     }
 
     /**
-     * Executes the treasure command with subcommands: create, delete, list.
+     * Executes the treasure command with subcommands: create, delete, list, cleanup, export, import, generate, metrics, status.
      *
      * @param sender The command sender.
      * @param command The command instance.
@@ -46,16 +75,24 @@ public class TreasureCommand extends AbstractCommand implements TabExecutor {
         if (!checkSender(sender)) return true;
         Player player = (Player) sender;
 
-        if (args.length == 1) {
+        if (args.length == 0) {
             player.sendMessage(messageConfig.getMessage("usage-treasure-error"));
             return false;
         }
 
+        if (!checkRateLimit(player, command.getName(), args[0])) return true;
+
         try {
             switch (args[0].toLowerCase()) {
                 case "create" -> createTreasure(player, args);
                 case "delete" -> deleteTreasure(player, args);
                 case "list" -> listTreasures(player);
+                case "cleanup" -> handleCleanup(player, args);
+                case "export" -> exportTreasures(player, args);
+                case "import" -> importTreasures(player, args);
+                case "generate" -> generateTreasures(player, args);
+                case "metrics" -> showMetrics(player);
+                case "status" -> statusService.describe().forEach(player::sendMessage);
                 default -> {
                     player.sendMessage(messageConfig.getMessage("invalid-treasure-command"));
                     return false;
@@ -92,9 +129,10 @@ public class TreasureCommand extends AbstractCommand implements TabExecutor {
             player.sendMessage(messageConfig.getMessage("invalid-rarity-format"));
             return;
         }
-        boolean created = treasureManager.createTreasure(args[1], player.getLocation(), rarity);
-        player.sendMessage(messageConfig.getMessage(created ? "treasure-created" : "treasure-exists",
-                "%s", args[1], "%r", String.valueOf(rarity)));
+        String name = args[1];
+        whenComplete(player, treasureManager.createTreasure(name, player.getLocation(), rarity), created ->
+                player.sendMessage(messageConfig.getMessage(created ? "treasure-created" : "treasure-exists",
+                        "%s", name, "%r", String.valueOf(rarity))));
     }
 
     /**
@@ -108,8 +146,9 @@ public class TreasureCommand extends AbstractCommand implements TabExecutor {
             player.sendMessage(messageConfig.getMessage("usage-treasure-delete"));
             return;
         }
-        boolean deleted = treasureManager.deleteTreasure(args[1]);
-        player.sendMessage(messageConfig.getMessage(deleted ? "treasure-deleted" : "treasure-not-found", "%s", args[1]));
+        String name = args[1];
+        whenComplete(player, treasureManager.deleteTreasure(name), deleted ->
+                player.sendMessage(messageConfig.getMessage(deleted ? "treasure-deleted" : "treasure-not-found", "%s", name)));
     }
 
     /**
@@ -132,6 +171,181 @@ public class TreasureCommand extends AbstractCommand implements TabExecutor {
         }
     }
 
+    /**
+     * Shows background cleanup progress, or queues an orphan sweep.
+     *
+     * @param player The player executing the command.
+     * @param args The command arguments (expected: cleanup [status|sweep]).
+     */
+    private void handleCleanup(@NotNull Player player, @NotNull String[] args) {
+        if (!cleanupService.isEnabled()) {
+            player.sendMessage(messageConfig.getMessage("cleanup-unavailable"));
+            return;
+        }
+        if (args.length == 2 && args[1].equalsIgnoreCase("sweep")) {
+            boolean queued = cleanupService.queueOrphanSweep();
+            player.sendMessage(messageConfig.getMessage(queued ? "cleanup-sweep-queued" : "cleanup-sweep-pending"));
+            return;
+        }
+        if (args.length > 2 || (args.length == 2 && !args[1].equalsIgnoreCase("status"))) {
+            player.sendMessage(messageConfig.getMessage("usage-treasure-cleanup"));
+            return;
+        }
+        var status = cleanupService.getStatus();
+        if (status.currentJob() == null) {
+            player.sendMessage(messageConfig.getMessage("cleanup-status-idle",
+                    "%d", String.valueOf(status.totalDeleted())));
+        } else {
+            player.sendMessage(messageConfig.getMessage("cleanup-status-active",
+                    "%s", status.currentJob(),
+                    "%d", String.valueOf(status.currentDeleted()),
+                    "%q", String.valueOf(status.queuedJobs())));
+        }
+        if (status.lastSweepFinishedAt() > 0) {
+            long minutesAgo = (System.currentTimeMillis() - status.lastSweepFinishedAt()) / 60_000;
+            player.sendMessage(messageConfig.getMessage("cleanup-last-sweep",
+                    "%m", String.valueOf(minutesAgo),
+                    "%d", String.valueOf(status.lastSweepDeleted())));
+        }
+    }
+
+    /**
+     * Exports all treasures and clues to a file in the export folder.
+     *
+     * @param player The player executing the command.
+     * @param args The command arguments (expected: export <file>).
+     */
+    private void exportTreasures(@NotNull Player player, @NotNull String[] args) {
+        if (args.length != 2) {
+            player.sendMessage(messageConfig.getMessage("usage-treasure-export"));
+            return;
+        }
+        String fileName = args[1];
+        CompletableFuture<Long> export;
+        try {
+            export = transferService.exportTo(fileName, count -> taskExecutor.runSync(TickScheduler.Priority.FEEDBACK, () -> {
+                if (player.isOnline()) {
+                    player.sendMessage(messageConfig.getMessage("export-progress", "%d", String.valueOf(count)));
+                }
+            }));
+        } catch (IllegalStateException e) {
+            player.sendMessage(messageConfig.getMessage("error", "%s", e.getMessage()));
+            return;
+        }
+        player.sendMessage(messageConfig.getMessage("export-started", "%s", fileName));
+        whenComplete(player, export, count ->
+                player.sendMessage(messageConfig.getMessage("export-complete", "%d", String.valueOf(count), "%s", fileName)));
+    }
+
+    /**
+     * Imports treasures and clues from a file in the export folder.
+     *
+     * @param player The player executing the command.
+     * @param args The command arguments (expected: import <file>).
+     */
+    private void importTreasures(@NotNull Player player, @NotNull String[] args) {
+        if (args.length != 2) {
+            player.sendMessage(messageConfig.getMessage("usage-treasure-import"));
+            return;
+        }
+        String fileName = args[1];
+        CompletableFuture<TransferService.ImportResult> imported;
+        try {
+            imported = transferService.importFrom(fileName, result -> taskExecutor.runSync(TickScheduler.Priority.FEEDBACK, () -> {
+                if (player.isOnline()) {
+                    player.sendMessage(formatImportResult("import-progress", result));
+                }
+            }));
+        } catch (IllegalStateException e) {
+            player.sendMessage(messageConfig.getMessage("error", "%s", e.getMessage()));
+            return;
+        }
+        player.sendMessage(messageConfig.getMessage("import-started", "%s", fileName));
+        whenComplete(player, imported, result -> player.sendMessage(formatImportResult("import-complete", result)));
+    }
+
+    /**
+     * Generates random treasures and clues around the player.
+     *
+     * @param player The player executing the command.
+     * @param args The command arguments (expected: generate <count> <radius>).
+     */
+    private void generateTreasures(@NotNull Player player, @NotNull String[] args) {
+        if (args.length != 3) {
+            player.sendMessage(messageConfig.getMessage("usage-treasure-generate"));
+            return;
+        }
+        int count;
+        int radius;
+        try {
+            count = Integer.parseInt(args[1]);
+            radius = Integer.parseInt(args[2]);
+        } catch (NumberFormatException e) {
+            player.sendMessage(messageConfig.getMessage("usage-treasure-generate"));
+            return;
+        }
+        CompletableFuture<TreasureGenerator.Result> generated;
+        try {
+            generated = treasureGenerator.generate(player.getLocation(), count, radius, created -> {
+                if (player.isOnline()) {
+                    player.sendMessage(messageConfig.getMessage("generate-progress", "%d", String.valueOf(created)));
+                }
+            });
+        } catch (IllegalStateException e) {
+            player.sendMessage(messageConfig.getMessage("error", "%s", e.getMessage()));
+            return;
+        }
+        player.sendMessage(messageConfig.getMessage("generate-started", "%d", String.valueOf(count), "%r", String.valueOf(radius)));
+        whenComplete(player, generated, result -> player.sendMessage(messageConfig.getMessage("generate-complete",
+                "%t", String.valueOf(result.treasures()),
+                "%c", String.valueOf(result.clues()),
+                "%a", String.valueOf(result.attempts()))));
+    }
+
+    /**
+     * Shows the hot-path counters and latency histograms.
+     *
+     * @param player The player executing the command.
+     */
+    private void showMetrics(@NotNull Player player) {
+        player.sendMessage(messageConfig.getMessage("metrics-header"));
+        metrics.getCounterValues().forEach((name, value) ->
+                player.sendMessage(messageConfig.getMessage("metrics-counter", "%n", name, "%v", String.valueOf(value))));
+        metrics.getHistogramSnapshots().forEach((name, snapshot) -> {
+            if (snapshot.count() == 0) return;
+            player.sendMessage(messageConfig.getMessage("metrics-latency",
+                    "%n", name,
+                    "%c", String.valueOf(snapshot.count()),
+                    "%a", micros(snapshot.p50()),
+                    "%b", micros(snapshot.p99()),
+                    "%m", micros(snapshot.max())));
+        });
+    }
+
+    /**
+     * Formats a duration in microseconds.
+     *
+     * @param nanos The duration in nanoseconds.
+     * @return The formatted duration.
+     */
+    private static String micros(long nanos) {
+        return String.valueOf(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    /**
+     * Formats import totals with the given message key.
+     *
+     * @param key The message key.
+     * @param result The import totals.
+     * @return The formatted message.
+     */
+    private String formatImportResult(@NotNull String key, @NotNull TransferService.ImportResult result) {
+        return messageConfig.getMessage(key,
+                "%t", String.valueOf(result.treasures()),
+                "%c", String.valueOf(result.clues()),
+                "%k", String.valueOf(result.skipped()));
+    }
+
     /**
      * Provides tab completion suggestions for the treasure command.
      *
@@ -145,7 +359,9 @@ public class TreasureCommand extends AbstractCommand implements TabExecutor {
     public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, @NotNull String[] args) {
         List<String> completions = new ArrayList<>();
         if (args.length == 1) {
-            completions.addAll(Arrays.asList("create", "delete", "list"));
+            completions.addAll(Arrays.asList("create", "delete", "list", "cleanup", "export", "import", "generate", "metrics", "status"));
+        } else if (args.length == 2 && args[0].equalsIgnoreCase("cleanup")) {
+            completions.addAll(Arrays.asList("status", "sweep"));
         } else if (args.length == 2 && args[0].equalsIgnoreCase("delete")) {
             completions.addAll(treasureManager.getTreasures().stream()
                     .map(Treasure::getName)
@@ -7,13 +7,14 @@ import org.bukkit.configuration.file.FileConfiguration;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Manages configurable messages with color code translation and placeholder support.
  */
 public class MessageConfig {
     private final FileConfiguration config;
-    private final TreasureHunt plugin;
+    private final Logger logger;
 
     /**
      * Constructs a MessageConfig instance with the specified plugin.
@@ -22,10 +23,20 @@ public class MessageConfig {
      */
     @Inject
     public MessageConfig(@NotNull TreasureHunt plugin) {
-        this.plugin = plugin;
-        this.config = plugin.getConfig();
+        this(plugin.getConfig(), plugin.getLogger());
+    }
+
+    /**
+     * Constructs a MessageConfig from an explicit configuration, for use outside a running server.
+     *
+     * @param config The configuration holding the {@code messages} section.
+     * @param logger The logger for reporting missing messages.
+     */
+    public MessageConfig(@NotNull FileConfiguration config, @NotNull Logger logger) {
+        this.config = config;
+        this.logger = logger;
         if (!config.contains("messages") || config.getConfigurationSection("messages") == null) {
-            plugin.getLogger().warning("No 'messages' section found in config.yml.");
+            logger.warning("No 'messages' section found in config.yml.");
         }
     }
 
@@ -38,7 +49,7 @@ public class MessageConfig {
     public String getMessage(@NotNull String key) {
         String message = config.getString("messages." + key);
         if (message == null) {
-            plugin.getLogger().log(Level.WARNING, "Message key '{0}' not found in config.yml.", key);
+            logger.log(Level.WARNING, "Message key '{0}' not found in config.yml.", key);
             return ChatColor.translateAlternateColorCodes('&', "&cMissing message: " + key);
         }
         return ChatColor.translateAlternateColorCodes('&', message);
@@ -54,7 +65,7 @@ public class MessageConfig {
     public String getMessage(@NotNull String key, @NotNull String... replacements) {
         String message = config.getString("messages." + key);
         if (message == null) {
-            plugin.getLogger().log(Level.WARNING, "Message key '{0}' not found in config.yml.", key);
+            logger.log(Level.WARNING, "Message key '{0}' not found in config.yml.", key);
             message = "&cMissing message: " + key;
         }
         String finalMessage = message;
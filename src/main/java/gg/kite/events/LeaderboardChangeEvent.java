@@ -0,0 +1,53 @@
+package gg.kite.events;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Called on the main thread when team standings may have changed: a score changed, a competition started,
+ * or a team or its members changed.
+ */
+public class LeaderboardChangeEvent extends Event {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final String teamName;
+
+    /**
+     * Constructs a LeaderboardChangeEvent.
+     *
+     * @param teamName The name of the team that changed, or null if every team may have changed.
+     */
+    public LeaderboardChangeEvent(@Nullable String teamName) {
+        this.teamName = teamName;
+    }
+
+    /**
+     * Gets the name of the team that changed.
+     *
+     * @return The team name, or null if every team may have changed.
+     */
+    public @Nullable String getTeamName() {
+        return teamName;
+    }
+
+    /**
+     * Gets the handlers of this event.
+     *
+     * @return The handler list.
+     */
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    /**
+     * Gets the handlers of this event type, as required by Bukkit.
+     *
+     * @return The handler list.
+     */
+    public static @NotNull HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
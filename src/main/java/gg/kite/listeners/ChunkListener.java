@@ -0,0 +1,47 @@
+package gg.kite.listeners;
+
+import gg.kite.managers.TreasureManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.ChunkUnloadEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Listener for chunk loads and unloads, keeping the active treasure and clue cells in step with the loaded world.
+ */
+public class ChunkListener implements Listener {
+    private final TreasureManager treasureManager;
+
+    /**
+     * Constructs a ChunkListener with the specified dependencies.
+     *
+     * @param treasureManager The treasure manager owning the spatial indexes.
+     */
+    public ChunkListener(@NotNull TreasureManager treasureManager) {
+        this.treasureManager = treasureManager;
+    }
+
+    /**
+     * Activates the treasures and clues of a loaded chunk.
+     *
+     * @param event The chunk load event.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(@NotNull ChunkLoadEvent event) {
+        var chunk = event.getChunk();
+        treasureManager.activateChunk(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+    }
+
+    /**
+     * Deactivates the treasures and clues of an unloading chunk.
+     *
+     * @param event The chunk unload event.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkUnload(@NotNull ChunkUnloadEvent event) {
+        var chunk = event.getChunk();
+        treasureManager.deactivateChunk(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+    }
+}
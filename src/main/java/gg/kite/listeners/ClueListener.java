@@ -1,86 +1,176 @@
 package gg.kite.listeners;
 
 import gg.kite.config.MessageConfig;
-import gg.kite.managers.Clue;
+import gg.kite.managers.ClueEntry;
+import gg.kite.managers.TickScheduler;
 import gg.kite.managers.TreasureManager;
+import gg.kite.metrics.ClueProximityEvent;
+import gg.kite.metrics.LatencyHistogram;
+import gg.kite.metrics.Metrics;
 import org.bukkit.Location;
+import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Listener for player movements to detect clue discoveries within a configurable radius.
+ * <p>
+ * Detection uses hysteresis: a clue is evaluated when the player comes within the find radius, and the player only
+ * counts as having left it once beyond the find radius plus the exit margin. While inside, a clue that was just
+ * evaluated without being solved is not evaluated again until its retry delay passes, so pacing along the edge of
+ * the radius or standing next to a locked clue costs one index lookup per move.
+ * <p>
+ * Solving a clue and telling the player are queued as feedback on the {@link TickScheduler}, so a crowd reaching a
+ * clue area at once is spread over ticks within {@code scheduler.tick-budget-millis}. A clue stays marked while its
+ * solve is queued, so further moves do not queue it again.
  */
 public class ClueListener implements Listener {
     private final TreasureManager treasureManager;
+    private final TickScheduler scheduler;
     private final MessageConfig messageConfig;
     private final double clueFindRadius;
-    private final ConcurrentHashMap<Location, ClueData> spatialIndex;
+    private final double exitRadius;
+    private final long retryNanos;
+    private final Map<UUID, Map<ClueEntry, Long>> nearbyClues;
+    private final LatencyHistogram moveLatency;
+    private final LongAdder moveEvents;
+    private final LongAdder candidates;
 
     /**
      * Constructs a ClueListener with the specified dependencies.
      *
      * @param treasureManager The treasure manager for clue operations.
+     * @param scheduler The scheduler that runs clue solves and their messages.
      * @param messageConfig The message configuration for sending formatted messages.
      * @param clueFindRadius The radius within which clues are detected.
+     * @param exitMargin The distance beyond the find radius a player must move before leaving a clue.
+     * @param retryMillis The delay before a clue that was evaluated without being solved is evaluated again.
+     * @param metrics The metrics registry for move handling latency and counts.
      */
-    public ClueListener(@NotNull TreasureManager treasureManager, @NotNull MessageConfig messageConfig, double clueFindRadius) {
+    public ClueListener(@NotNull TreasureManager treasureManager, @NotNull TickScheduler scheduler,
+                        @NotNull MessageConfig messageConfig, double clueFindRadius, double exitMargin, long retryMillis,
+                        @NotNull Metrics metrics) {
         this.treasureManager = treasureManager;
+        this.scheduler = scheduler;
         this.messageConfig = messageConfig;
         this.clueFindRadius = clueFindRadius;
-        this.spatialIndex = new ConcurrentHashMap<>();
-        buildSpatialIndex();
+        this.exitRadius = clueFindRadius + Math.max(0, exitMargin);
+        this.retryNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, retryMillis));
+        this.nearbyClues = new HashMap<>();
+        this.moveLatency = metrics.histogram("clue.move");
+        this.moveEvents = metrics.counter("clue.move-events");
+        this.candidates = metrics.counter("clue.candidates");
     }
 
     /**
-     * Builds a spatial index of clues for efficient lookup during player movement.
+     * Handles player movement events to detect nearby clues. Only players with an active hunt are checked,
+     * and only clues in the chunks around them on the player's frontier in a hunted treasure are considered.
+     * A clue is on the frontier once its prerequisites are solved.
+     *
+     * @param event The player move event.
      */
-    private void buildSpatialIndex() {
-        treasureManager.getTreasures().forEach(treasure ->
-                treasure.getClues().forEach(clue ->
-                        spatialIndex.put(clue.location(), new ClueData(treasure.getName(), clue))));
+    @EventHandler
+    public void onPlayerMove(@NotNull PlayerMoveEvent event) {
+        if (!event.hasChangedBlock()) return;
+        ClueProximityEvent proximity = new ClueProximityEvent();
+        proximity.begin();
+        long start = System.nanoTime();
+        moveEvents.increment();
+        checkClues(event, proximity);
+        moveLatency.record(System.nanoTime() - start);
+        candidates.add(proximity.candidates);
+        if (proximity.shouldCommit()) {
+            proximity.player = event.getPlayer().getName();
+            proximity.commit();
+        }
     }
 
     /**
-     * Handles player movement events to detect nearby clues.
+     * Evaluates the clues around a moving player's destination.
      *
      * @param event The player move event.
+     * @param proximity The Flight Recorder event receiving the candidate count and the number of solves queued.
      */
-    @EventHandler
-    public void onPlayerMove(@NotNull PlayerMoveEvent event) {
-        if (!event.hasChangedBlock()) return;
+    private void checkClues(@NotNull PlayerMoveEvent event, @NotNull ClueProximityEvent proximity) {
         var player = event.getPlayer();
-        var playerLocation = player.getLocation();
+        var session = treasureManager.getActiveSession(player.getUniqueId());
+        if (session == null) {
+            nearbyClues.remove(player.getUniqueId());
+            return;
+        }
+        var progress = treasureManager.getPlayerProgress(player.getUniqueId());
+        var nearby = nearbyClues.computeIfAbsent(player.getUniqueId(), k -> new IdentityHashMap<>());
+        Location to = event.getTo();
+        long now = System.nanoTime();
 
-        spatialIndex.forEach((clueLocation, clueData) -> {
-            if (isWithinClueRadius(clueLocation, playerLocation)) {
-                if (treasureManager.markClueSolved(player, clueData.treasureName, clueData.clue.description())) {
-                    player.sendMessage(messageConfig.getMessage("clue-solved-auto", "%s", clueData.treasureName));
-                }
+        nearby.keySet().removeIf(entry -> !isWithin(entry.clue().location(), to, exitRadius));
+        treasureManager.forEachClueNear(to, exitRadius, entry -> {
+            proximity.candidates++;
+            if (!session.contains(entry.treasureName())) return;
+            Long retryAt = nearby.get(entry);
+            if (retryAt == null ? !isWithin(entry.clue().location(), to, clueFindRadius) : now < retryAt) return;
+
+            if (treasureManager.isOnFrontier(progress, entry)) {
+                nearby.put(entry, Long.MAX_VALUE);
+                proximity.solved++;
+                scheduler.submit(TickScheduler.Priority.FEEDBACK, () -> solve(player, entry));
+            } else {
+                nearby.put(entry, now + retryNanos);
             }
         });
     }
 
     /**
-     * Checks if a player is within the detection radius of a clue.
+     * Solves a clue queued by a move and tells the player, or schedules a retry if it can no longer be solved.
+     *
+     * @param player The player.
+     * @param entry The clue.
+     */
+    private void solve(@NotNull Player player, @NotNull ClueEntry entry) {
+        if (!player.isOnline()) return;
+        if (treasureManager.markClueSolved(player, entry.treasureName(), entry.clue().description())) {
+            player.sendMessage(messageConfig.getMessage("clue-solved-auto", "%s", entry.treasureName()));
+            return;
+        }
+        var nearby = nearbyClues.get(player.getUniqueId());
+        if (nearby != null && nearby.containsKey(entry)) {
+            nearby.put(entry, System.nanoTime() + retryNanos);
+        }
+    }
+
+    /**
+     * Forgets the nearby clues of a leaving player.
      *
-     * @param clueLocation The location of the clue.
-     * @param playerLocation The player's current location.
-     * @return True if the player is within the clue's detection radius, false otherwise.
+     * @param event The player quit event.
      */
-    private boolean isWithinClueRadius(@NotNull Location clueLocation, @NotNull Location playerLocation) {
-        return clueLocation.getWorld().equals(playerLocation.getWorld()) &&
-                clueLocation.distanceSquared(playerLocation) <= clueFindRadius * clueFindRadius;
+    @EventHandler
+    public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        nearbyClues.remove(event.getPlayer().getUniqueId());
     }
 
     /**
-     * Record to store clue data for the spatial index.
+     * Checks whether two locations in the same world are within a distance of each other.
      *
-     * @param treasureName The name of the associated treasure.
-     * @param clue The clue instance.
+     * @param a The first location.
+     * @param b The second location.
+     * @param radius The distance.
+     * @return True if within the distance.
      */
-    private record ClueData(String treasureName, Clue clue) {}
+    private static boolean isWithin(@NotNull Location a, @NotNull Location b, double radius) {
+        if (a.getWorld() != b.getWorld()) return false;
+        double dx = a.getX() - b.getX();
+        double dy = a.getY() - b.getY();
+        double dz = a.getZ() - b.getZ();
+        return dx * dx + dy * dy + dz * dz <= radius * radius;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,35 @@
+package gg.kite.listeners;
+
+import gg.kite.managers.PlayerNameCache;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Listener for player sessions, keeping per-player caches up to date.
+ */
+public class PlayerListener implements Listener {
+    private final PlayerNameCache playerNameCache;
+
+    /**
+     * Constructs a PlayerListener with the specified dependencies.
+     *
+     * @param playerNameCache The cache of player names to update on join.
+     */
+    public PlayerListener(@NotNull PlayerNameCache playerNameCache) {
+        this.playerNameCache = playerNameCache;
+    }
+
+    /**
+     * Records the joining player's current name.
+     *
+     * @param event The player join event.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(@NotNull PlayerJoinEvent event) {
+        var player = event.getPlayer();
+        playerNameCache.remember(player.getUniqueId(), player.getName());
+    }
+}
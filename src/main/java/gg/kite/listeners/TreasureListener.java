@@ -2,41 +2,71 @@ package gg.kite.listeners;
 
 import gg.kite.config.MessageConfig;
 import gg.kite.managers.TreasureManager;
+import gg.kite.metrics.LatencyHistogram;
+import gg.kite.metrics.Metrics;
+import gg.kite.metrics.TreasureInteractEvent;
 // import com.sk89q.worldguard.WorldGuard; // Uncomment for WorldGuard integration
 // import com.sk89q.worldguard.protection.flags.Flags;
-import org.bukkit.Location;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.PlayerInteractEvent;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.atomic.LongAdder;
+
 /**
  * Listener for player interactions to detect treasure discoveries.
  */
 public class TreasureListener implements Listener {
     private final TreasureManager treasureManager;
     private final MessageConfig messageConfig;
+    private final LatencyHistogram interactLatency;
+    private final LongAdder interactEvents;
 
     /**
      * Constructs a TreasureListener with the specified dependencies.
      *
      * @param treasureManager The treasure manager for treasure operations.
      * @param messageConfig The message configuration for sending formatted messages.
+     * @param metrics The metrics registry for interaction handling latency and counts.
      */
-    public TreasureListener(@NotNull TreasureManager treasureManager, @NotNull MessageConfig messageConfig) {
+    public TreasureListener(@NotNull TreasureManager treasureManager, @NotNull MessageConfig messageConfig, @NotNull Metrics metrics) {
         this.treasureManager = treasureManager;
         this.messageConfig = messageConfig;
+        this.interactLatency = metrics.histogram("treasure.interact");
+        this.interactEvents = metrics.counter("treasure.interact-events");
     }
 
     /**
-     * Handles player block interactions to check for treasure discoveries.
+     * Handles player block interactions to check for discoveries of treasures in the player's active hunt.
      *
      * @param event The player interact event.
      */
     @EventHandler
     public void onPlayerInteract(@NotNull PlayerInteractEvent event) {
         if (event.getClickedBlock() == null) return;
+        TreasureInteractEvent interaction = new TreasureInteractEvent();
+        interaction.begin();
+        long start = System.nanoTime();
+        interactEvents.increment();
+        checkTreasure(event, interaction);
+        interactLatency.record(System.nanoTime() - start);
+        if (interaction.shouldCommit()) {
+            interaction.player = event.getPlayer().getName();
+            interaction.commit();
+        }
+    }
+
+    /**
+     * Checks whether an interaction finds a treasure in the player's active hunt.
+     *
+     * @param event The player interact event.
+     * @param interaction The Flight Recorder event receiving the treasure and outcome.
+     */
+    private void checkTreasure(@NotNull PlayerInteractEvent event, @NotNull TreasureInteractEvent interaction) {
         var player = event.getPlayer();
+        var session = treasureManager.getActiveSession(player.getUniqueId());
+        if (session == null) return;
         var clickedLocation = event.getClickedBlock().getLocation();
 
         // Optional: WorldGuard integration
@@ -53,27 +83,15 @@ public class TreasureListener implements Listener {
         }
         */
 
-        for (var treasure : treasureManager.getTreasures()) {
-            if (isWithinFindRadius(treasure.getLocation(), clickedLocation)) {
-                if (treasureManager.markTreasureFound(player, treasure.getName())) {
-                    event.setCancelled(false);
-                } else {
-                    player.sendMessage(messageConfig.getMessage("no-clue-solved", "%d", String.valueOf(treasureManager.getMinCluesRequired())));
-                }
-                return;
-            }
+        var treasure = treasureManager.findTreasureNear(clickedLocation, treasureManager.getTreasureFindRadius(),
+                player.getUniqueId(), session);
+        if (treasure == null) return;
+        interaction.treasure = treasure.getName();
+        if (treasureManager.markTreasureFound(player, treasure.getName())) {
+            interaction.found = true;
+            event.setCancelled(false);
+        } else {
+            player.sendMessage(messageConfig.getMessage("no-clue-solved", "%d", String.valueOf(treasureManager.getMinCluesRequired())));
         }
     }
-
-    /**
-     * Checks if a clicked location is within the treasure's detection radius.
-     *
-     * @param treasureLocation The treasure's location.
-     * @param clickedLocation The clicked block's location.
-     * @return True if the clicked location is within the treasure's find radius, false otherwise.
-     */
-    private boolean isWithinFindRadius(@NotNull Location treasureLocation, @NotNull Location clickedLocation) {
-        return treasureLocation.getWorld().equals(clickedLocation.getWorld()) &&
-                treasureLocation.distanceSquared(clickedLocation) <= treasureManager.getTreasureFindRadius() * treasureManager.getTreasureFindRadius();
-    }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package gg.kite.listeners;
+
+import gg.kite.managers.TreasureManager;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.logging.Logger;
+
+/**
+ * Listener for world loads and unloads, binding stored treasures to worlds loaded after startup
+ * and releasing them when their world unloads.
+ */
+public class WorldListener implements Listener {
+    private final TreasureManager treasureManager;
+    private final Logger logger;
+
+    /**
+     * Constructs a WorldListener with the specified dependencies.
+     *
+     * @param treasureManager The treasure manager holding the treasures.
+     * @param logger The plugin logger.
+     */
+    public WorldListener(@NotNull TreasureManager treasureManager, @NotNull Logger logger) {
+        this.treasureManager = treasureManager;
+        this.logger = logger;
+    }
+
+    /**
+     * Binds the treasures of a newly loaded world.
+     *
+     * @param event The world load event.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(@NotNull WorldLoadEvent event) {
+        int bound = treasureManager.bindWorld(event.getWorld());
+        if (bound > 0) {
+            logger.info("Activated " + bound + " treasure(s) in world " + event.getWorld().getName());
+        }
+    }
+
+    /**
+     * Releases the treasures of an unloading world.
+     *
+     * @param event The world unload event.
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(@NotNull WorldUnloadEvent event) {
+        int unbound = treasureManager.unbindWorld(event.getWorld().getName());
+        if (unbound > 0) {
+            logger.info("Released " + unbound + " treasure(s) in world " + event.getWorld().getName());
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package gg.kite.managers;
+
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.DocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only file of BSON documents, written through a memory-mapped window of the file.
+ * <p>
+ * Each record is the length of the document, its CRC32 checksum and the document bytes. Appends only copy into the
+ * mapped window, so they make no system call; a daemon thread forces the window to disk once per sync interval, and
+ * that one sync commits every record appended since the previous one. A crash loses at most the last interval.
+ * Reading stops at the first record that is incomplete or fails its checksum, or at a zero length. Every append is
+ * followed by a zero length, so the log never has to shrink the file: truncating a mapped file fails on some
+ * platforms, and old or torn bytes past the end marker are never read as records.
+ */
+public class AppendLog implements AutoCloseable {
+    private static final int HEADER_BYTES = 8;
+    private static final int END_BYTES = Integer.BYTES;
+    private static final DocumentCodec CODEC = new DocumentCodec();
+
+    private final FileChannel channel;
+    private final int windowBytes;
+    private final Logger logger;
+    private final @Nullable ScheduledExecutorService syncer;
+    private MappedByteBuffer window;
+    private long position;
+    private boolean dirty;
+
+    /**
+     * Opens or creates a log, passing its existing records to a consumer before any append.
+     *
+     * @param file The log file.
+     * @param windowBytes The size of each mapped window of the file.
+     * @param syncIntervalMillis The interval between syncs, or 0 to sync only on {@link #force()} and close.
+     * @param logger The logger for failed syncs.
+     * @param existing The consumer receiving the records already in the file, oldest first.
+     * @throws IOException if the file cannot be opened or read.
+     */
+    public AppendLog(@NotNull Path file, int windowBytes, long syncIntervalMillis, @NotNull Logger logger,
+                     @NotNull Consumer<Document> existing) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.windowBytes = Math.max(4096, windowBytes);
+        this.logger = logger;
+        this.position = read(channel, existing);
+        // Mark the end before a torn tail so that none of its bytes can be mistaken for records after the next appends.
+        this.window = channel.map(FileChannel.MapMode.READ_WRITE, position, this.windowBytes);
+        window.putInt(0, 0);
+        if (syncIntervalMillis > 0) {
+            this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "TreasureHunt-Log-Sync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            syncer.scheduleWithFixedDelay(this::syncQuietly, syncIntervalMillis, syncIntervalMillis, TimeUnit.MILLISECONDS);
+        } else {
+            this.syncer = null;
+        }
+    }
+
+    /**
+     * Reads the records of a log file without opening it for appends.
+     *
+     * @param file The log file.
+     * @param consumer The consumer receiving each record, oldest first.
+     * @throws IOException if the file cannot be read.
+     */
+    public static void read(@NotNull Path file, @NotNull Consumer<Document> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            read(channel, consumer);
+        }
+    }
+
+    /**
+     * Writes a complete log file through ordinary buffered writes and syncs it, leaving no mapping of the file behind,
+     * so that it can be renamed right away.
+     *
+     * @param file The file to create or replace.
+     * @param writer The action passing every record to the given consumer, oldest first.
+     * @throws IOException if the file cannot be written.
+     * @throws UncheckedIOException if a record cannot be written.
+     */
+    public static void write(@NotNull Path file, @NotNull Consumer<Consumer<Document>> writer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))) {
+            writer.accept(record -> {
+                byte[] bytes = encode(record);
+                try {
+                    output.writeInt(bytes.length);
+                    output.writeInt(checksum(bytes));
+                    output.write(bytes);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            output.flush();
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Encodes a record as BSON.
+     *
+     * @param record The record.
+     * @return The document bytes.
+     */
+    private static byte[] encode(@NotNull Document record) {
+        BasicOutputBuffer output = new BasicOutputBuffer(256);
+        CODEC.encode(new BsonBinaryWriter(output), record, EncoderContext.builder().build());
+        return output.toByteArray();
+    }
+
+    /**
+     * Computes the checksum stored with a record.
+     *
+     * @param bytes The document bytes.
+     * @return The CRC32 of the bytes.
+     */
+    private static int checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Reads records from the start of a channel up to the first incomplete or corrupt one.
+     *
+     * @param channel The channel.
+     * @param consumer The consumer receiving each record.
+     * @return The position just after the last valid record.
+     * @throws IOException if the channel cannot be read.
+     */
+    private static long read(@NotNull FileChannel channel, @NotNull Consumer<Document> consumer) throws IOException {
+        long size = channel.size();
+        long position = 0;
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (position + HEADER_BYTES <= size) {
+            header.clear();
+            readFully(channel, header, position);
+            int length = header.getInt(0);
+            int checksum = header.getInt(4);
+            if (length <= 0 || length > size - position - HEADER_BYTES) break;
+            ByteBuffer body = ByteBuffer.allocate(length);
+            readFully(channel, body, position + HEADER_BYTES);
+            if (checksum(body.array()) != checksum) break;
+            consumer.accept(CODEC.decode(new BsonBinaryReader(ByteBuffer.wrap(body.array())), DecoderContext.builder().build()));
+            position += HEADER_BYTES + length;
+        }
+        return position;
+    }
+
+    /**
+     * Fills a buffer from a channel at a position.
+     *
+     * @param channel The channel.
+     * @param buffer The buffer to fill.
+     * @param position The file position to read from.
+     * @throws IOException if the channel cannot be read or ends early.
+     */
+    private static void readFully(@NotNull FileChannel channel, @NotNull ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of log");
+            }
+        }
+    }
+
+    /**
+     * Appends a record. It is on disk after the next sync.
+     *
+     * @param record The record.
+     * @throws UncheckedIOException if the next window of the file cannot be mapped.
+     */
+    public synchronized void append(@NotNull Document record) {
+        byte[] bytes = encode(record);
+        int size = HEADER_BYTES + bytes.length;
+        if (window.remaining() < size + END_BYTES) {
+            remap(size + END_BYTES);
+        }
+        window.putInt(bytes.length).putInt(checksum(bytes)).put(bytes);
+        window.putInt(window.position(), 0);
+        position += size;
+        dirty = true;
+    }
+
+    /**
+     * Syncs the current window and maps the next one at the end of the log.
+     *
+     * @param minBytes The space the next window must have.
+     */
+    private void remap(int minBytes) {
+        if (dirty) {
+            window.force();
+            dirty = false;
+        }
+        try {
+            window = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.max(windowBytes, minBytes));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the records appended since the last sync to disk.
+     */
+    public void force() {
+        MappedByteBuffer toSync;
+        synchronized (this) {
+            if (!dirty) return;
+            toSync = window;
+            dirty = false;
+        }
+        // Appends continue while the pages are written; those that land after this point wait for the next sync.
+        toSync.force();
+    }
+
+    /**
+     * Syncs the log from the sync thread, logging failures instead of ending the schedule.
+     */
+    private void syncQuietly() {
+        try {
+            force();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Failed to sync the storage log", e);
+        }
+    }
+
+    /**
+     * Gets the number of bytes in the log.
+     *
+     * @return The size of the records appended so far.
+     */
+    public synchronized long size() {
+        return position;
+    }
+
+    /**
+     * Removes every record by writing the end marker at the start of the file and syncing it. The file keeps its
+     * size; later appends overwrite the old records.
+     *
+     * @throws UncheckedIOException if the start of the file cannot be mapped.
+     */
+    public synchronized void reset() {
+        try {
+            window = channel.map(FileChannel.MapMode.READ_WRITE, 0, windowBytes);
+            window.putInt(0, 0);
+            window.force();
+            position = 0;
+            dirty = false;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stops the sync thread, syncs the remaining records and trims the file to its records where the platform allows
+     * it; otherwise the end marker is left to end the file.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (syncer != null) {
+            syncer.shutdown();
+        }
+        synchronized (this) {
+            window.force();
+            dirty = false;
+            try {
+                channel.truncate(position);
+            } catch (IOException e) {
+                logger.log(Level.FINE, "Leaving the mapped tail of the storage log in place", e);
+            }
+            channel.close();
+        }
+    }
+}
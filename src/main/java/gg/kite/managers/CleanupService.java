@@ -0,0 +1,384 @@
+package gg.kite.managers;
+
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Date;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Removes rows related to deleted treasures and clues in id-ranged batches at a configurable rate,
+ * and periodically sweeps clue and progress rows whose treasure or clue no longer exists.
+ * <p>
+ * Saves of clues and progress replace the stored row with the same key and keep its id, so a row written for a
+ * treasure recreated under a deleted name may sit within the range of a pending cascade. Before the database manager
+ * writes such a row it therefore deletes the one old row with the same key inside that range, so the save inserts a
+ * new row outside it; the rest of the cascade stays throttled.
+ * <p>
+ * Batches pause while the pause condition holds, such as while a {@link ResilientStorage} journals writes MongoDB
+ * has not received yet; they resume where they stopped once it clears.
+ * <p>
+ * Only the MongoDB storage needs this; with other backends the service is disabled and ignores every request,
+ * since they remove related records as part of the delete itself.
+ */
+public class CleanupService {
+    private static final long SWEEP_MARGIN_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final DatabaseManager databaseManager;
+    private final Logger logger;
+    private final int batchSize;
+    private final long batchIntervalMillis;
+    private final long sweepIntervalMinutes;
+    private final Deque<CleanupJob> jobs;
+    private final Map<String, ObjectId> pendingCascades;
+    private final AtomicBoolean sweepQueued;
+    private final Set<String> sweepWrites;
+    private final AtomicLong totalDeleted;
+    private volatile BooleanSupplier paused;
+    private volatile boolean sweeping;
+    private volatile CleanupJob currentJob;
+    private volatile long lastSweepFinishedAt;
+    private volatile long lastSweepDeleted;
+    private ScheduledExecutorService executor;
+
+    /**
+     * Constructs a CleanupService with an explicit logger, for use outside a running server.
+     *
+     * @param databaseManager The database manager performing batch deletes, or null if storage is not MongoDB.
+     * @param config The plugin configuration.
+     * @param logger The logger for progress and failures.
+     */
+    public CleanupService(@Nullable DatabaseManager databaseManager, @NotNull FileConfiguration config, @NotNull Logger logger) {
+        this.databaseManager = databaseManager;
+        this.logger = logger;
+        this.batchSize = Math.max(1, config.getInt("cleanup.batch-size", 500));
+        double batchesPerSecond = config.getDouble("cleanup.batches-per-second", 4.0);
+        this.batchIntervalMillis = Math.max(1L, (long) (1000.0 / Math.max(0.01, batchesPerSecond)));
+        this.sweepIntervalMinutes = config.getLong("cleanup.orphan-sweep-interval-minutes", 60);
+        this.jobs = new ConcurrentLinkedDeque<>();
+        this.pendingCascades = new ConcurrentHashMap<>();
+        this.sweepQueued = new AtomicBoolean();
+        this.sweepWrites = ConcurrentHashMap.newKeySet();
+        this.totalDeleted = new AtomicLong();
+        this.paused = () -> false;
+        if (databaseManager != null) {
+            databaseManager.setWriteBarrier(this::beforeWrite);
+        }
+    }
+
+    /**
+     * Sets the condition under which queued jobs wait instead of running their next batch. Rows the database manager
+     * deletes ahead of a save are still deleted.
+     *
+     * @param paused The condition.
+     */
+    public void setPauseCondition(@NotNull BooleanSupplier paused) {
+        this.paused = paused;
+    }
+
+    /**
+     * Starts processing queued jobs and schedules the periodic orphan sweep.
+     */
+    public void start() {
+        if (!isEnabled()) return;
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TreasureHunt-Cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::runBatch, batchIntervalMillis, batchIntervalMillis, TimeUnit.MILLISECONDS);
+        if (sweepIntervalMinutes > 0) {
+            executor.scheduleAtFixedRate(this::queueOrphanSweep, sweepIntervalMinutes, sweepIntervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Stops processing. Unfinished jobs are dropped; the clues and progress rows they would have removed are picked up
+     * by the next orphan sweep.
+     */
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        int pending = jobs.size() + (currentJob != null ? 1 : 0);
+        if (pending > 0) {
+            logger.log(Level.INFO, "{0} cleanup job(s) left unfinished; the next orphan sweep removes the rows they would have deleted.", pending);
+        }
+    }
+
+    /**
+     * Queues removal of the clues and progress rows of a deleted treasure.
+     *
+     * @param treasureName The name of the deleted treasure.
+     */
+    public void queueTreasureCascade(@NotNull String treasureName) {
+        if (!isEnabled()) return;
+        ObjectId upTo = new ObjectId();
+        for (String collection : List.of("clues", "player_progress", "clue_progress")) {
+            queueCascade(new CascadeJob(collection, treasureName, upTo));
+        }
+    }
+
+    /**
+     * Queues removal of the clue progress rows of a treasure whose clues were deleted.
+     *
+     * @param treasureName The name of the treasure.
+     */
+    public void queueClueCascade(@NotNull String treasureName) {
+        if (!isEnabled()) return;
+        queueCascade(new CascadeJob("clue_progress", treasureName, new ObjectId()));
+    }
+
+    /**
+     * Queues a cascade and records its range as pending for its collection and treasure.
+     *
+     * @param job The cascade.
+     */
+    private synchronized void queueCascade(@NotNull CascadeJob job) {
+        pendingCascades.merge(job.key(), job.upTo, (queued, added) -> queued.compareTo(added) >= 0 ? queued : added);
+        jobs.add(job);
+    }
+
+    /**
+     * Prepares for a clue or progress row of a treasure to be written: a running orphan sweep is told to keep rows of
+     * the treasure, and the range of a pending cascade over the collection is returned so that the database manager
+     * can delete the row the save would otherwise reuse.
+     *
+     * @param collectionName The collection written to.
+     * @param treasureName The name of the treasure.
+     * @return The upper id bound of the pending cascades of the treasure in the collection, or null if there are none.
+     */
+    private @Nullable ObjectId beforeWrite(@NotNull String collectionName, @NotNull String treasureName) {
+        if (sweeping) {
+            sweepWrites.add(treasureName);
+        }
+        return pendingCascades.get(collectionName + ":" + treasureName);
+    }
+
+    /**
+     * Queues a sweep for orphaned clue and progress rows, unless one is already queued.
+     *
+     * @return True if a sweep was queued, false if one was already pending or the service is disabled.
+     */
+    public boolean queueOrphanSweep() {
+        if (!isEnabled() || !sweepQueued.compareAndSet(false, true)) {
+            return false;
+        }
+        jobs.add(new OrphanSweepJob());
+        return true;
+    }
+
+    /**
+     * Checks whether the service cleans up after deletes, which it only does for the MongoDB storage.
+     *
+     * @return True if enabled.
+     */
+    public boolean isEnabled() {
+        return databaseManager != null;
+    }
+
+    /**
+     * Gets a snapshot of the cleanup progress.
+     *
+     * @return The current status.
+     */
+    public Status getStatus() {
+        CleanupJob job = currentJob;
+        return new Status(job != null ? job.describe() : null, job != null ? job.deleted : 0, jobs.size(),
+                totalDeleted.get(), lastSweepFinishedAt, lastSweepDeleted);
+    }
+
+    /**
+     * Runs a single batch of the current job, advancing to the next job once it completes, unless cleanup is paused.
+     */
+    private synchronized void runBatch() {
+        if (paused.getAsBoolean()) return;
+        CleanupJob job = currentJob;
+        if (job == null) {
+            job = jobs.poll();
+            if (job == null) return;
+            currentJob = job;
+        }
+        try {
+            if (job.step()) {
+                job.finish();
+                currentJob = null;
+            }
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "Cleanup batch failed for " + job.describe() + "; retrying.", e);
+        }
+    }
+
+    /**
+     * A unit of cleanup work processed one batch at a time.
+     */
+    private abstract class CleanupJob {
+        protected long deleted;
+
+        /**
+         * Processes the next batch.
+         *
+         * @return True if the job has no more work.
+         */
+        abstract boolean step();
+
+        /**
+         * Describes the job for status output.
+         *
+         * @return A short description.
+         */
+        abstract String describe();
+
+        /**
+         * Called once the job has completed.
+         */
+        void finish() {
+        }
+
+        protected void record(@NotNull DatabaseManager.BatchResult result) {
+            deleted += result.deleted();
+            totalDeleted.addAndGet(result.deleted());
+        }
+    }
+
+    /**
+     * Deletes the rows of one collection that reference a treasure, up to the id current when the job was queued.
+     * Rows inserted for a treasure recreated under the same name get later ids and are left alone; rows it would
+     * replace are deleted by the database manager before the save, see {@link #beforeWrite(String, String)}.
+     */
+    private final class CascadeJob extends CleanupJob {
+        private final String collection;
+        private final String treasureName;
+        private final ObjectId upTo;
+        private ObjectId lastId;
+
+        private CascadeJob(@NotNull String collection, @NotNull String treasureName, @NotNull ObjectId upTo) {
+            this.collection = collection;
+            this.treasureName = treasureName;
+            this.upTo = upTo;
+        }
+
+        @Override
+        boolean step() {
+            var result = databaseManager.deleteBatch(collection, Filters.eq("treasure_name", treasureName), lastId, upTo, batchSize);
+            record(result);
+            lastId = result.lastId();
+            return result.scanned() < batchSize;
+        }
+
+        @Override
+        String describe() {
+            return collection + " of " + treasureName;
+        }
+
+        @Override
+        void finish() {
+            pendingCascades.computeIfPresent(key(), (key, queued) -> queued.equals(upTo) ? null : queued);
+        }
+
+        /**
+         * Gets the key of the cascade's collection and treasure among the pending cascades.
+         *
+         * @return The key.
+         */
+        String key() {
+            return collection + ":" + treasureName;
+        }
+    }
+
+    /**
+     * Walks the clue and progress collections and deletes rows whose treasure or clue no longer exists. Only rows
+     * with ids older than a margin before the stored names were read are considered, so rows written around that
+     * time, even with the server's clock ahead of ours, are never mistaken for orphans. Rows of treasures written to
+     * since the sweep started are kept, and the database manager checks every batch against the stored names again
+     * before deleting it, which covers rows that a save reused for a recreated treasure or clue.
+     */
+    private final class OrphanSweepJob extends CleanupJob {
+        private final List<String> collections = List.of("clues", "player_progress", "clue_progress");
+        private Set<String> treasureNames;
+        private Set<String> clueKeys;
+        private ObjectId upTo;
+        private int collectionIndex;
+        private ObjectId lastId;
+
+        @Override
+        boolean step() {
+            if (treasureNames == null) {
+                sweepWrites.clear();
+                sweeping = true;
+                upTo = new ObjectId(new Date(System.currentTimeMillis() - SWEEP_MARGIN_MILLIS));
+                treasureNames = databaseManager.loadTreasureNames();
+                clueKeys = databaseManager.loadClueKeys();
+                return false;
+            }
+            String collection = collections.get(collectionIndex);
+            var result = databaseManager.sweepBatch(collection, lastId, upTo, batchSize, this::isOrphan);
+            record(result);
+            lastId = result.lastId();
+            if (result.scanned() < batchSize) {
+                collectionIndex++;
+                lastId = null;
+            }
+            return collectionIndex >= collections.size();
+        }
+
+        private boolean isOrphan(@NotNull Document doc) {
+            String treasureName = doc.getString("treasure_name");
+            if (treasureName != null && sweepWrites.contains(treasureName)) {
+                return false;
+            }
+            if (treasureName == null || !treasureNames.contains(treasureName)) {
+                return true;
+            }
+            String clueDescription = doc.getString("clue_description");
+            return clueDescription != null && !clueKeys.contains(treasureName + ":" + clueDescription);
+        }
+
+        @Override
+        String describe() {
+            return "orphan sweep of " + collections.get(Math.min(collectionIndex, collections.size() - 1));
+        }
+
+        @Override
+        void finish() {
+            sweeping = false;
+            sweepWrites.clear();
+            lastSweepFinishedAt = System.currentTimeMillis();
+            lastSweepDeleted = deleted;
+            sweepQueued.set(false);
+            if (deleted > 0) {
+                logger.log(Level.INFO, "Orphan sweep removed {0} clue and progress row(s).", deleted);
+            }
+        }
+    }
+
+    /**
+     * Snapshot of cleanup progress.
+     *
+     * @param currentJob A description of the running job, or null if idle.
+     * @param currentDeleted The number of rows deleted by the running job so far.
+     * @param queuedJobs The number of jobs waiting to run.
+     * @param totalDeleted The number of rows deleted since startup.
+     * @param lastSweepFinishedAt The completion time of the last orphan sweep, or 0 if none has run.
+     * @param lastSweepDeleted The number of rows deleted by the last orphan sweep.
+     */
+    public record Status(@Nullable String currentJob, long currentDeleted, int queuedJobs, long totalDeleted,
+                         long lastSweepFinishedAt, long lastSweepDeleted) {}
+}
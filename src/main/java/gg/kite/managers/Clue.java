@@ -6,8 +6,10 @@ import org.jetbrains.annotations.NotNull;
 
 /**
  * Represents a clue with a description, location, and a difficulty level.
+ * The location's world is null while the clue's world is not loaded; {@link #world()} always names it.
  */
-public record Clue(@NotNull String description, @NotNull Location location, @NotNull String difficulty, long createdAt) {
+public record Clue(@NotNull String description, @NotNull String world, @NotNull Location location,
+                   @NotNull String difficulty, long createdAt) {
     /**
      * Constructs a Clue with the specified parameters, using the current timestamp.
      *
@@ -17,6 +19,6 @@ public record Clue(@NotNull String description, @NotNull Location location, @Not
      */
     @Contract(pure = true)
     public Clue(@NotNull String description, @NotNull Location location, @NotNull String difficulty) {
-        this(description, location, difficulty.toLowerCase(), System.currentTimeMillis());
+        this(description, location.getWorld().getName(), location, difficulty.toLowerCase(), System.currentTimeMillis());
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package gg.kite.managers;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Associates a clue with the name of the treasure it belongs to.
+ *
+ * @param treasureName The name of the associated treasure.
+ * @param clue The clue instance.
+ */
+public record ClueEntry(@NotNull String treasureName, @NotNull Clue clue) {}
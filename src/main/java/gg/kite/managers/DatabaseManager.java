@@ -4,45 +4,87 @@ import com.google.inject.Inject;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.Updates;
 import gg.kite.TreasureHunt;
+import gg.kite.metrics.Metrics;
+import gg.kite.metrics.MongoOperationEvent;
 import org.bson.Document;
-import org.bukkit.Location;
-import org.bukkit.World;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
 
 /**
- * Manages MongoDB database operations for the TreasureHunt plugin.
+ * MongoDB implementation of {@link Storage}, plus the batched deletes and scans used by the {@link CleanupService}.
  */
-public class DatabaseManager {
+public class DatabaseManager implements Storage {
+    private final MongoClient mongoClient;
     private final MongoCollection<Document> treasuresCollection;
     private final MongoCollection<Document> cluesCollection;
     private final MongoCollection<Document> playerProgressCollection;
     private final MongoCollection<Document> clueProgressCollection;
     private final MongoCollection<Document> teamsCollection;
-    private final TreasureHunt plugin;
+    private final Map<String, MongoCollection<Document>> collectionsByName;
+    private final PlayerNameCache playerNameCache;
+    private final Metrics metrics;
+    private final Logger logger;
+    private volatile WriteBarrier writeBarrier;
 
     /**
      * Constructs a DatabaseManager with the specified MongoDB client and plugin.
      *
      * @param plugin The plugin instance.
      * @param mongoClient The MongoDB client for database operations.
+     * @param playerNameCache The cache of member names persisted with team documents.
+     * @param metrics The metrics registry receiving operation latencies.
      */
     @Inject
-    public DatabaseManager(@NotNull TreasureHunt plugin, @NotNull MongoClient mongoClient) {
-        this.plugin = plugin;
+    public DatabaseManager(@NotNull TreasureHunt plugin, @NotNull MongoClient mongoClient, @NotNull PlayerNameCache playerNameCache,
+                           @NotNull Metrics metrics) {
+        this(mongoClient, playerNameCache, metrics, plugin.getLogger());
+    }
+
+    /**
+     * Constructs a DatabaseManager with an explicit logger, for use outside a running server.
+     *
+     * @param mongoClient The MongoDB client for database operations.
+     * @param playerNameCache The cache of member names persisted with team documents.
+     * @param metrics The metrics registry receiving operation latencies.
+     * @param logger The logger for load warnings.
+     */
+    public DatabaseManager(@NotNull MongoClient mongoClient, @NotNull PlayerNameCache playerNameCache, @NotNull Metrics metrics,
+                           @NotNull Logger logger) {
+        this.mongoClient = mongoClient;
+        this.logger = logger;
+        this.playerNameCache = playerNameCache;
+        this.metrics = metrics;
+        this.writeBarrier = (collectionName, treasureName) -> null;
         MongoDatabase database = mongoClient.getDatabase("treasurehunt");
         treasuresCollection = database.getCollection("treasures");
         cluesCollection = database.getCollection("clues");
         playerProgressCollection = database.getCollection("player_progress");
         clueProgressCollection = database.getCollection("clue_progress");
         teamsCollection = database.getCollection("teams");
+        collectionsByName = Map.of(
+                "treasures", treasuresCollection,
+                "clues", cluesCollection,
+                "player_progress", playerProgressCollection,
+                "clue_progress", clueProgressCollection,
+                "teams", teamsCollection);
         createIndexes();
-        plugin.getLogger().info("MongoDB collections initialized with indexes.");
+        logger.info("MongoDB collections initialized with indexes.");
     }
 
     /**
@@ -53,35 +95,340 @@ public class DatabaseManager {
         cluesCollection.createIndex(Indexes.ascending("treasure_name", "description"));
         playerProgressCollection.createIndex(Indexes.ascending("player_uuid", "treasure_name"));
         clueProgressCollection.createIndex(Indexes.ascending("player_uuid", "treasure_name", "clue_description"));
+        playerProgressCollection.createIndex(Indexes.ascending("treasure_name", "_id"));
+        clueProgressCollection.createIndex(Indexes.ascending("treasure_name", "_id"));
         teamsCollection.createIndex(Indexes.ascending("name"));
     }
 
+    /**
+     * Sets the barrier consulted before a clue or progress row of a treasure is written, which the
+     * {@link CleanupService} uses to keep pending cascades and running sweeps off the row.
+     *
+     * @param writeBarrier The barrier.
+     */
+    void setWriteBarrier(@NotNull WriteBarrier writeBarrier) {
+        this.writeBarrier = writeBarrier;
+    }
+
+    /**
+     * Deletes the stored row with a key if a pending cascade would delete it, so that the save that follows inserts
+     * a new row instead of reusing the old row and its id.
+     *
+     * @param collection The collection about to be written.
+     * @param collectionName The name of the collection.
+     * @param treasureName The name of the treasure the row belongs to.
+     * @param key The filter matching the row's key.
+     */
+    private void clearReplaced(@NotNull MongoCollection<Document> collection, @NotNull String collectionName,
+                               @NotNull String treasureName, @NotNull Bson key) {
+        ObjectId upTo = writeBarrier.beforeWrite(collectionName, treasureName);
+        if (upTo != null) {
+            collection.deleteMany(Filters.and(key, Filters.lte("_id", upTo)));
+        }
+    }
+
+    /**
+     * Runs a database operation, recording its latency under the operation's name and, when the Flight Recorder
+     * event is enabled, a {@link MongoOperationEvent}. Operations without a result of their own return the number of
+     * documents they wrote or deleted.
+     *
+     * @param operation The operation name.
+     * @param collection The collection the operation works on.
+     * @param body The operation.
+     * @param <T> The result type.
+     * @return The operation's result.
+     */
+    private <T> T timed(@NotNull String operation, @NotNull String collection, @NotNull Supplier<T> body) {
+        MongoOperationEvent event = new MongoOperationEvent();
+        event.begin();
+        long start = System.nanoTime();
+        T result = null;
+        boolean succeeded = false;
+        try {
+            result = body.get();
+            succeeded = true;
+            return result;
+        } finally {
+            metrics.histogram("db." + operation).record(System.nanoTime() - start);
+            event.end();
+            if (event.shouldCommit()) {
+                event.collection = collection;
+                event.operation = operation;
+                event.documents = documentCount(result);
+                event.succeeded = succeeded;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Gets the number of documents an operation's result represents.
+     *
+     * @param result The operation's result.
+     * @return The document count, or -1 if unknown.
+     */
+    private static long documentCount(@Nullable Object result) {
+        if (result instanceof Number number) return number.longValue();
+        if (result instanceof Collection<?> collection) return collection.size();
+        if (result instanceof BatchResult batch) return batch.scanned();
+        return -1;
+    }
+
     /**
      * Saves a treasure to the database.
      *
      * @param treasure The treasure to save.
      */
+    @Override
     public void saveTreasure(@NotNull Treasure treasure) {
-        var doc = new Document("name", treasure.getName())
-                .append("world", treasure.getLocation().getWorld().getName())
-                .append("x", treasure.getLocation().getX())
-                .append("y", treasure.getLocation().getY())
-                .append("z", treasure.getLocation().getZ())
-                .append("rarity", treasure.getRarity());
-        treasuresCollection.replaceOne(Filters.eq("name", treasure.getName()), doc,
-                new com.mongodb.client.model.ReplaceOptions().upsert(true));
+        timed("saveTreasure", "treasures", () -> {
+            treasuresCollection.replaceOne(Filters.eq("name", treasure.getName()), Documents.toDocument(treasure),
+                    new com.mongodb.client.model.ReplaceOptions().upsert(true));
+            return 1;
+        });
+    }
+
+    /**
+     * Upserts a batch of treasures with a single unordered bulk write.
+     *
+     * @param treasures The treasures to save.
+     */
+    @Override
+    public void saveTreasures(@NotNull List<Treasure> treasures) {
+        timed("saveTreasures", "treasures", () -> {
+            if (treasures.isEmpty()) return 0;
+            var writes = new ArrayList<ReplaceOneModel<Document>>(treasures.size());
+            for (Treasure treasure : treasures) {
+                writes.add(new ReplaceOneModel<>(Filters.eq("name", treasure.getName()), Documents.toDocument(treasure),
+                        new com.mongodb.client.model.ReplaceOptions().upsert(true)));
+            }
+            treasuresCollection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+            return writes.size();
+        });
+    }
+
+    /**
+     * Upserts a batch of clues with a single unordered bulk write.
+     *
+     * @param clues The clues to save, with their treasure names.
+     */
+    @Override
+    public void saveClues(@NotNull List<ClueEntry> clues) {
+        timed("saveClues", "clues", () -> {
+            if (clues.isEmpty()) return 0;
+            var writes = new ArrayList<ReplaceOneModel<Document>>(clues.size());
+            for (ClueEntry entry : clues) {
+                Bson key = Filters.and(Filters.eq("treasure_name", entry.treasureName()), Filters.eq("description", entry.clue().description()));
+                clearReplaced(cluesCollection, "clues", entry.treasureName(), key);
+                writes.add(new ReplaceOneModel<>(key,
+                        Documents.toDocument(entry.treasureName(), entry.clue()),
+                        new com.mongodb.client.model.ReplaceOptions().upsert(true)));
+            }
+            cluesCollection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+            return writes.size();
+        });
+    }
+
+    /**
+     * Streams every stored treasure document, without loading the collection into memory.
+     *
+     * @param consumer The consumer receiving each document.
+     */
+    @Override
+    public void streamTreasures(@NotNull Consumer<Document> consumer) {
+        timed("streamTreasures", "treasures", () -> {
+            int count = 0;
+            for (var doc : treasuresCollection.find().projection(Projections.excludeId())) {
+                consumer.accept(doc);
+                count++;
+            }
+            return count;
+        });
+    }
+
+    /**
+     * Streams every stored clue document, without loading the collection into memory.
+     *
+     * @param consumer The consumer receiving each document.
+     */
+    @Override
+    public void streamClues(@NotNull Consumer<Document> consumer) {
+        timed("streamClues", "clues", () -> {
+            int count = 0;
+            for (var doc : cluesCollection.find().projection(Projections.excludeId())) {
+                consumer.accept(doc);
+                count++;
+            }
+            return count;
+        });
     }
 
     /**
-     * Deletes a treasure and its associated data from the database.
+     * Deletes a treasure document from the database.
+     * Related clues and progress are removed in throttled batches by the {@link CleanupService}, which the
+     * {@link TreasureManager} queues.
      *
      * @param name The name of the treasure to delete.
      */
+    @Override
     public void deleteTreasure(@NotNull String name) {
-        treasuresCollection.deleteOne(Filters.eq("name", name));
-        cluesCollection.deleteMany(Filters.eq("treasure_name", name));
-        playerProgressCollection.deleteMany(Filters.eq("treasure_name", name));
-        clueProgressCollection.deleteMany(Filters.eq("treasure_name", name));
+        timed("deleteTreasure", "treasures", () -> {
+            return treasuresCollection.deleteOne(Filters.eq("name", name)).getDeletedCount();
+        });
+    }
+
+    /**
+     * Deletes up to a limited number of documents matching a filter within an id range, in ascending id order.
+     *
+     * @param collectionName The name of the collection to delete from.
+     * @param filter The filter selecting documents to delete.
+     * @param after The exclusive lower id bound, or null to start from the first document.
+     * @param upTo The inclusive upper id bound.
+     * @param limit The maximum number of documents to delete.
+     * @return The result of the batch.
+     */
+    public BatchResult deleteBatch(@NotNull String collectionName, @NotNull Bson filter, @Nullable ObjectId after,
+                                   @NotNull ObjectId upTo, int limit) {
+        return timed("deleteBatch", collectionName, () -> {
+            var collection = getCollection(collectionName);
+            Bson range = after == null
+                    ? Filters.lte("_id", upTo)
+                    : Filters.and(Filters.gt("_id", after), Filters.lte("_id", upTo));
+            var ids = new ArrayList<ObjectId>(limit);
+            for (var doc : collection.find(Filters.and(filter, range))
+                    .projection(Projections.include("_id"))
+                    .sort(Sorts.ascending("_id"))
+                    .limit(limit)) {
+                ids.add(doc.getObjectId("_id"));
+            }
+            if (ids.isEmpty()) {
+                return new BatchResult(0, 0, after);
+            }
+            long deleted = collection.deleteMany(Filters.in("_id", ids)).getDeletedCount();
+            return new BatchResult(ids.size(), deleted, ids.get(ids.size() - 1));
+        });
+    }
+
+    /**
+     * Scans a batch of documents in ascending id order and deletes those matching a predicate whose treasure or clue
+     * is still missing when the batch is deleted. The predicate works from names read when the sweep started, so a
+     * row written since for a treasure or clue recreated under the same name is checked again and kept.
+     *
+     * @param collectionName The name of the collection to scan.
+     * @param after The exclusive lower id bound, or null to start from the first document.
+     * @param upTo The inclusive upper id bound.
+     * @param limit The maximum number of documents to scan.
+     * @param isOrphan The predicate selecting documents to delete.
+     * @return The result of the batch.
+     */
+    public BatchResult sweepBatch(@NotNull String collectionName, @Nullable ObjectId after, @NotNull ObjectId upTo, int limit,
+                                  @NotNull Predicate<Document> isOrphan) {
+        return timed("sweepBatch", collectionName, () -> {
+            var collection = getCollection(collectionName);
+            Bson range = after == null
+                    ? Filters.lte("_id", upTo)
+                    : Filters.and(Filters.gt("_id", after), Filters.lte("_id", upTo));
+            var candidates = new ArrayList<Document>();
+            ObjectId lastId = after;
+            int scanned = 0;
+            for (var doc : collection.find(range)
+                    .projection(Projections.include("_id", "treasure_name", "clue_description"))
+                    .sort(Sorts.ascending("_id"))
+                    .limit(limit)) {
+                scanned++;
+                lastId = doc.getObjectId("_id");
+                if (isOrphan.test(doc)) {
+                    candidates.add(doc);
+                }
+            }
+            var orphanIds = stillOrphaned(candidates);
+            long deleted = orphanIds.isEmpty() ? 0 : collection.deleteMany(Filters.in("_id", orphanIds)).getDeletedCount();
+            return new BatchResult(scanned, deleted, lastId);
+        });
+    }
+
+    /**
+     * Checks sweep candidates against the treasures and clues stored now.
+     *
+     * @param candidates The candidate documents, with their treasure name and clue description.
+     * @return The ids of the candidates whose treasure, or whose clue, is still missing.
+     */
+    private List<ObjectId> stillOrphaned(@NotNull List<Document> candidates) {
+        if (candidates.isEmpty()) return List.of();
+        var names = new HashSet<String>();
+        for (var doc : candidates) {
+            String treasureName = doc.getString("treasure_name");
+            if (treasureName != null) {
+                names.add(treasureName);
+            }
+        }
+        Set<String> liveTreasures = names.isEmpty() ? Set.of()
+                : treasuresCollection.distinct("name", Filters.in("name", names), String.class).into(new HashSet<>());
+        var clueFilters = new ArrayList<Bson>();
+        for (var doc : candidates) {
+            String clueDescription = doc.getString("clue_description");
+            if (clueDescription != null && liveTreasures.contains(doc.getString("treasure_name"))) {
+                clueFilters.add(Filters.and(Filters.eq("treasure_name", doc.getString("treasure_name")),
+                        Filters.eq("description", clueDescription)));
+            }
+        }
+        var liveClues = new HashSet<String>();
+        if (!clueFilters.isEmpty()) {
+            for (var doc : cluesCollection.find(Filters.or(clueFilters)).projection(Projections.include("treasure_name", "description"))) {
+                liveClues.add(doc.getString("treasure_name") + ":" + doc.getString("description"));
+            }
+        }
+        var orphanIds = new ArrayList<ObjectId>(candidates.size());
+        for (var doc : candidates) {
+            String treasureName = doc.getString("treasure_name");
+            String clueDescription = doc.getString("clue_description");
+            if (treasureName == null || !liveTreasures.contains(treasureName)
+                    || clueDescription != null && !liveClues.contains(treasureName + ":" + clueDescription)) {
+                orphanIds.add(doc.getObjectId("_id"));
+            }
+        }
+        return orphanIds;
+    }
+
+    /**
+     * Loads the names of all stored treasures.
+     *
+     * @return A set of treasure names.
+     */
+    public Set<String> loadTreasureNames() {
+        return timed("loadTreasureNames", "treasures", () -> {
+            return treasuresCollection.distinct("name", String.class).into(new HashSet<>());
+        });
+    }
+
+    /**
+     * Loads the keys of all stored clues, in {@code treasure:description} form.
+     *
+     * @return A set of clue keys.
+     */
+    public Set<String> loadClueKeys() {
+        return timed("loadClueKeys", "clues", () -> {
+            var keys = new HashSet<String>();
+            for (var doc : cluesCollection.find().projection(Projections.include("treasure_name", "description"))) {
+                keys.add(doc.getString("treasure_name") + ":" + doc.getString("description"));
+            }
+            return keys;
+        });
+    }
+
+    /**
+     * Gets a collection by name.
+     *
+     * @param collectionName The collection name.
+     * @return The collection.
+     * @throws IllegalArgumentException if the collection is unknown.
+     */
+    private MongoCollection<Document> getCollection(@NotNull String collectionName) {
+        var collection = collectionsByName.get(collectionName);
+        if (collection == null) {
+            throw new IllegalArgumentException("Unknown collection: " + collectionName);
+        }
+        return collection;
     }
 
     /**
@@ -89,42 +436,53 @@ public class DatabaseManager {
      *
      * @return A list of loaded treasures.
      */
+    @Override
     public List<Treasure> loadTreasures() {
-        var treasures = new ArrayList<Treasure>();
-        for (var doc : treasuresCollection.find()) {
-            String name = doc.getString("name");
-            String worldName = doc.getString("world");
-            World world = org.bukkit.Bukkit.getWorld(worldName);
-            if (world == null) {
-                plugin.getLogger().warning("World not found for treasure: " + name);
-                continue;
-            }
-            var location = new Location(world, doc.getDouble("x"), doc.getDouble("y"), doc.getDouble("z"));
-            int rarity = doc.getInteger("rarity", 1);
-            treasures.add(new Treasure(name, location, rarity));
-        }
-        treasures.forEach(this::loadClues);
-        return treasures;
+        return timed("loadTreasures", "treasures", () -> {
+            var treasures = new ArrayList<Treasure>();
+            int unbound = 0;
+            for (var doc : treasuresCollection.find()) {
+                Treasure treasure = Documents.parseTreasure(doc);
+                if (treasure == null) {
+                    logger.warning("Skipping treasure without a world: " + doc.getString("name"));
+                    continue;
+                }
+                if (!treasure.isBound()) {
+                    unbound++;
+                }
+                treasures.add(treasure);
+            }
+            treasures.forEach(this::loadClues);
+            if (unbound > 0) {
+                logger.info("Loaded " + unbound + " treasure(s) in worlds that are not loaded yet; they activate when their world loads.");
+            }
+            return treasures;
+        });
     }
 
     /**
-     * Loads clues for a specific treasure from the database.
+     * Loads clues for a specific treasure from the database in creation order, then resolves their prerequisites.
      *
      * @param treasure The treasure to load clues for.
      */
     private void loadClues(@NotNull Treasure treasure) {
-        for (var doc : cluesCollection.find(Filters.eq("treasure_name", treasure.getName()))) {
-            String description = doc.getString("description");
-            String worldName = doc.getString("world");
-            World world = org.bukkit.Bukkit.getWorld(worldName);
-            if (world == null) {
-                plugin.getLogger().warning("World not found for clue in treasure: " + treasure.getName());
-                continue;
-            }
-            var location = new Location(world, doc.getDouble("x"), doc.getDouble("y"), doc.getDouble("z"));
-            String difficulty = doc.getString("difficulty");
-            treasure.addClue(new Clue(description, location, difficulty));
-        }
+        Documents.addClues(treasure, cluesCollection.find(Filters.eq("treasure_name", treasure.getName())).sort(Sorts.ascending("_id")), logger);
+    }
+
+    /**
+     * Saves the prerequisites of a clue.
+     *
+     * @param treasureName The name of the associated treasure.
+     * @param description The clue description.
+     * @param requires The descriptions of the clues it requires.
+     */
+    @Override
+    public void saveClueRequirements(@NotNull String treasureName, @NotNull String description, @NotNull List<String> requires) {
+        timed("saveClueRequirements", "clues", () -> {
+            return cluesCollection.updateOne(
+                    Filters.and(Filters.eq("treasure_name", treasureName), Filters.eq("description", description)),
+                    Updates.set("requires", requires)).getModifiedCount();
+        });
     }
 
     /**
@@ -133,20 +491,17 @@ public class DatabaseManager {
      * @param treasureName The name of the associated treasure.
      * @param clue The clue to save.
      */
+    @Override
     public void saveClue(@NotNull String treasureName, @NotNull Clue clue) {
-        var doc = new Document("treasure_name", treasureName)
-                .append("description", clue.description())
-                .append("world", clue.location().getWorld().getName())
-                .append("x", clue.location().getX())
-                .append("y", clue.location().getY())
-                .append("z", clue.location().getZ())
-                .append("difficulty", clue.difficulty())
-                .append("created_at", clue.createdAt());
-        cluesCollection.replaceOne(
-                Filters.and(Filters.eq("treasure_name", treasureName), Filters.eq("description", clue.description())),
-                doc,
-                new com.mongodb.client.model.ReplaceOptions().upsert(true)
-        );
+        timed("saveClue", "clues", () -> {
+            Bson key = Filters.and(Filters.eq("treasure_name", treasureName), Filters.eq("description", clue.description()));
+            clearReplaced(cluesCollection, "clues", treasureName, key);
+            cluesCollection.replaceOne(key,
+                    Documents.toDocument(treasureName, clue),
+                    new com.mongodb.client.model.ReplaceOptions().upsert(true)
+            );
+            return 1;
+        });
     }
 
     /**
@@ -154,8 +509,11 @@ public class DatabaseManager {
      *
      * @param treasureName The name of the treasure.
      */
+    @Override
     public void deleteClues(@NotNull String treasureName) {
-        cluesCollection.deleteMany(Filters.eq("treasure_name", treasureName));
+        timed("deleteClues", "clues", () -> {
+            return cluesCollection.deleteMany(Filters.eq("treasure_name", treasureName)).getDeletedCount();
+        });
     }
 
     /**
@@ -164,14 +522,19 @@ public class DatabaseManager {
      * @param playerId The UUID of the player.
      * @param treasureName The name of the treasure.
      */
+    @Override
     public void savePlayerProgress(@NotNull UUID playerId, @NotNull String treasureName) {
-        var doc = new Document("player_uuid", playerId.toString())
-                .append("treasure_name", treasureName);
-        playerProgressCollection.replaceOne(
-                Filters.and(Filters.eq("player_uuid", playerId.toString()), Filters.eq("treasure_name", treasureName)),
-                doc,
-                new com.mongodb.client.model.ReplaceOptions().upsert(true)
-        );
+        timed("savePlayerProgress", "player_progress", () -> {
+            var doc = new Document("player_uuid", playerId.toString())
+                    .append("treasure_name", treasureName);
+            Bson key = Filters.and(Filters.eq("player_uuid", playerId.toString()), Filters.eq("treasure_name", treasureName));
+            clearReplaced(playerProgressCollection, "player_progress", treasureName, key);
+            playerProgressCollection.replaceOne(key,
+                    doc,
+                    new com.mongodb.client.model.ReplaceOptions().upsert(true)
+            );
+            return 1;
+        });
     }
 
     /**
@@ -181,32 +544,38 @@ public class DatabaseManager {
      * @param treasureName The name of the treasure.
      * @param clueDescription The description of the clue.
      */
+    @Override
     public void saveClueProgress(@NotNull UUID playerId, @NotNull String treasureName, @NotNull String clueDescription) {
-        var doc = new Document("player_uuid", playerId.toString())
-                .append("treasure_name", treasureName)
-                .append("clue_description", clueDescription);
-        clueProgressCollection.replaceOne(
-                Filters.and(
-                        Filters.eq("player_uuid", playerId.toString()),
-                        Filters.eq("treasure_name", treasureName),
-                        Filters.eq("clue_description", clueDescription)
-                ),
-                doc,
-                new com.mongodb.client.model.ReplaceOptions().upsert(true)
-        );
+        timed("saveClueProgress", "clue_progress", () -> {
+            var doc = new Document("player_uuid", playerId.toString())
+                    .append("treasure_name", treasureName)
+                    .append("clue_description", clueDescription);
+            Bson key = Filters.and(
+                    Filters.eq("player_uuid", playerId.toString()),
+                    Filters.eq("treasure_name", treasureName),
+                    Filters.eq("clue_description", clueDescription)
+            );
+            clearReplaced(clueProgressCollection, "clue_progress", treasureName, key);
+            clueProgressCollection.replaceOne(key,
+                    doc,
+                    new com.mongodb.client.model.ReplaceOptions().upsert(true)
+            );
+            return 1;
+        });
     }
 
     /**
-     * Saves a team to the database.
+     * Saves a team to the database, along with the last known names of its members.
      *
      * @param team The team to save.
      */
+    @Override
     public void saveTeam(@NotNull Team team) {
-        var doc = new Document("name", team.getName())
-                .append("members", team.getMembers().stream().map(UUID::toString).toList())
-                .append("score", team.getScore());
-        teamsCollection.replaceOne(Filters.eq("name", team.getName()), doc,
-                new com.mongodb.client.model.ReplaceOptions().upsert(true));
+        timed("saveTeam", "teams", () -> {
+            teamsCollection.replaceOne(Filters.eq("name", team.getName()), Documents.toDocument(team, playerNameCache),
+                    new com.mongodb.client.model.ReplaceOptions().upsert(true));
+            return 1;
+        });
     }
 
     /**
@@ -214,8 +583,11 @@ public class DatabaseManager {
      *
      * @param name The name of the team to delete.
      */
+    @Override
     public void deleteTeam(@NotNull String name) {
-        teamsCollection.deleteOne(Filters.eq("name", name));
+        timed("deleteTeam", "teams", () -> {
+            return teamsCollection.deleteOne(Filters.eq("name", name)).getDeletedCount();
+        });
     }
 
     /**
@@ -223,20 +595,47 @@ public class DatabaseManager {
      *
      * @return A list of loaded teams.
      */
+    @Override
     public List<Team> loadTeams() {
-        var teams = new ArrayList<Team>();
-        for (var doc : teamsCollection.find()) {
-            String name = doc.getString("name");
-            List<String> memberStrings = doc.getList("members", String.class, List.of());
-            Set<UUID> members = memberStrings.stream()
-                    .map(UUID::fromString)
-                    .collect(Collectors.toSet());
-            int score = doc.getInteger("score", 0);
-            Team team = new Team(name, members.stream().findFirst().orElse(null));
-            members.forEach(team::addMember);
-            for (int i = 0; i < score; i++) team.incrementScore();
-            teams.add(team);
-        }
-        return teams;
+        return timed("loadTeams", "teams", () -> {
+            var teams = new ArrayList<Team>();
+            for (var doc : teamsCollection.find()) {
+                teams.add(Documents.parseTeam(doc, playerNameCache));
+            }
+            return teams;
+        });
+    }
+
+    /**
+     * Closes the MongoDB client.
+     */
+    @Override
+    public void close() {
+        mongoClient.close();
     }
+
+    /**
+     * Consulted before a clue or progress row of a treasure is written.
+     */
+    @FunctionalInterface
+    interface WriteBarrier {
+        /**
+         * Notes an upcoming write and reports the range a pending cascade still has to delete.
+         *
+         * @param collectionName The collection about to be written.
+         * @param treasureName The name of the treasure the row belongs to.
+         * @return The inclusive upper id bound of rows of the treasure in the collection that are pending deletion,
+         *         or null if none are.
+         */
+        @Nullable ObjectId beforeWrite(@NotNull String collectionName, @NotNull String treasureName);
+    }
+
+    /**
+     * Result of a batched delete or sweep.
+     *
+     * @param scanned The number of documents visited.
+     * @param deleted The number of documents deleted.
+     * @param lastId The id of the last document visited, or the starting bound if none were visited.
+     */
+    public record BatchResult(int scanned, long deleted, @Nullable ObjectId lastId) {}
 }
\ No newline at end of file
@@ -0,0 +1,196 @@
+package gg.kite.managers;
+
+import org.bson.Document;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Converts treasures, clues and teams to and from their stored document form, shared by every {@link Storage}
+ * backend and by treasure exports.
+ */
+public final class Documents {
+    private Documents() {
+    }
+
+    /**
+     * Builds the stored document for a treasure.
+     *
+     * @param treasure The treasure.
+     * @return The treasure document.
+     */
+    public static Document toDocument(@NotNull Treasure treasure) {
+        return new Document("name", treasure.getName())
+                .append("world", treasure.getWorldName())
+                .append("x", treasure.getLocation().getX())
+                .append("y", treasure.getLocation().getY())
+                .append("z", treasure.getLocation().getZ())
+                .append("rarity", treasure.getRarity());
+    }
+
+    /**
+     * Builds the stored document for a clue.
+     *
+     * @param treasureName The name of the associated treasure.
+     * @param clue The clue.
+     * @return The clue document.
+     */
+    public static Document toDocument(@NotNull String treasureName, @NotNull Clue clue) {
+        return new Document("treasure_name", treasureName)
+                .append("description", clue.description())
+                .append("world", clue.world())
+                .append("x", clue.location().getX())
+                .append("y", clue.location().getY())
+                .append("z", clue.location().getZ())
+                .append("difficulty", clue.difficulty())
+                .append("created_at", clue.createdAt());
+    }
+
+    /**
+     * Builds the stored document for a team, along with the last known names of its members.
+     *
+     * @param team The team.
+     * @param playerNameCache The cache providing member names.
+     * @return The team document.
+     */
+    public static Document toDocument(@NotNull Team team, @NotNull PlayerNameCache playerNameCache) {
+        var members = team.getMembers();
+        var memberNames = new Document();
+        for (UUID member : members) {
+            String name = playerNameCache.getName(member);
+            if (name != null) {
+                memberNames.append(member.toString(), name);
+            }
+        }
+        return new Document("name", team.getName())
+                .append("members", members.stream().map(UUID::toString).toList())
+                .append("member_names", memberNames)
+                .append("score", team.getScore());
+    }
+
+    /**
+     * Parses a treasure document. The location is bound to the treasure's world if it is loaded.
+     *
+     * @param doc The treasure document.
+     * @return The treasure, or null if the document names no world.
+     */
+    public static @Nullable Treasure parseTreasure(@NotNull Document doc) {
+        String worldName = doc.getString("world");
+        if (worldName == null) {
+            return null;
+        }
+        return new Treasure(doc.getString("name"), worldName, parseLocation(doc, worldName), doc.getInteger("rarity", 1));
+    }
+
+    /**
+     * Parses a clue document. The location is bound to the clue's world if it is loaded.
+     *
+     * @param doc The clue document.
+     * @return The clue, or null if the document names no world.
+     */
+    public static @Nullable Clue parseClue(@NotNull Document doc) {
+        String worldName = doc.getString("world");
+        if (worldName == null) {
+            return null;
+        }
+        String difficulty = Objects.requireNonNullElse(doc.getString("difficulty"), "medium").toLowerCase();
+        long createdAt = doc.get("created_at") instanceof Number number ? number.longValue() : System.currentTimeMillis();
+        return new Clue(doc.getString("description"), worldName, parseLocation(doc, worldName), difficulty, createdAt);
+    }
+
+    /**
+     * Parses a team document, remembering the stored member names.
+     *
+     * @param doc The team document.
+     * @param playerNameCache The cache receiving member names.
+     * @return The team.
+     */
+    public static Team parseTeam(@NotNull Document doc, @NotNull PlayerNameCache playerNameCache) {
+        List<String> memberStrings = doc.getList("members", String.class, List.of());
+        Set<UUID> members = memberStrings.stream()
+                .map(UUID::fromString)
+                .collect(Collectors.toSet());
+        int score = doc.getInteger("score", 0);
+        var memberNames = doc.get("member_names", Document.class);
+        if (memberNames != null) {
+            playerNameCache.rememberAll(memberNames);
+        }
+        Team team = new Team(doc.getString("name"), members.stream().findFirst().orElse(null));
+        members.forEach(team::addMember);
+        for (int i = 0; i < score; i++) team.incrementScore();
+        return team;
+    }
+
+    /**
+     * Adds clues to a treasure from their documents in creation order, then resolves their prerequisites.
+     *
+     * @param treasure The treasure.
+     * @param clueDocs The treasure's clue documents, oldest first.
+     * @param logger The logger for skipped clues.
+     */
+    public static void addClues(@NotNull Treasure treasure, @NotNull Iterable<Document> clueDocs, @NotNull Logger logger) {
+        Map<String, List<String>> requirements = new LinkedHashMap<>();
+        for (Document doc : clueDocs) {
+            Clue clue = parseClue(doc);
+            if (clue == null || !clue.world().equals(treasure.getWorldName())) {
+                logger.warning("Skipping clue outside the world of treasure: " + treasure.getName());
+                continue;
+            }
+            if (!treasure.addClue(clue)) {
+                logger.warning("Skipping duplicate or excess clue in treasure: " + treasure.getName());
+                continue;
+            }
+            List<String> requires = doc.getList("requires", String.class);
+            if (requires != null && !requires.isEmpty()) {
+                requirements.put(clue.description(), requires);
+            }
+        }
+        requirements.forEach((description, requires) -> {
+            int index = treasure.indexOf(description);
+            long mask = 0;
+            for (String required : requires) {
+                int requiredIndex = treasure.indexOf(required);
+                if (requiredIndex >= 0) {
+                    mask |= 1L << requiredIndex;
+                }
+            }
+            if (!treasure.setPrerequisites(index, mask)) {
+                logger.warning("Ignoring prerequisites that are not earlier clues in treasure: " + treasure.getName());
+            }
+        });
+    }
+
+    /**
+     * Reads the coordinates of a document into a location in the named world, or with no world if it is not loaded.
+     *
+     * @param doc The document.
+     * @param worldName The world name.
+     * @return The location.
+     */
+    private static Location parseLocation(@NotNull Document doc, @NotNull String worldName) {
+        World world = Bukkit.getWorld(worldName);
+        return new Location(world, getNumber(doc, "x"), getNumber(doc, "y"), getNumber(doc, "z"));
+    }
+
+    /**
+     * Reads a numeric field as a double, accepting any stored numeric type.
+     *
+     * @param doc The document.
+     * @param key The field name.
+     * @return The field value, or 0 if absent.
+     */
+    private static double getNumber(@NotNull Document doc, @NotNull String key) {
+        return doc.get(key) instanceof Number number ? number.doubleValue() : 0.0;
+    }
+}
@@ -0,0 +1,214 @@
+package gg.kite.managers;
+
+import com.google.inject.Inject;
+import gg.kite.config.MessageConfig;
+import gg.kite.metrics.LatencyHistogram;
+import gg.kite.metrics.Metrics;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Shows hunting players a hot/cold hint towards the nearest unsolved clue or unfound treasure in their hunt.
+ * <p>
+ * Runs on the main thread every {@code hints.interval-ticks}, queued as housekeeping on the {@link TickScheduler} so
+ * that it counts against {@code scheduler.tick-budget-millis} and waits for a later tick once that is spent. Each run takes the next players from a round-robin
+ * queue of hunting players and stops after {@code hints.players-per-run} players or {@code hints.max-millis-per-run},
+ * whichever comes first, so the cost per tick stays bounded however many players are hunting. The action bar and
+ * compass are only updated when a player's hint changes. Run times go to the {@code hints.run} histogram, and the
+ * players handled and updates sent to the {@code hints.players} and {@code hints.updates} counters.
+ */
+public class HintService implements Runnable {
+    private static final String[] DIRECTIONS = {"N", "NE", "E", "SE", "S", "SW", "W", "NW"};
+
+    private final JavaPlugin plugin;
+    private final TickScheduler scheduler;
+    private final TreasureManager treasureManager;
+    private final MessageConfig messageConfig;
+    private final boolean enabled;
+    private final long intervalTicks;
+    private final int playersPerRun;
+    private final long maxNanosPerRun;
+    private final double searchRadius;
+    private final double hotDistanceSquared;
+    private final double warmDistanceSquared;
+    private final boolean actionBar;
+    private final boolean compass;
+    private final ArrayDeque<UUID> queue;
+    private final Map<UUID, Hint> lastHints;
+    private final LatencyHistogram runTimes;
+    private final LongAdder playersUpdated;
+    private final LongAdder updatesSent;
+    private boolean runScheduled;
+
+    /**
+     * Constructs a HintService from the {@code hints} configuration section.
+     *
+     * @param plugin The plugin instance used for scheduling.
+     * @param scheduler The scheduler that runs the hint updates.
+     * @param treasureManager The treasure manager providing hunts and the spatial indexes.
+     * @param messageConfig The message configuration for hint messages.
+     * @param config The plugin configuration.
+     * @param metrics The metrics registry receiving run times and counts.
+     */
+    @Inject
+    public HintService(@NotNull JavaPlugin plugin, @NotNull TickScheduler scheduler, @NotNull TreasureManager treasureManager,
+                       @NotNull MessageConfig messageConfig, @NotNull FileConfiguration config, @NotNull Metrics metrics) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.treasureManager = treasureManager;
+        this.messageConfig = messageConfig;
+        this.enabled = config.getBoolean("hints.enabled", true);
+        this.intervalTicks = Math.max(1, config.getLong("hints.interval-ticks", 10));
+        this.playersPerRun = Math.max(1, config.getInt("hints.players-per-run", 100));
+        this.maxNanosPerRun = (long) (Math.max(0.1, config.getDouble("hints.max-millis-per-run", 2.0)) * 1_000_000);
+        this.searchRadius = Math.max(1, config.getDouble("hints.search-radius", 256.0));
+        double hot = config.getDouble("hints.hot-distance", 16.0);
+        double warm = config.getDouble("hints.warm-distance", 64.0);
+        this.hotDistanceSquared = hot * hot;
+        this.warmDistanceSquared = warm * warm;
+        this.actionBar = config.getBoolean("hints.action-bar", true);
+        this.compass = config.getBoolean("hints.compass", true);
+        this.queue = new ArrayDeque<>();
+        this.lastHints = new HashMap<>();
+        this.runTimes = metrics.histogram("hints.run");
+        this.playersUpdated = metrics.counter("hints.players");
+        this.updatesSent = metrics.counter("hints.updates");
+    }
+
+    /**
+     * Schedules the hint task if hints are enabled. Each interval queues one run as housekeeping, unless the previous
+     * one is still waiting.
+     */
+    public void start() {
+        if (enabled) {
+            Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+                if (runScheduled) return;
+                runScheduled = true;
+                scheduler.submit(TickScheduler.Priority.HOUSEKEEPING, () -> {
+                    runScheduled = false;
+                    run();
+                });
+            }, intervalTicks, intervalTicks);
+        }
+    }
+
+    /**
+     * Updates the hints of the next players in the queue, refilling it with the hunting players once it is empty.
+     */
+    @Override
+    public void run() {
+        long start = System.nanoTime();
+        if (queue.isEmpty()) {
+            refill();
+        }
+        int processed = 0;
+        while (processed < playersPerRun && !queue.isEmpty() && System.nanoTime() - start < maxNanosPerRun) {
+            Player player = Bukkit.getPlayer(queue.poll());
+            if (player == null) continue;
+            update(player);
+            processed++;
+        }
+        runTimes.record(System.nanoTime() - start);
+        playersUpdated.add(processed);
+    }
+
+    /**
+     * Queues every online player with an active hunt and forgets hints of players no longer hunting, pointing their
+     * compass back at the world spawn if a hint had moved it.
+     */
+    private void refill() {
+        Set<UUID> hunting = new HashSet<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (treasureManager.getActiveSession(player.getUniqueId()) != null) {
+                hunting.add(player.getUniqueId());
+                queue.add(player.getUniqueId());
+            }
+        }
+        Iterator<Map.Entry<UUID, Hint>> entries = lastHints.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<UUID, Hint> entry = entries.next();
+            if (hunting.contains(entry.getKey())) continue;
+            entries.remove();
+            Player player = Bukkit.getPlayer(entry.getKey());
+            if (compass && player != null && entry.getValue().target() != null) {
+                player.setCompassTarget(player.getWorld().getSpawnLocation());
+            }
+        }
+    }
+
+    /**
+     * Computes a player's hint and sends it if it differs from the last one sent.
+     *
+     * @param player The player.
+     */
+    private void update(@NotNull Player player) {
+        UUID playerId = player.getUniqueId();
+        HuntSession session = treasureManager.getActiveSession(playerId);
+        if (session == null) {
+            Hint previous = lastHints.remove(playerId);
+            if (compass && previous != null && previous.target() != null) {
+                player.setCompassTarget(player.getWorld().getSpawnLocation());
+            }
+            return;
+        }
+        Location location = player.getLocation();
+        Location target = treasureManager.findHintTarget(playerId, session, location, searchRadius);
+        Hint hint = createHint(location, target);
+        Hint previous = lastHints.put(playerId, hint);
+        if (hint.equals(previous)) return;
+
+        if (actionBar && (previous == null || !hint.message().equals(previous.message()))) {
+            player.sendActionBar(LegacyComponentSerializer.legacySection().deserialize(hint.message()));
+            updatesSent.increment();
+        }
+        if (compass && target != null && (previous == null || !Objects.equals(hint.target(), previous.target()))) {
+            player.setCompassTarget(target);
+        }
+    }
+
+    /**
+     * Builds the hint for a player at a location.
+     *
+     * @param location The player's location.
+     * @param target The target location, or null if nothing is in range.
+     * @return The hint.
+     */
+    private Hint createHint(@NotNull Location location, @Nullable Location target) {
+        if (target == null) {
+            return new Hint(messageConfig.getMessage("hint-cold"), null);
+        }
+        double dx = target.getX() - location.getX();
+        double dz = target.getZ() - location.getZ();
+        double distanceSquared = dx * dx + dz * dz;
+        // Bearing measured clockwise from north, which is towards negative z.
+        double bearing = (Math.toDegrees(Math.atan2(dx, -dz)) + 360) % 360;
+        String direction = DIRECTIONS[(int) Math.round(bearing / 45) % DIRECTIONS.length];
+        String key = distanceSquared <= hotDistanceSquared ? "hint-hot"
+                : distanceSquared <= warmDistanceSquared ? "hint-warm" : "hint-cool";
+        return new Hint(messageConfig.getMessage(key, "%s", direction), target.toBlockLocation());
+    }
+
+    /**
+     * The hint last shown to a player.
+     *
+     * @param message The action bar message.
+     * @param target The block the compass points to, or null if nothing is in range.
+     */
+    private record Hint(@NotNull String message, @Nullable Location target) {}
+}
@@ -0,0 +1,74 @@
+package gg.kite.managers;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+
+/**
+ * A player's active hunt: the treasures selected when the hunt started and the time it expires.
+ */
+public class HuntSession {
+    private final Set<String> treasureNames;
+    private final long startedAt;
+    private final long expiresAt;
+
+    /**
+     * Constructs a HuntSession with the specified treasures and duration.
+     *
+     * @param treasureNames The names of the treasures being hunted.
+     * @param startedAt The start time in milliseconds.
+     * @param durationMillis The session duration in milliseconds.
+     */
+    public HuntSession(@NotNull Set<String> treasureNames, long startedAt, long durationMillis) {
+        this.treasureNames = Set.copyOf(treasureNames);
+        this.startedAt = startedAt;
+        this.expiresAt = startedAt + durationMillis;
+    }
+
+    /**
+     * Checks whether a treasure is part of this hunt.
+     *
+     * @param treasureName The treasure name.
+     * @return True if the treasure is being hunted.
+     */
+    public boolean contains(@NotNull String treasureName) {
+        return treasureNames.contains(treasureName);
+    }
+
+    /**
+     * Gets the names of the treasures being hunted.
+     *
+     * @return An unmodifiable set of treasure names.
+     */
+    public Set<String> getTreasureNames() {
+        return treasureNames;
+    }
+
+    /**
+     * Gets the start time of the hunt.
+     *
+     * @return The start time in milliseconds.
+     */
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * Gets the expiry time of the hunt.
+     *
+     * @return The expiry time in milliseconds.
+     */
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * Checks whether the hunt has expired.
+     *
+     * @param now The current time in milliseconds.
+     * @return True if expired.
+     */
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+}
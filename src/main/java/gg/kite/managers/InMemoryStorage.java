@@ -0,0 +1,273 @@
+package gg.kite.managers;
+
+import com.google.inject.Inject;
+import org.bson.Document;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+/**
+ * {@link Storage} kept in the server's memory and lost on shutdown, for test servers, benchmarks and simulations
+ * that should not need MongoDB.
+ * <p>
+ * Records are held in their document form, exactly as the MongoDB backend would store them, so loading builds fresh
+ * objects rather than handing back the live ones, and clues keep their creation order. Deletes remove dependent
+ * clues and progress immediately.
+ */
+public class InMemoryStorage implements Storage {
+    private final PlayerNameCache playerNameCache;
+    private final Logger logger;
+    private final Map<String, Document> treasures;
+    private final Map<String, Map<String, Document>> clues;
+    private final Set<Progress> progress;
+    private final Map<String, Document> teams;
+
+    /**
+     * Constructs an empty InMemoryStorage.
+     *
+     * @param playerNameCache The cache of member names stored with teams.
+     * @param plugin The plugin instance, providing the logger.
+     */
+    @Inject
+    public InMemoryStorage(@NotNull PlayerNameCache playerNameCache, @NotNull JavaPlugin plugin) {
+        this(playerNameCache, plugin.getLogger());
+    }
+
+    /**
+     * Constructs an empty InMemoryStorage with an explicit logger, for use outside a running server.
+     *
+     * @param playerNameCache The cache of member names stored with teams.
+     * @param logger The logger for load warnings.
+     */
+    public InMemoryStorage(@NotNull PlayerNameCache playerNameCache, @NotNull Logger logger) {
+        this.playerNameCache = playerNameCache;
+        this.logger = logger;
+        this.treasures = new LinkedHashMap<>();
+        this.clues = new LinkedHashMap<>();
+        this.progress = new HashSet<>();
+        this.teams = new LinkedHashMap<>();
+    }
+
+    /**
+     * Saves a treasure's document.
+     *
+     * @param treasure The treasure to save.
+     */
+    @Override
+    public synchronized void saveTreasure(@NotNull Treasure treasure) {
+        treasures.put(treasure.getName(), Documents.toDocument(treasure));
+    }
+
+    /**
+     * Saves the documents of a batch of treasures.
+     *
+     * @param treasures The treasures to save.
+     */
+    @Override
+    public synchronized void saveTreasures(@NotNull List<Treasure> treasures) {
+        treasures.forEach(this::saveTreasure);
+    }
+
+    /**
+     * Deletes a treasure with its clues and all progress on it.
+     *
+     * @param name The name of the treasure to delete.
+     */
+    @Override
+    public synchronized void deleteTreasure(@NotNull String name) {
+        treasures.remove(name);
+        clues.remove(name);
+        progress.removeIf(entry -> entry.treasureName().equals(name));
+    }
+
+    /**
+     * Builds the stored treasures with their clues.
+     *
+     * @return The loaded treasures.
+     */
+    @Override
+    public synchronized List<Treasure> loadTreasures() {
+        var loaded = new ArrayList<Treasure>(treasures.size());
+        for (Document doc : treasures.values()) {
+            Treasure treasure = Documents.parseTreasure(doc);
+            if (treasure == null) {
+                logger.warning("Skipping treasure without a world: " + doc.getString("name"));
+                continue;
+            }
+            Documents.addClues(treasure, clues.getOrDefault(treasure.getName(), Map.of()).values(), logger);
+            loaded.add(treasure);
+        }
+        return loaded;
+    }
+
+    /**
+     * Streams copies of the stored treasure documents.
+     *
+     * @param consumer The consumer receiving each document.
+     */
+    @Override
+    public void streamTreasures(@NotNull Consumer<Document> consumer) {
+        List<Document> snapshot;
+        synchronized (this) {
+            snapshot = treasures.values().stream().map(Document::new).toList();
+        }
+        snapshot.forEach(consumer);
+    }
+
+    /**
+     * Saves a clue's document, keeping its position if it replaces an existing clue.
+     *
+     * @param treasureName The name of the associated treasure.
+     * @param clue The clue to save.
+     */
+    @Override
+    public synchronized void saveClue(@NotNull String treasureName, @NotNull Clue clue) {
+        clues.computeIfAbsent(treasureName, k -> new LinkedHashMap<>()).put(clue.description(), Documents.toDocument(treasureName, clue));
+    }
+
+    /**
+     * Saves the documents of a batch of clues.
+     *
+     * @param clues The clues to save, with their treasure names.
+     */
+    @Override
+    public synchronized void saveClues(@NotNull List<ClueEntry> clues) {
+        clues.forEach(entry -> saveClue(entry.treasureName(), entry.clue()));
+    }
+
+    /**
+     * Stores the prerequisites of a clue in its document.
+     *
+     * @param treasureName The name of the associated treasure.
+     * @param description The clue description.
+     * @param requires The descriptions of the clues it requires.
+     */
+    @Override
+    public synchronized void saveClueRequirements(@NotNull String treasureName, @NotNull String description,
+                                                  @NotNull List<String> requires) {
+        Map<String, Document> treasureClues = clues.get(treasureName);
+        Document doc = treasureClues != null ? treasureClues.get(description) : null;
+        if (doc != null) {
+            doc.put("requires", List.copyOf(requires));
+        }
+    }
+
+    /**
+     * Deletes all clues of a treasure with the progress on them.
+     *
+     * @param treasureName The name of the treasure.
+     */
+    @Override
+    public synchronized void deleteClues(@NotNull String treasureName) {
+        clues.remove(treasureName);
+        progress.removeIf(entry -> entry.clueDescription() != null && entry.treasureName().equals(treasureName));
+    }
+
+    /**
+     * Streams copies of the stored clue documents.
+     *
+     * @param consumer The consumer receiving each document.
+     */
+    @Override
+    public void streamClues(@NotNull Consumer<Document> consumer) {
+        List<Document> snapshot;
+        synchronized (this) {
+            snapshot = clues.values().stream().flatMap(byDescription -> byDescription.values().stream()).map(Document::new).toList();
+        }
+        snapshot.forEach(consumer);
+    }
+
+    /**
+     * Records that a player found a treasure.
+     *
+     * @param playerId The UUID of the player.
+     * @param treasureName The name of the treasure.
+     */
+    @Override
+    public synchronized void savePlayerProgress(@NotNull UUID playerId, @NotNull String treasureName) {
+        progress.add(new Progress(playerId, treasureName, null));
+    }
+
+    /**
+     * Records that a player solved a clue.
+     *
+     * @param playerId The UUID of the player.
+     * @param treasureName The name of the treasure.
+     * @param clueDescription The description of the clue.
+     */
+    @Override
+    public synchronized void saveClueProgress(@NotNull UUID playerId, @NotNull String treasureName, @NotNull String clueDescription) {
+        progress.add(new Progress(playerId, treasureName, clueDescription));
+    }
+
+    /**
+     * Saves a team's document.
+     *
+     * @param team The team to save.
+     */
+    @Override
+    public synchronized void saveTeam(@NotNull Team team) {
+        teams.put(team.getName(), Documents.toDocument(team, playerNameCache));
+    }
+
+    /**
+     * Deletes a team.
+     *
+     * @param name The name of the team to delete.
+     */
+    @Override
+    public synchronized void deleteTeam(@NotNull String name) {
+        teams.remove(name);
+    }
+
+    /**
+     * Builds the stored teams.
+     *
+     * @return The loaded teams.
+     */
+    @Override
+    public synchronized List<Team> loadTeams() {
+        return teams.values().stream().map(doc -> Documents.parseTeam(doc, playerNameCache)).toList();
+    }
+
+    /**
+     * Passes a log record for every stored treasure, clue, progress row and team to a consumer, in an order that
+     * rebuilds the same state when applied.
+     *
+     * @param consumer The consumer receiving each record.
+     */
+    synchronized void writeRecords(@NotNull Consumer<Document> consumer) {
+        treasures.values().forEach(doc -> consumer.accept(StorageRecords.of(StorageRecords.TREASURE, doc)));
+        clues.values().forEach(byDescription ->
+                byDescription.values().forEach(doc -> consumer.accept(StorageRecords.of(StorageRecords.CLUE, doc))));
+        progress.forEach(entry -> consumer.accept(
+                StorageRecords.saveProgress(entry.playerId(), entry.treasureName(), entry.clueDescription())));
+        teams.values().forEach(doc -> consumer.accept(StorageRecords.of(StorageRecords.TEAM, doc)));
+    }
+
+    /**
+     * Does nothing; the records are dropped with the instance.
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * A stored progress row.
+     *
+     * @param playerId The player.
+     * @param treasureName The treasure.
+     * @param clueDescription The solved clue, or null for a found treasure.
+     */
+    private record Progress(@NotNull UUID playerId, @NotNull String treasureName, @Nullable String clueDescription) {}
+}
@@ -0,0 +1,365 @@
+package gg.kite.managers;
+
+import com.google.inject.Inject;
+import gg.kite.metrics.LatencyHistogram;
+import gg.kite.metrics.Metrics;
+import org.bson.Document;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Embedded {@link Storage} for single-server deployments: the records live in memory and every write is appended to
+ * a memory-mapped {@link AppendLog} in the plugin folder, so no database server is needed.
+ * <p>
+ * Appends are committed to disk in groups, once per {@code storage.log.sync-interval-millis}. When the log grows past
+ * {@code storage.log.compact-megabytes} the current state is written to a new snapshot, which replaces the old one
+ * atomically, and the log starts over. Startup replays the snapshot and then the log. Both files begin with the
+ * generation they belong to, so a log left over from a compaction interrupted after the snapshot was replaced is
+ * recognised and skipped.
+ */
+public class LogStorage implements Storage {
+    private static final String SNAPSHOT_FILE = "snapshot.bson";
+    private static final String LOG_FILE = "changes.log";
+
+    private final InMemoryStorage state;
+    private final PlayerNameCache playerNameCache;
+    private final Path directory;
+    private final long compactBytes;
+    private final Logger logger;
+    private final LongAdder appended;
+    private final LatencyHistogram compactions;
+    private final AppendLog log;
+    private long generation;
+    private long compactAt;
+
+    /**
+     * Constructs a LogStorage from the {@code storage.log} configuration section, loading the stored records.
+     *
+     * @param playerNameCache The cache of member names stored with teams.
+     * @param config The plugin configuration.
+     * @param plugin The plugin instance, providing the data folder and the logger.
+     * @param metrics The metrics registry receiving append counts and compaction times.
+     * @throws UncheckedIOException if the files cannot be read or created.
+     */
+    @Inject
+    public LogStorage(@NotNull PlayerNameCache playerNameCache, @NotNull FileConfiguration config, @NotNull JavaPlugin plugin,
+                      @NotNull Metrics metrics) {
+        this(playerNameCache, plugin.getDataFolder().toPath().resolve(config.getString("storage.log.directory", "storage")),
+                (int) (Math.max(1, config.getInt("storage.log.window-megabytes", 16)) * 1024L * 1024L),
+                Math.max(0, config.getLong("storage.log.sync-interval-millis", 20)),
+                Math.max(1, config.getLong("storage.log.compact-megabytes", 64)) * 1024L * 1024L,
+                metrics, plugin.getLogger());
+    }
+
+    /**
+     * Constructs a LogStorage with explicit settings, for use outside a running server.
+     *
+     * @param playerNameCache The cache of member names stored with teams.
+     * @param directory The directory holding the snapshot and the log.
+     * @param windowBytes The size of each mapped window of the log.
+     * @param syncIntervalMillis The interval between group commits, or 0 to sync only on close.
+     * @param compactBytes The log size that triggers a compaction.
+     * @param metrics The metrics registry receiving append counts and compaction times.
+     * @param logger The logger for load and compaction messages.
+     * @throws UncheckedIOException if the files cannot be read or created.
+     */
+    public LogStorage(@NotNull PlayerNameCache playerNameCache, @NotNull Path directory, int windowBytes, long syncIntervalMillis,
+                      long compactBytes, @NotNull Metrics metrics, @NotNull Logger logger) {
+        this.state = new InMemoryStorage(playerNameCache, logger);
+        this.playerNameCache = playerNameCache;
+        this.directory = directory;
+        this.compactBytes = compactBytes;
+        this.logger = logger;
+        this.appended = metrics.counter("storage.log.appends");
+        this.compactions = metrics.histogram("storage.log.compact");
+        try {
+            Replay snapshot = new Replay(0);
+            Path snapshotFile = directory.resolve(SNAPSHOT_FILE);
+            if (Files.exists(snapshotFile)) {
+                AppendLog.read(snapshotFile, snapshot);
+            }
+            this.generation = Math.max(0, snapshot.generation);
+            Replay tail = new Replay(generation);
+            this.log = new AppendLog(directory.resolve(LOG_FILE), windowBytes, syncIntervalMillis, logger, tail);
+            if (tail.generation < 0 || tail.stale) {
+                if (tail.stale) {
+                    logger.info("Discarding a storage log that was already compacted into the snapshot.");
+                }
+                log.reset();
+                log.append(StorageRecords.header(generation));
+            }
+            this.compactAt = compactBytes;
+            logger.info("Loaded " + snapshot.applied + " snapshot record(s) and " + tail.applied + " logged change(s).");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Saves a treasure and logs it.
+     *
+     * @param treasure The treasure to save.
+     */
+    @Override
+    public synchronized void saveTreasure(@NotNull Treasure treasure) {
+        state.saveTreasure(treasure);
+        append(StorageRecords.saveTreasure(treasure));
+    }
+
+    /**
+     * Saves a batch of treasures and logs each of them.
+     *
+     * @param treasures The treasures to save.
+     */
+    @Override
+    public synchronized void saveTreasures(@NotNull List<Treasure> treasures) {
+        treasures.forEach(this::saveTreasure);
+    }
+
+    /**
+     * Deletes a treasure with its clues and all progress on it, and logs the delete.
+     *
+     * @param name The name of the treasure to delete.
+     */
+    @Override
+    public synchronized void deleteTreasure(@NotNull String name) {
+        state.deleteTreasure(name);
+        append(StorageRecords.deleteTreasure(name));
+    }
+
+    /**
+     * Builds the stored treasures with their clues.
+     *
+     * @return The loaded treasures.
+     */
+    @Override
+    public List<Treasure> loadTreasures() {
+        return state.loadTreasures();
+    }
+
+    /**
+     * Streams copies of the stored treasure documents.
+     *
+     * @param consumer The consumer receiving each document.
+     */
+    @Override
+    public void streamTreasures(@NotNull Consumer<Document> consumer) {
+        state.streamTreasures(consumer);
+    }
+
+    /**
+     * Saves a clue and logs it.
+     *
+     * @param treasureName The name of the associated treasure.
+     * @param clue The clue to save.
+     */
+    @Override
+    public synchronized void saveClue(@NotNull String treasureName, @NotNull Clue clue) {
+        state.saveClue(treasureName, clue);
+        append(StorageRecords.saveClue(treasureName, clue));
+    }
+
+    /**
+     * Saves a batch of clues and logs each of them.
+     *
+     * @param clues The clues to save, with their treasure names.
+     */
+    @Override
+    public synchronized void saveClues(@NotNull List<ClueEntry> clues) {
+        clues.forEach(entry -> saveClue(entry.treasureName(), entry.clue()));
+    }
+
+    /**
+     * Saves the prerequisites of a clue and logs them.
+     *
+     * @param treasureName The name of the associated treasure.
+     * @param description The clue description.
+     * @param requires The descriptions of the clues it requires.
+     */
+    @Override
+    public synchronized void saveClueRequirements(@NotNull String treasureName, @NotNull String description,
+                                                  @NotNull List<String> requires) {
+        state.saveClueRequirements(treasureName, description, requires);
+        append(StorageRecords.saveClueRequirements(treasureName, description, requires));
+    }
+
+    /**
+     * Deletes all clues of a treasure with the progress on them, and logs the delete.
+     *
+     * @param treasureName The name of the treasure.
+     */
+    @Override
+    public synchronized void deleteClues(@NotNull String treasureName) {
+        state.deleteClues(treasureName);
+        append(StorageRecords.deleteClues(treasureName));
+    }
+
+    /**
+     * Streams copies of the stored clue documents.
+     *
+     * @param consumer The consumer receiving each document.
+     */
+    @Override
+    public void streamClues(@NotNull Consumer<Document> consumer) {
+        state.streamClues(consumer);
+    }
+
+    /**
+     * Records that a player found a treasure and logs it.
+     *
+     * @param playerId The UUID of the player.
+     * @param treasureName The name of the treasure.
+     */
+    @Override
+    public synchronized void savePlayerProgress(@NotNull UUID playerId, @NotNull String treasureName) {
+        state.savePlayerProgress(playerId, treasureName);
+        append(StorageRecords.saveProgress(playerId, treasureName, null));
+    }
+
+    /**
+     * Records that a player solved a clue and logs it.
+     *
+     * @param playerId The UUID of the player.
+     * @param treasureName The name of the treasure.
+     * @param clueDescription The description of the clue.
+     */
+    @Override
+    public synchronized void saveClueProgress(@NotNull UUID playerId, @NotNull String treasureName, @NotNull String clueDescription) {
+        state.saveClueProgress(playerId, treasureName, clueDescription);
+        append(StorageRecords.saveProgress(playerId, treasureName, clueDescription));
+    }
+
+    /**
+     * Saves a team and logs it.
+     *
+     * @param team The team to save.
+     */
+    @Override
+    public synchronized void saveTeam(@NotNull Team team) {
+        state.saveTeam(team);
+        append(StorageRecords.saveTeam(team, playerNameCache));
+    }
+
+    /**
+     * Deletes a team and logs the delete.
+     *
+     * @param name The name of the team to delete.
+     */
+    @Override
+    public synchronized void deleteTeam(@NotNull String name) {
+        state.deleteTeam(name);
+        append(StorageRecords.deleteTeam(name));
+    }
+
+    /**
+     * Builds the stored teams.
+     *
+     * @return The loaded teams.
+     */
+    @Override
+    public List<Team> loadTeams() {
+        return state.loadTeams();
+    }
+
+    /**
+     * Syncs the remaining changes and closes the log.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            log.close();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Failed to close the storage log", e);
+        }
+    }
+
+    /**
+     * Appends a record to the log, compacting once the log has grown past the threshold.
+     *
+     * @param record The record.
+     */
+    private void append(@NotNull Document record) {
+        log.append(record);
+        appended.increment();
+        if (log.size() >= compactAt) {
+            compact();
+        }
+    }
+
+    /**
+     * Writes the current state to a new snapshot, swaps it in and empties the log. On failure the log is kept and
+     * the next attempt waits until it has grown by another threshold.
+     */
+    private void compact() {
+        long start = System.nanoTime();
+        long next = generation + 1;
+        Path temporary = directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try {
+            AppendLog.write(temporary, snapshot -> {
+                snapshot.accept(StorageRecords.header(next));
+                state.writeRecords(snapshot);
+            });
+            Files.move(temporary, directory.resolve(SNAPSHOT_FILE), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            log.reset();
+            log.append(StorageRecords.header(next));
+            log.force();
+            generation = next;
+            compactAt = compactBytes;
+        } catch (IOException | UncheckedIOException e) {
+            logger.log(Level.WARNING, "Failed to compact the storage log; keeping the log", e);
+            compactAt = log.size() + compactBytes;
+        } finally {
+            compactions.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Applies the records of a snapshot or log to the in-memory state, skipping a file of an older generation.
+     */
+    private final class Replay implements Consumer<Document> {
+        private final long minGeneration;
+        private long generation = -1;
+        private boolean stale;
+        private int applied;
+
+        /**
+         * Creates a replay that skips files older than a generation.
+         *
+         * @param minGeneration The oldest generation to apply.
+         */
+        private Replay(long minGeneration) {
+            this.minGeneration = minGeneration;
+        }
+
+        /**
+         * Applies a record, or reads the generation from a header record.
+         *
+         * @param record The record.
+         */
+        @Override
+        public void accept(@NotNull Document record) {
+            if (StorageRecords.HEADER.equals(record.getString("op"))) {
+                generation = record.get("generation", Number.class).longValue();
+                stale = generation < minGeneration;
+                return;
+            }
+            if (stale) return;
+            StorageRecords.apply(record, state, playerNameCache, logger);
+            applied++;
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package gg.kite.managers;
+
+import com.google.inject.Inject;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.util.Vector;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Level;
+
+/**
+ * Draws particles at the clues players can solve next in the treasures they are hunting.
+ * <p>
+ * Every tick the renderer is queued as housekeeping on the {@link TickScheduler}, so it counts against
+ * {@code scheduler.tick-budget-millis} and skips ticks whose budget is already spent. Each run takes players from a round-robin queue of hunting players, so each player is drawn for at
+ * most once per {@code particles.player-interval-ticks}. Candidates come from the clue grid cells around the player
+ * and are culled to the player's hunt, the view distance and the player's field of view. Each visible clue is one
+ * player-only particle packet, and a tick stops once {@code particles.max-per-tick} packets have been sent.
+ */
+public class ParticleRenderer implements Runnable {
+    private final JavaPlugin plugin;
+    private final TickScheduler scheduler;
+    private final TreasureManager treasureManager;
+    private final boolean enabled;
+    private final Particle particle;
+    private final int particleCount;
+    private final double viewDistance;
+    private final double minDotProduct;
+    private final int playerIntervalTicks;
+    private final int maxPerPlayer;
+    private final int maxPerTick;
+    private final ArrayDeque<UUID> queue;
+    private int playersPerTick;
+    private int budget;
+    private int playerBudget;
+    private boolean runScheduled;
+
+    /**
+     * Constructs a ParticleRenderer from the {@code particles} configuration section.
+     *
+     * @param plugin The plugin instance used for scheduling and logging.
+     * @param scheduler The scheduler that runs the drawing.
+     * @param treasureManager The treasure manager providing hunts and the clue index.
+     * @param config The plugin configuration.
+     */
+    @Inject
+    public ParticleRenderer(@NotNull JavaPlugin plugin, @NotNull TickScheduler scheduler, @NotNull TreasureManager treasureManager,
+                            @NotNull FileConfiguration config) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.treasureManager = treasureManager;
+        this.enabled = config.getBoolean("particles.enabled", false);
+        this.particle = parseParticle(plugin, config.getString("particles.type", "HAPPY_VILLAGER"));
+        this.particleCount = Math.max(1, config.getInt("particles.count", 6));
+        this.viewDistance = Math.max(1, config.getDouble("particles.view-distance", 32.0));
+        double fieldOfView = Math.min(360, Math.max(1, config.getDouble("particles.field-of-view", 140.0)));
+        this.minDotProduct = Math.cos(Math.toRadians(fieldOfView / 2));
+        this.playerIntervalTicks = Math.max(1, config.getInt("particles.player-interval-ticks", 10));
+        this.maxPerPlayer = Math.max(1, config.getInt("particles.max-per-player", 8));
+        this.maxPerTick = Math.max(1, config.getInt("particles.max-per-tick", 200));
+        this.queue = new ArrayDeque<>();
+    }
+
+    /**
+     * Resolves the configured particle type, falling back to happy villager particles.
+     *
+     * @param plugin The plugin instance for logging.
+     * @param name The particle name.
+     * @return The particle type.
+     */
+    private static Particle parseParticle(@NotNull JavaPlugin plugin, @NotNull String name) {
+        try {
+            return Particle.valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().log(Level.WARNING, "Unknown particle type {0}, using HAPPY_VILLAGER", name);
+            return Particle.HAPPY_VILLAGER;
+        }
+    }
+
+    /**
+     * Schedules the renderer every tick if particles are enabled. Each tick queues one run as housekeeping, unless the
+     * previous one is still waiting.
+     */
+    public void start() {
+        if (enabled) {
+            Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+                if (runScheduled) return;
+                runScheduled = true;
+                scheduler.submit(TickScheduler.Priority.HOUSEKEEPING, () -> {
+                    runScheduled = false;
+                    run();
+                });
+            }, 1, 1);
+        }
+    }
+
+    /**
+     * Draws the next share of hunting players, refilling the queue once every player has had a turn.
+     */
+    @Override
+    public void run() {
+        if (queue.isEmpty()) {
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                if (treasureManager.getActiveSession(player.getUniqueId()) != null) {
+                    queue.add(player.getUniqueId());
+                }
+            }
+            playersPerTick = Math.max(1, (queue.size() + playerIntervalTicks - 1) / playerIntervalTicks);
+        }
+        budget = maxPerTick;
+        for (int i = 0; i < playersPerTick && budget > 0 && !queue.isEmpty(); i++) {
+            Player player = Bukkit.getPlayer(queue.poll());
+            if (player != null) {
+                render(player);
+            }
+        }
+    }
+
+    /**
+     * Draws the unlocked, unsolved clues of a player's hunt that lie within view.
+     *
+     * @param player The player.
+     */
+    private void render(@NotNull Player player) {
+        UUID playerId = player.getUniqueId();
+        HuntSession session = treasureManager.getActiveSession(playerId);
+        if (session == null) return;
+        PlayerProgress progress = treasureManager.getPlayerProgress(playerId);
+        Location eye = player.getEyeLocation();
+        Vector facing = eye.getDirection();
+        playerBudget = Math.min(maxPerPlayer, budget);
+        treasureManager.forEachClueNear(eye, viewDistance, entry -> {
+            if (playerBudget <= 0 || !session.contains(entry.treasureName())) return;
+            if (!treasureManager.isOnFrontier(progress, entry)) return;
+            Location location = entry.clue().location();
+            Vector toClue = location.toVector().subtract(eye.toVector());
+            double length = toClue.length();
+            if (length > 2 && toClue.dot(facing) / length < minDotProduct) return;
+            player.spawnParticle(particle, location.getX(), location.getY() + 0.5, location.getZ(),
+                    particleCount, 0.3, 0.3, 0.3, 0);
+            playerBudget--;
+            budget--;
+        });
+    }
+}
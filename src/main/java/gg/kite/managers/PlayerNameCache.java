@@ -0,0 +1,70 @@
+package gg.kite.managers;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory cache of player names by UUID, filled on join and from persisted team documents,
+ * so listings never resolve offline players through the server's user cache.
+ */
+public class PlayerNameCache {
+    private final ConcurrentHashMap<UUID, String> names;
+
+    /**
+     * Constructs an empty PlayerNameCache.
+     */
+    public PlayerNameCache() {
+        this.names = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Records the name of a player.
+     *
+     * @param playerId The player's UUID.
+     * @param name The player's name.
+     */
+    public void remember(@NotNull UUID playerId, @NotNull String name) {
+        names.put(playerId, name);
+    }
+
+    /**
+     * Records all names from a map of UUID strings to names, as stored with team documents.
+     *
+     * @param storedNames The stored names keyed by UUID string.
+     */
+    public void rememberAll(@NotNull Map<String, Object> storedNames) {
+        storedNames.forEach((id, name) -> {
+            if (name instanceof String playerName) {
+                try {
+                    names.putIfAbsent(UUID.fromString(id), playerName);
+                } catch (IllegalArgumentException ignored) {
+                }
+            }
+        });
+    }
+
+    /**
+     * Gets the cached name of a player.
+     *
+     * @param playerId The player's UUID.
+     * @return The cached name, or null if unknown.
+     */
+    public @Nullable String getName(@NotNull UUID playerId) {
+        return names.get(playerId);
+    }
+
+    /**
+     * Gets the cached name of a player, falling back to the start of the UUID if unknown.
+     *
+     * @param playerId The player's UUID.
+     * @return The display name.
+     */
+    public @NotNull String getDisplayName(@NotNull UUID playerId) {
+        String name = names.get(playerId);
+        return name != null ? name : playerId.toString().substring(0, 8);
+    }
+}
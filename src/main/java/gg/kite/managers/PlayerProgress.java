@@ -0,0 +1,150 @@
+package gg.kite.managers;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A player's hunt progress, with solved clues grouped by treasure so per-treasure counts need no string parsing.
+ */
+public class PlayerProgress {
+    private final ConcurrentHashMap<String, Set<String>> solvedClues;
+    private final ConcurrentHashMap<String, Long> solvedMasks;
+    private final Set<String> foundTreasures;
+    private final AtomicInteger totalSolved;
+
+    /**
+     * Constructs an empty PlayerProgress.
+     */
+    public PlayerProgress() {
+        this.solvedClues = new ConcurrentHashMap<>();
+        this.solvedMasks = new ConcurrentHashMap<>();
+        this.foundTreasures = ConcurrentHashMap.newKeySet();
+        this.totalSolved = new AtomicInteger();
+    }
+
+    /**
+     * Records a solved clue.
+     *
+     * @param treasureName The treasure name.
+     * @param clueDescription The clue description.
+     * @param clueIndex The clue's position in its treasure, setting its bit in the solved mask.
+     * @return True if the clue was not already solved.
+     */
+    public boolean markClueSolved(@NotNull String treasureName, @NotNull String clueDescription, int clueIndex) {
+        if (solvedClues.computeIfAbsent(treasureName, k -> ConcurrentHashMap.newKeySet()).add(clueDescription)) {
+            solvedMasks.merge(treasureName, 1L << clueIndex, (a, b) -> a | b);
+            totalSolved.incrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the positions of the solved clues of a treasure as a bitmask.
+     *
+     * @param treasureName The treasure name.
+     * @return The solved mask.
+     */
+    public long getSolvedMask(@NotNull String treasureName) {
+        return solvedMasks.getOrDefault(treasureName, 0L);
+    }
+
+    /**
+     * Checks whether a clue has been solved.
+     *
+     * @param treasureName The treasure name.
+     * @param clueDescription The clue description.
+     * @return True if solved.
+     */
+    public boolean isClueSolved(@NotNull String treasureName, @NotNull String clueDescription) {
+        Set<String> solved = solvedClues.get(treasureName);
+        return solved != null && solved.contains(clueDescription);
+    }
+
+    /**
+     * Gets the number of solved clues for a treasure.
+     *
+     * @param treasureName The treasure name.
+     * @return The number of solved clues.
+     */
+    public int getSolvedCount(@NotNull String treasureName) {
+        Set<String> solved = solvedClues.get(treasureName);
+        return solved != null ? solved.size() : 0;
+    }
+
+    /**
+     * Records a found treasure.
+     *
+     * @param treasureName The treasure name.
+     * @return True if the treasure was not already found.
+     */
+    public boolean markTreasureFound(@NotNull String treasureName) {
+        return foundTreasures.add(treasureName);
+    }
+
+    /**
+     * Checks whether a treasure has been found.
+     *
+     * @param treasureName The treasure name.
+     * @return True if found.
+     */
+    public boolean hasFoundTreasure(@NotNull String treasureName) {
+        return foundTreasures.contains(treasureName);
+    }
+
+    /**
+     * Gets the total number of solved clues across all treasures.
+     *
+     * @return The number of solved clues.
+     */
+    public int getTotalSolved() {
+        return totalSolved.get();
+    }
+
+    /**
+     * Gets the total number of found treasures.
+     *
+     * @return The number of found treasures.
+     */
+    public int getTotalFound() {
+        return foundTreasures.size();
+    }
+
+    /**
+     * Gets the names of treasures with any solved clue or found, in name order.
+     *
+     * @return A sorted set of treasure names.
+     */
+    public Set<String> getTouchedTreasures() {
+        Set<String> touched = new TreeSet<>(solvedClues.keySet());
+        touched.addAll(foundTreasures);
+        return touched;
+    }
+
+    /**
+     * Drops all solved clues for a treasure, for example after its clues were deleted.
+     *
+     * @param treasureName The treasure name.
+     */
+    public void forgetClues(@NotNull String treasureName) {
+        solvedMasks.remove(treasureName);
+        Set<String> removed = solvedClues.remove(treasureName);
+        if (removed != null) {
+            totalSolved.addAndGet(-removed.size());
+        }
+    }
+
+    /**
+     * Drops all progress for a treasure, for example after it was deleted.
+     *
+     * @param treasureName The treasure name.
+     */
+    public void forgetTreasure(@NotNull String treasureName) {
+        forgetClues(treasureName);
+        foundTreasures.remove(treasureName);
+    }
+}
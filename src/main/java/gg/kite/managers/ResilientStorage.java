@@ -0,0 +1,442 @@
+package gg.kite.managers;
+
+import com.google.inject.Inject;
+import com.mongodb.MongoConnectionPoolClearedException;
+import com.mongodb.MongoExecutionTimeoutException;
+import com.mongodb.MongoNodeIsRecoveringException;
+import com.mongodb.MongoNotPrimaryException;
+import com.mongodb.MongoSocketException;
+import com.mongodb.MongoTimeoutException;
+import gg.kite.metrics.Metrics;
+import org.bson.Document;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Circuit breaker around a {@link Storage} that can become unreachable, such as MongoDB.
+ * <p>
+ * While the breaker is closed, writes go straight to the storage. The first write that fails because the storage
+ * cannot be reached or timed out trips it: that write and every later one is appended to a local journal, an
+ * {@link AppendLog} of {@link StorageRecords}, and returns at once, so gameplay carries on from memory. Other failures,
+ * which retrying cannot fix, are thrown to the caller as before. Every {@code storage.breaker.recovery-interval-millis}
+ * the journal is replayed in order; once all of it has been written the journal is emptied and the breaker closes. A
+ * replay interrupted by the storage becoming unavailable again resumes after the last record written, and repeating a
+ * record is harmless since every write replaces by key. A record the storage rejects for any other reason is logged
+ * and skipped. A journal left over from a previous run is replayed before anything is loaded.
+ * <p>
+ * The replay holds no lock while it writes to the storage, so gameplay writes made meanwhile keep being journaled
+ * behind it instead of waiting for it. The breaker closes once a pass finds nothing left after the records it wrote;
+ * if writes keep arriving, it stops after a few passes and tries again at the next interval.
+ * <p>
+ * How long a failing write takes is bounded by the client's timeouts, which {@code storage.breaker.trip-after-millis}
+ * sets for MongoDB. Reads cannot be served from the journal, so they fail immediately while the breaker is open.
+ */
+public class ResilientStorage implements Storage {
+    private static final int MAX_REPLAY_PASSES = 4;
+
+    private final Storage delegate;
+    private final PlayerNameCache playerNameCache;
+    private final Path journalFile;
+    private final Logger logger;
+    private final AppendLog journal;
+    private final ScheduledExecutorService recovery;
+    private final LongAdder trips;
+    private final LongAdder journaledWrites;
+    private final LongAdder replayedWrites;
+    private final LongAdder skippedWrites;
+    private final Object replayLock = new Object();
+    private volatile long journaled;
+    private long replayed;
+
+    /**
+     * Constructs a ResilientStorage around the MongoDB storage from the {@code storage.breaker} configuration section.
+     *
+     * @param mongo The MongoDB storage.
+     * @param playerNameCache The cache of member names stored with teams.
+     * @param config The plugin configuration.
+     * @param plugin The plugin instance, providing the data folder and the logger.
+     * @param metrics The metrics registry receiving trip and journal counts.
+     * @throws UncheckedIOException if the journal cannot be opened.
+     */
+    @Inject
+    public ResilientStorage(@NotNull DatabaseManager mongo, @NotNull PlayerNameCache playerNameCache,
+                            @NotNull FileConfiguration config, @NotNull JavaPlugin plugin, @NotNull Metrics metrics) {
+        this(mongo, playerNameCache,
+                plugin.getDataFolder().toPath().resolve(config.getString("storage.breaker.journal-file", "journal/mongodb.log")),
+                (int) (Math.max(1, config.getInt("storage.log.window-megabytes", 16)) * 1024L * 1024L),
+                Math.max(0, config.getLong("storage.log.sync-interval-millis", 20)),
+                Math.max(100, config.getLong("storage.breaker.recovery-interval-millis", 10000)),
+                metrics, plugin.getLogger());
+    }
+
+    /**
+     * Constructs a ResilientStorage with explicit settings, for use outside a running server.
+     *
+     * @param delegate The storage to guard.
+     * @param playerNameCache The cache of member names stored with teams.
+     * @param journalFile The journal file.
+     * @param windowBytes The size of each mapped window of the journal.
+     * @param syncIntervalMillis The interval between journal syncs, or 0 to sync only on close.
+     * @param recoveryMillis The interval between replay attempts while the breaker is open.
+     * @param metrics The metrics registry receiving trip and journal counts.
+     * @param logger The logger for trips and recoveries.
+     * @throws UncheckedIOException if the journal cannot be opened.
+     */
+    public ResilientStorage(@NotNull Storage delegate, @NotNull PlayerNameCache playerNameCache, @NotNull Path journalFile,
+                            int windowBytes, long syncIntervalMillis, long recoveryMillis, @NotNull Metrics metrics,
+                            @NotNull Logger logger) {
+        this.delegate = delegate;
+        this.playerNameCache = playerNameCache;
+        this.journalFile = journalFile;
+        this.logger = logger;
+        this.trips = metrics.counter("storage.breaker.trips");
+        this.journaledWrites = metrics.counter("storage.breaker.journaled");
+        this.replayedWrites = metrics.counter("storage.breaker.replayed");
+        this.skippedWrites = metrics.counter("storage.breaker.skipped");
+        long[] existing = {0};
+        try {
+            this.journal = new AppendLog(journalFile, windowBytes, syncIntervalMillis, logger, record -> existing[0]++);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.journaled = existing[0];
+        if (journaled > 0) {
+            logger.info("Replaying " + journaled + " write(s) journaled while MongoDB was unavailable.");
+            recover();
+        }
+        this.recovery = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TreasureHunt-Storage-Recovery");
+            thread.setDaemon(true);
+            return thread;
+        });
+        recovery.scheduleWithFixedDelay(this::recover, recoveryMillis, recoveryMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Checks whether writes are being journaled.
+     *
+     * @return True if the breaker is open.
+     */
+    public boolean isTripped() {
+        return journaled > 0;
+    }
+
+    /**
+     * Gets the number of writes waiting in the journal.
+     *
+     * @return The number of journaled writes.
+     */
+    public long getJournaled() {
+        return journaled;
+    }
+
+    /**
+     * Checks whether a failure means the storage could not be reached or did not answer in time, as opposed to a
+     * failure that would repeat on every retry.
+     *
+     * @param e The failure.
+     * @return True if the failure, or one of its causes, is a connection or timeout failure.
+     */
+    static boolean isUnavailable(@NotNull Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoSocketException || cause instanceof MongoTimeoutException
+                    || cause instanceof MongoExecutionTimeoutException || cause instanceof MongoConnectionPoolClearedException
+                    || cause instanceof MongoNotPrimaryException || cause instanceof MongoNodeIsRecoveringException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes through to the storage while the breaker is closed, and journals the write otherwise or if the storage
+     * is unavailable.
+     *
+     * @param records Builds the journal records describing the write.
+     * @param write The write to the storage.
+     * @throws RuntimeException if the breaker is closed and the write fails for a reason other than unavailability.
+     */
+    private synchronized void write(@NotNull Supplier<List<Document>> records, @NotNull Runnable write) {
+        if (journaled == 0) {
+            try {
+                write.run();
+                return;
+            } catch (RuntimeException e) {
+                if (!isUnavailable(e)) throw e;
+                trips.increment();
+                logger.warning("Storage write failed, journaling writes to " + journalFile + " until it recovers: " + e);
+            }
+        }
+        for (Document record : records.get()) {
+            journal.append(record);
+            journaled++;
+            journaledWrites.increment();
+        }
+    }
+
+    /**
+     * Replays the journal from the first record not yet written, closing the breaker once all of it is written.
+     * Records are written without holding this storage's lock, so writes made meanwhile are journaled after them;
+     * the journal is only emptied, under the lock, once a pass has caught up with every journaled write. Records the
+     * storage rejects for reasons other than unavailability are logged and skipped. Any failure leaves the breaker
+     * open until the next attempt; none is thrown, so the recovery schedule keeps running.
+     */
+    void recover() {
+        synchronized (replayLock) {
+            try {
+                for (int pass = 0; pass < MAX_REPLAY_PASSES; pass++) {
+                    if (journaled == 0) return;
+                    journal.force();
+                    long[] position = {0};
+                    // Records being appended while this reads fail their checksum and end the pass; the next pass gets them.
+                    AppendLog.read(journalFile, record -> {
+                        if (position[0]++ < replayed) return;
+                        try {
+                            StorageRecords.apply(record, delegate, playerNameCache, logger);
+                            replayedWrites.increment();
+                        } catch (RuntimeException e) {
+                            if (isUnavailable(e)) throw e;
+                            skippedWrites.increment();
+                            logger.log(Level.WARNING, "Skipping journaled " + record.getString("op") + " write the storage rejected", e);
+                        }
+                        replayed++;
+                    });
+                    synchronized (this) {
+                        if (replayed >= journaled) {
+                            journal.reset();
+                            logger.info("Storage recovered; replayed " + replayed + " journaled write(s).");
+                            journaled = 0;
+                            replayed = 0;
+                            return;
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                if (isUnavailable(e)) {
+                    logger.log(Level.FINE, "Storage is still unavailable", e);
+                } else {
+                    logger.log(Level.WARNING, "Failed to replay the storage journal; retrying", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fails a read while the breaker is open, since the storage lacks the journaled writes.
+     *
+     * @throws IllegalStateException if the breaker is open.
+     */
+    private void checkAvailable() {
+        if (journaled > 0) {
+            throw new IllegalStateException("Storage is unavailable; " + journaled + " write(s) are waiting in the journal");
+        }
+    }
+
+    /**
+     * Saves a treasure, or journals it while the storage is unavailable.
+     *
+     * @param treasure The treasure to save.
+     */
+    @Override
+    public void saveTreasure(@NotNull Treasure treasure) {
+        write(() -> List.of(StorageRecords.saveTreasure(treasure)), () -> delegate.saveTreasure(treasure));
+    }
+
+    /**
+     * Saves a batch of treasures, or journals each of them while the storage is unavailable.
+     *
+     * @param treasures The treasures to save.
+     */
+    @Override
+    public void saveTreasures(@NotNull List<Treasure> treasures) {
+        write(() -> treasures.stream().map(StorageRecords::saveTreasure).toList(), () -> delegate.saveTreasures(treasures));
+    }
+
+    /**
+     * Deletes a treasure, or journals the delete while the storage is unavailable.
+     *
+     * @param name The name of the treasure to delete.
+     */
+    @Override
+    public void deleteTreasure(@NotNull String name) {
+        write(() -> List.of(StorageRecords.deleteTreasure(name)), () -> delegate.deleteTreasure(name));
+    }
+
+    /**
+     * Loads all treasures from the storage.
+     *
+     * @return The loaded treasures.
+     * @throws IllegalStateException if the breaker is open.
+     */
+    @Override
+    public List<Treasure> loadTreasures() {
+        checkAvailable();
+        return delegate.loadTreasures();
+    }
+
+    /**
+     * Streams every stored treasure document from the storage.
+     *
+     * @param consumer The consumer receiving each document.
+     * @throws IllegalStateException if the breaker is open.
+     */
+    @Override
+    public void streamTreasures(@NotNull Consumer<Document> consumer) {
+        checkAvailable();
+        delegate.streamTreasures(consumer);
+    }
+
+    /**
+     * Saves a clue, or journals it while the storage is unavailable.
+     *
+     * @param treasureName The name of the associated treasure.
+     * @param clue The clue to save.
+     */
+    @Override
+    public void saveClue(@NotNull String treasureName, @NotNull Clue clue) {
+        write(() -> List.of(StorageRecords.saveClue(treasureName, clue)), () -> delegate.saveClue(treasureName, clue));
+    }
+
+    /**
+     * Saves a batch of clues, or journals each of them while the storage is unavailable.
+     *
+     * @param clues The clues to save, with their treasure names.
+     */
+    @Override
+    public void saveClues(@NotNull List<ClueEntry> clues) {
+        write(() -> {
+            List<Document> records = new ArrayList<>(clues.size());
+            clues.forEach(entry -> records.add(StorageRecords.saveClue(entry.treasureName(), entry.clue())));
+            return records;
+        }, () -> delegate.saveClues(clues));
+    }
+
+    /**
+     * Saves the prerequisites of a clue, or journals them while the storage is unavailable.
+     *
+     * @param treasureName The name of the associated treasure.
+     * @param description The clue description.
+     * @param requires The descriptions of the clues it requires.
+     */
+    @Override
+    public void saveClueRequirements(@NotNull String treasureName, @NotNull String description, @NotNull List<String> requires) {
+        write(() -> List.of(StorageRecords.saveClueRequirements(treasureName, description, requires)),
+                () -> delegate.saveClueRequirements(treasureName, description, requires));
+    }
+
+    /**
+     * Deletes all clues of a treasure, or journals the delete while the storage is unavailable.
+     *
+     * @param treasureName The name of the treasure.
+     */
+    @Override
+    public void deleteClues(@NotNull String treasureName) {
+        write(() -> List.of(StorageRecords.deleteClues(treasureName)), () -> delegate.deleteClues(treasureName));
+    }
+
+    /**
+     * Streams every stored clue document from the storage.
+     *
+     * @param consumer The consumer receiving each document.
+     * @throws IllegalStateException if the breaker is open.
+     */
+    @Override
+    public void streamClues(@NotNull Consumer<Document> consumer) {
+        checkAvailable();
+        delegate.streamClues(consumer);
+    }
+
+    /**
+     * Records that a player found a treasure, or journals it while the storage is unavailable.
+     *
+     * @param playerId The UUID of the player.
+     * @param treasureName The name of the treasure.
+     */
+    @Override
+    public void savePlayerProgress(@NotNull UUID playerId, @NotNull String treasureName) {
+        write(() -> List.of(StorageRecords.saveProgress(playerId, treasureName, null)),
+                () -> delegate.savePlayerProgress(playerId, treasureName));
+    }
+
+    /**
+     * Records that a player solved a clue, or journals it while the storage is unavailable.
+     *
+     * @param playerId The UUID of the player.
+     * @param treasureName The name of the treasure.
+     * @param clueDescription The description of the clue.
+     */
+    @Override
+    public void saveClueProgress(@NotNull UUID playerId, @NotNull String treasureName, @NotNull String clueDescription) {
+        write(() -> List.of(StorageRecords.saveProgress(playerId, treasureName, clueDescription)),
+                () -> delegate.saveClueProgress(playerId, treasureName, clueDescription));
+    }
+
+    /**
+     * Saves a team, or journals it while the storage is unavailable.
+     *
+     * @param team The team to save.
+     */
+    @Override
+    public void saveTeam(@NotNull Team team) {
+        write(() -> List.of(StorageRecords.saveTeam(team, playerNameCache)), () -> delegate.saveTeam(team));
+    }
+
+    /**
+     * Deletes a team, or journals the delete while the storage is unavailable.
+     *
+     * @param name The name of the team to delete.
+     */
+    @Override
+    public void deleteTeam(@NotNull String name) {
+        write(() -> List.of(StorageRecords.deleteTeam(name)), () -> delegate.deleteTeam(name));
+    }
+
+    /**
+     * Loads all teams from the storage.
+     *
+     * @return The loaded teams.
+     * @throws IllegalStateException if the breaker is open.
+     */
+    @Override
+    public List<Team> loadTeams() {
+        checkAvailable();
+        return delegate.loadTeams();
+    }
+
+    /**
+     * Makes a last replay attempt, then closes the journal and the storage. Writes still journaled are replayed on
+     * the next start.
+     */
+    @Override
+    public void close() {
+        recovery.shutdown();
+        recover();
+        synchronized (this) {
+            if (journaled > 0) {
+                logger.warning(journaled + " storage write(s) remain journaled in " + journalFile + " and will be replayed on the next start.");
+            }
+            try {
+                journal.close();
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Failed to close the storage journal", e);
+            }
+        }
+        delegate.close();
+    }
+}
@@ -0,0 +1,196 @@
+package gg.kite.managers;
+
+import com.google.inject.Inject;
+import gg.kite.config.MessageConfig;
+import gg.kite.events.LeaderboardChangeEvent;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scoreboard.Criteria;
+import org.bukkit.scoreboard.DisplaySlot;
+import org.bukkit.scoreboard.Objective;
+import org.bukkit.scoreboard.Scoreboard;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Shows a competition sidebar with the top teams and the viewer's own team rank.
+ * <p>
+ * Each viewer has a scoreboard whose sidebar lines are fixed, invisible entries with a scoreboard team each; a line's
+ * text is its team's prefix. Leaderboard change events only mark the sidebar dirty, and one update per tick at most
+ * computes the standings once and sends each viewer just the prefixes of the lines whose text changed.
+ */
+public class ScoreboardService implements Listener {
+    private static final LegacyComponentSerializer SERIALIZER = LegacyComponentSerializer.legacySection();
+
+    private final JavaPlugin plugin;
+    private final TickScheduler scheduler;
+    private final TreasureManager treasureManager;
+    private final MessageConfig messageConfig;
+    private final boolean enabled;
+    private final int topTeams;
+    private final Map<UUID, Sidebar> sidebars;
+    private boolean updateScheduled;
+
+    /**
+     * Constructs a ScoreboardService from the {@code scoreboard} configuration section.
+     *
+     * @param plugin The plugin instance used for registering the listener.
+     * @param scheduler The scheduler that runs sidebar updates.
+     * @param treasureManager The treasure manager providing the standings.
+     * @param messageConfig The message configuration for sidebar lines.
+     * @param config The plugin configuration.
+     */
+    @Inject
+    public ScoreboardService(@NotNull JavaPlugin plugin, @NotNull TickScheduler scheduler, @NotNull TreasureManager treasureManager,
+                             @NotNull MessageConfig messageConfig, @NotNull FileConfiguration config) {
+        this.plugin = plugin;
+        this.scheduler = scheduler;
+        this.treasureManager = treasureManager;
+        this.messageConfig = messageConfig;
+        this.enabled = config.getBoolean("scoreboard.enabled", false);
+        this.topTeams = Math.min(13, Math.max(1, config.getInt("scoreboard.top-teams", 5)));
+        this.sidebars = new HashMap<>();
+    }
+
+    /**
+     * Registers the service as a listener if the sidebar is enabled.
+     */
+    public void start() {
+        if (enabled) {
+            Bukkit.getPluginManager().registerEvents(this, plugin);
+        }
+    }
+
+    /**
+     * Marks the sidebar dirty when the standings change.
+     *
+     * @param event The leaderboard change event.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onLeaderboardChange(@NotNull LeaderboardChangeEvent event) {
+        scheduleUpdate();
+    }
+
+    /**
+     * Shows the sidebar to a joining player during a competition.
+     *
+     * @param event The player join event.
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(@NotNull PlayerJoinEvent event) {
+        if (treasureManager.isCompetitionActive()) {
+            scheduleUpdate();
+        }
+    }
+
+    /**
+     * Forgets the sidebar of a leaving player.
+     *
+     * @param event The player quit event.
+     */
+    @EventHandler
+    public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        sidebars.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Queues an update as housekeeping unless one is already pending, merging bursts of changes.
+     */
+    private void scheduleUpdate() {
+        if (updateScheduled) return;
+        updateScheduled = true;
+        scheduler.submit(TickScheduler.Priority.HOUSEKEEPING, () -> {
+            updateScheduled = false;
+            update();
+        });
+    }
+
+    /**
+     * Computes the standings once and sends each viewer the lines that changed.
+     */
+    private void update() {
+        if (!treasureManager.isCompetitionActive()) return;
+        List<Team> ranked = treasureManager.getRankedTeams();
+        String[] shared = new String[topTeams + 1];
+        for (int i = 0; i < topTeams; i++) {
+            shared[i] = i < ranked.size()
+                    ? messageConfig.getMessage("scoreboard-line", "%r", String.valueOf(i + 1),
+                            "%n", ranked.get(i).getName(), "%s", String.valueOf(ranked.get(i).getScore()))
+                    : "";
+        }
+        Map<UUID, String> ownLines = new HashMap<>();
+        for (int i = 0; i < ranked.size(); i++) {
+            String line = messageConfig.getMessage("scoreboard-own", "%r", String.valueOf(i + 1),
+                    "%s", String.valueOf(ranked.get(i).getScore()));
+            for (UUID member : ranked.get(i).getMembers()) {
+                ownLines.putIfAbsent(member, line);
+            }
+        }
+        String noTeam = messageConfig.getMessage("scoreboard-no-team");
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Sidebar sidebar = sidebars.computeIfAbsent(player.getUniqueId(), k -> createSidebar(player));
+            shared[topTeams] = ownLines.getOrDefault(player.getUniqueId(), noTeam);
+            sidebar.apply(shared);
+        }
+    }
+
+    /**
+     * Creates a viewer's scoreboard with an empty sidebar and shows it to them.
+     *
+     * @param player The viewer.
+     * @return The viewer's sidebar.
+     */
+    private Sidebar createSidebar(@NotNull Player player) {
+        Scoreboard scoreboard = Bukkit.getScoreboardManager().getNewScoreboard();
+        Objective objective = scoreboard.registerNewObjective("treasurehunt", Criteria.DUMMY,
+                SERIALIZER.deserialize(messageConfig.getMessage("scoreboard-title")));
+        objective.setDisplaySlot(DisplaySlot.SIDEBAR);
+        int lines = topTeams + 1;
+        org.bukkit.scoreboard.Team[] teams = new org.bukkit.scoreboard.Team[lines];
+        ChatColor[] colors = ChatColor.values();
+        for (int i = 0; i < lines; i++) {
+            // Each line is an invisible, unique colour code whose team prefix carries the visible text.
+            String entry = colors[i].toString();
+            teams[i] = scoreboard.registerNewTeam("th_line_" + i);
+            teams[i].addEntry(entry);
+            objective.getScore(entry).setScore(lines - i);
+        }
+        player.setScoreboard(scoreboard);
+        return new Sidebar(teams, new String[lines]);
+    }
+
+    /**
+     * A viewer's sidebar: the scoreboard team of each line and the text last sent for it.
+     *
+     * @param teams The scoreboard team of each line.
+     * @param sent The text last sent for each line.
+     */
+    private record Sidebar(org.bukkit.scoreboard.Team[] teams, String[] sent) {
+        /**
+         * Sends the lines whose text differs from what the viewer already has.
+         *
+         * @param lines The new text of every line.
+         */
+        void apply(String @NotNull [] lines) {
+            for (int i = 0; i < teams.length; i++) {
+                if (!lines[i].equals(sent[i])) {
+                    teams[i].prefix(SERIALIZER.deserialize(lines[i]));
+                    sent[i] = lines[i];
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,375 @@
+package gg.kite.managers;
+
+import org.bukkit.Location;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Chunk-grid spatial index mapping each world's chunks to the values located in them.
+ * Lookups only visit the chunks overlapping the search radius, so their cost scales with local density.
+ * <p>
+ * Every value lives in the resident grid. Cells of loaded chunks are also shared with the active grid, which the
+ * gameplay lookups ({@link #forEachNear} and {@link #nearest}) use, so their structures scale with the loaded world
+ * rather than with every stored value. Chunks are activated and deactivated as they load and unload; all changes to
+ * a cell and its active state happen inside the resident map's per-key compute, which keeps both grids consistent.
+ * The number of cells of each size is kept alongside, so occupancy statistics never walk the grid.
+ *
+ * @param <T> The indexed value type.
+ */
+public class SpatialIndex<T> {
+    private final Function<T, Location> locator;
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Long, List<T>>> worlds;
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Long, List<T>>> activeWorlds;
+    private final ConcurrentHashMap<String, Set<Long>> loadedChunks;
+    private final AtomicInteger size;
+    private final ConcurrentSkipListMap<Integer, Integer> cellSizes;
+
+    /**
+     * Constructs an empty SpatialIndex.
+     *
+     * @param locator Function returning the location of a value; must be stable while the value is indexed.
+     */
+    public SpatialIndex(@NotNull Function<T, Location> locator) {
+        this.locator = locator;
+        this.worlds = new ConcurrentHashMap<>();
+        this.activeWorlds = new ConcurrentHashMap<>();
+        this.loadedChunks = new ConcurrentHashMap<>();
+        this.size = new AtomicInteger();
+        this.cellSizes = new ConcurrentSkipListMap<>();
+    }
+
+    /**
+     * Adds a value to the index.
+     *
+     * @param value The value to add.
+     */
+    public void add(@NotNull T value) {
+        Location location = locator.apply(value);
+        if (location.getWorld() == null) return;
+        String world = location.getWorld().getName();
+        worlds.computeIfAbsent(world, k -> new ConcurrentHashMap<>())
+                .compute(chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4), (key, cell) -> {
+                    List<T> values = cell != null ? cell : new CopyOnWriteArrayList<>();
+                    values.add(value);
+                    resized(values.size() - 1, values.size());
+                    if (cell == null && isLoaded(world, key)) {
+                        activeWorlds.computeIfAbsent(world, k -> new ConcurrentHashMap<>()).put(key, values);
+                    }
+                    return values;
+                });
+        size.incrementAndGet();
+    }
+
+    /**
+     * Removes a value from the index.
+     *
+     * @param value The value to remove.
+     * @return True if the value was indexed.
+     */
+    public boolean remove(@NotNull T value) {
+        Location location = locator.apply(value);
+        if (location.getWorld() == null) return false;
+        String world = location.getWorld().getName();
+        var cells = worlds.get(world);
+        if (cells == null) return false;
+        boolean[] removed = new boolean[1];
+        cells.computeIfPresent(chunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4), (key, cell) -> {
+            removed[0] = cell.remove(value);
+            if (removed[0]) {
+                resized(cell.size() + 1, cell.size());
+            }
+            if (!cell.isEmpty()) return cell;
+            var active = activeWorlds.get(world);
+            if (active != null) {
+                active.remove(key);
+            }
+            return null;
+        });
+        if (removed[0]) {
+            size.decrementAndGet();
+        }
+        return removed[0];
+    }
+
+    /**
+     * Marks a chunk as loaded, making its values visible to the active lookups.
+     *
+     * @param world The world name.
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     */
+    public void activate(@NotNull String world, int chunkX, int chunkZ) {
+        worlds.computeIfAbsent(world, k -> new ConcurrentHashMap<>()).compute(chunkKey(chunkX, chunkZ), (key, cell) -> {
+            loadedChunks.computeIfAbsent(world, k -> ConcurrentHashMap.newKeySet()).add(key);
+            if (cell != null) {
+                activeWorlds.computeIfAbsent(world, k -> new ConcurrentHashMap<>()).put(key, cell);
+            }
+            return cell;
+        });
+    }
+
+    /**
+     * Marks a chunk as unloaded, hiding its values from the active lookups. They stay resident.
+     *
+     * @param world The world name.
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     */
+    public void deactivate(@NotNull String world, int chunkX, int chunkZ) {
+        var cells = worlds.get(world);
+        if (cells == null) return;
+        cells.compute(chunkKey(chunkX, chunkZ), (key, cell) -> {
+            var loaded = loadedChunks.get(world);
+            if (loaded != null) {
+                loaded.remove(key);
+            }
+            var active = activeWorlds.get(world);
+            if (active != null) {
+                active.remove(key);
+            }
+            return cell;
+        });
+    }
+
+    /**
+     * Drops all values and chunk state of a world, for example when the world unloads.
+     *
+     * @param world The world name.
+     */
+    public void removeWorld(@NotNull String world) {
+        loadedChunks.remove(world);
+        activeWorlds.remove(world);
+        var cells = worlds.remove(world);
+        if (cells != null) {
+            for (List<T> cell : cells.values()) {
+                size.addAndGet(-cell.size());
+                resized(cell.size(), 0);
+            }
+        }
+    }
+
+    /**
+     * Moves a cell between size classes after it grew or shrank. Empty cells are not counted.
+     *
+     * @param from The previous number of values in the cell.
+     * @param to The new number of values in the cell.
+     */
+    private void resized(int from, int to) {
+        if (from > 0) {
+            cellSizes.merge(from, -1, (a, b) -> a + b == 0 ? null : a + b);
+        }
+        if (to > 0) {
+            cellSizes.merge(to, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Checks whether a chunk is marked as loaded.
+     *
+     * @param world The world name.
+     * @param key The packed chunk key.
+     * @return True if loaded.
+     */
+    private boolean isLoaded(@NotNull String world, long key) {
+        var loaded = loadedChunks.get(world);
+        return loaded != null && loaded.contains(key);
+    }
+
+    /**
+     * Invokes an action for every value in a loaded chunk within a radius of a location.
+     *
+     * @param center The search center.
+     * @param radius The search radius in blocks.
+     * @param action The action to invoke.
+     */
+    public void forEachNear(@NotNull Location center, double radius, @NotNull Consumer<T> action) {
+        if (center.getWorld() == null) return;
+        var cells = activeWorlds.get(center.getWorld().getName());
+        if (cells == null) return;
+        double radiusSquared = radius * radius;
+        int minX = (int) Math.floor(center.getX() - radius) >> 4;
+        int maxX = (int) Math.floor(center.getX() + radius) >> 4;
+        int minZ = (int) Math.floor(center.getZ() - radius) >> 4;
+        int maxZ = (int) Math.floor(center.getZ() + radius) >> 4;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                List<T> cell = cells.get(chunkKey(x, z));
+                if (cell == null) continue;
+                for (T value : cell) {
+                    if (distanceSquared(locator.apply(value), center) <= radiusSquared) {
+                        action.accept(value);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the value in a loaded chunk nearest to a location.
+     *
+     * @param center The search center.
+     * @param maxRadius The maximum search radius in blocks.
+     * @param filter The predicate candidates must satisfy.
+     * @return The nearest matching value, or null if none lies within the radius.
+     */
+    public @Nullable T nearest(@NotNull Location center, double maxRadius, @NotNull Predicate<T> filter) {
+        if (center.getWorld() == null) return null;
+        return nearest(activeWorlds.get(center.getWorld().getName()), center, maxRadius, filter);
+    }
+
+    /**
+     * Finds the value nearest to a location, including values in unloaded chunks.
+     *
+     * @param center The search center.
+     * @param maxRadius The maximum search radius in blocks.
+     * @param filter The predicate candidates must satisfy.
+     * @return The nearest matching value, or null if none lies within the radius.
+     */
+    public @Nullable T nearestResident(@NotNull Location center, double maxRadius, @NotNull Predicate<T> filter) {
+        if (center.getWorld() == null) return null;
+        return nearest(worlds.get(center.getWorld().getName()), center, maxRadius, filter);
+    }
+
+    /**
+     * Finds the value nearest to a location in a grid, searching outward ring by ring.
+     *
+     * @param cells The grid of one world, or null if it has none.
+     * @param center The search center.
+     * @param maxRadius The maximum search radius in blocks.
+     * @param filter The predicate candidates must satisfy.
+     * @return The nearest matching value, or null if none lies within the radius.
+     */
+    private @Nullable T nearest(@Nullable ConcurrentHashMap<Long, List<T>> cells, @NotNull Location center,
+                                double maxRadius, @NotNull Predicate<T> filter) {
+        if (cells == null) return null;
+        int centerX = center.getBlockX() >> 4;
+        int centerZ = center.getBlockZ() >> 4;
+        int maxRing = (int) Math.ceil(maxRadius / 16.0);
+        T best = null;
+        double bestDistanceSquared = maxRadius * maxRadius;
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (best != null) {
+                double ringDistance = (ring - 1) * 16.0;
+                if (ringDistance > 0 && ringDistance * ringDistance > bestDistanceSquared) break;
+            }
+            for (int x = centerX - ring; x <= centerX + ring; x++) {
+                for (int z = centerZ - ring; z <= centerZ + ring; z++) {
+                    if (Math.abs(x - centerX) != ring && Math.abs(z - centerZ) != ring) continue;
+                    List<T> cell = cells.get(chunkKey(x, z));
+                    if (cell == null) continue;
+                    for (T value : cell) {
+                        double distanceSquared = distanceSquared(locator.apply(value), center);
+                        if (distanceSquared <= bestDistanceSquared && filter.test(value)) {
+                            best = value;
+                            bestDistanceSquared = distanceSquared;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Checks whether any value, loaded or not, lies within a radius of a location.
+     *
+     * @param center The search center.
+     * @param radius The search radius in blocks.
+     * @return True if at least one value is within the radius.
+     */
+    public boolean anyWithin(@NotNull Location center, double radius) {
+        return nearestResident(center, radius, value -> true) != null;
+    }
+
+    /**
+     * Gets the number of indexed values.
+     *
+     * @return The number of values.
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Gets the number of non-empty chunk cells across all worlds.
+     *
+     * @return The number of cells.
+     */
+    public int cellCount() {
+        return worlds.values().stream().mapToInt(ConcurrentHashMap::size).sum();
+    }
+
+    /**
+     * Gets the number of non-empty chunk cells in loaded chunks across all worlds.
+     *
+     * @return The number of active cells.
+     */
+    public int activeCellCount() {
+        return activeWorlds.values().stream().mapToInt(ConcurrentHashMap::size).sum();
+    }
+
+    /**
+     * Gets the number of values in the fullest chunk cell.
+     *
+     * @return The largest cell size, or 0 if the index is empty.
+     */
+    public int maxCellSize() {
+        Map.Entry<Integer, Integer> largest = cellSizes.lastEntry();
+        return largest != null ? largest.getKey() : 0;
+    }
+
+    /**
+     * Gets the occupancy of the index.
+     *
+     * @return The number of values, cells, active cells and the largest cell size.
+     */
+    public Stats stats() {
+        return new Stats(size(), cellCount(), activeCellCount(), maxCellSize());
+    }
+
+    /**
+     * Computes the squared distance between two locations in the same world.
+     *
+     * @param a The first location.
+     * @param b The second location.
+     * @return The squared distance.
+     */
+    private static double distanceSquared(@NotNull Location a, @NotNull Location b) {
+        double dx = a.getX() - b.getX();
+        double dy = a.getY() - b.getY();
+        double dz = a.getZ() - b.getZ();
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Packs chunk coordinates into a single key.
+     *
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     * @return The packed key.
+     */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Occupancy of a spatial index.
+     *
+     * @param values The number of indexed values.
+     * @param cells The number of non-empty chunk cells.
+     * @param activeCells The number of non-empty cells in loaded chunks.
+     * @param maxCellSize The number of values in the fullest cell.
+     */
+    public record Stats(int values, int cells, int activeCells, int maxCellSize) {}
+}
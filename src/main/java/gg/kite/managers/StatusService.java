@@ -0,0 +1,136 @@
+package gg.kite.managers;
+
+import com.google.inject.Inject;
+import gg.kite.config.MessageConfig;
+import gg.kite.metrics.MongoPoolMonitor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Describes the plugin's in-memory state and queues for the status command.
+ * <p>
+ * Every figure comes from a counter the owning structure keeps up to date, so building a report never walks the
+ * stored data. Memory figures are estimates: the record count times a typical retained size per record, measured for
+ * short names and a 64-bit JVM with compressed references.
+ */
+public class StatusService {
+    private static final long TREASURE_BYTES = 480;
+    private static final long CLUE_BYTES = 320;
+    private static final long TEAM_BYTES = 360;
+    private static final long PROGRESS_BYTES = 640;
+    private static final long SESSION_BYTES = 200;
+    private static final long CELL_BYTES = 120;
+
+    private final TreasureManager treasureManager;
+    private final TaskExecutor taskExecutor;
+    private final TickScheduler scheduler;
+    private final MongoPoolMonitor poolMonitor;
+    private final Storage storage;
+    private final MessageConfig messageConfig;
+
+    /**
+     * Constructs a StatusService over the structures it reports on.
+     *
+     * @param treasureManager The treasure manager holding records and spatial indexes.
+     * @param taskExecutor The executor whose queue holds pending database writes.
+     * @param scheduler The scheduler holding queued main thread tasks.
+     * @param poolMonitor The monitor tracking MongoDB connection pool usage.
+     * @param storage The storage backend, reported on when it journals writes during outages.
+     * @param messageConfig The message configuration for report lines.
+     */
+    @Inject
+    public StatusService(@NotNull TreasureManager treasureManager, @NotNull TaskExecutor taskExecutor,
+                         @NotNull TickScheduler scheduler, @NotNull MongoPoolMonitor poolMonitor,
+                         @NotNull Storage storage, @NotNull MessageConfig messageConfig) {
+        this.treasureManager = treasureManager;
+        this.taskExecutor = taskExecutor;
+        this.scheduler = scheduler;
+        this.poolMonitor = poolMonitor;
+        this.storage = storage;
+        this.messageConfig = messageConfig;
+    }
+
+    /**
+     * Builds the status report.
+     *
+     * @return The formatted report lines.
+     */
+    public List<String> describe() {
+        TreasureManager.Counts counts = treasureManager.getCounts();
+        SpatialIndex.Stats treasureIndex = treasureManager.getTreasureIndexStats();
+        SpatialIndex.Stats clueIndex = treasureManager.getClueIndexStats();
+        List<String> lines = new ArrayList<>();
+        lines.add(messageConfig.getMessage("status-header"));
+        lines.add(structure("treasures", counts.treasures(), TREASURE_BYTES));
+        lines.add(structure("clues", counts.clues(), CLUE_BYTES));
+        lines.add(structure("teams", counts.teams(), TEAM_BYTES));
+        lines.add(structure("progress", counts.players(), PROGRESS_BYTES));
+        lines.add(structure("sessions", counts.sessions(), SESSION_BYTES));
+        lines.add(index("treasure index", treasureIndex));
+        lines.add(index("clue index", clueIndex));
+        lines.add(messageConfig.getMessage("status-queues",
+                "%w", String.valueOf(taskExecutor.getPendingTasks()),
+                "%l", String.valueOf(taskExecutor.getLastRunMicros()),
+                "%q", String.valueOf(scheduler.getQueueDepth()),
+                "%d", String.valueOf(scheduler.getLastDeferred())));
+        lines.add(messageConfig.getMessage("status-scheduler",
+                "%b", String.format(Locale.ROOT, "%.1f", scheduler.getBudgetNanos() / 1_000_000.0),
+                "%f", String.valueOf(scheduler.getQueueDepth(TickScheduler.Priority.FEEDBACK)),
+                "%g", String.valueOf(scheduler.getQueueDepth(TickScheduler.Priority.GAMEPLAY)),
+                "%h", String.valueOf(scheduler.getQueueDepth(TickScheduler.Priority.HOUSEKEEPING)),
+                "%m", String.valueOf(scheduler.getMaxDeferred())));
+        lines.add(messageConfig.getMessage("status-pool",
+                "%u", String.valueOf(poolMonitor.getCheckedOut()),
+                "%o", String.valueOf(poolMonitor.getOpen()),
+                "%x", String.valueOf(poolMonitor.getMaxSize()),
+                "%w", String.valueOf(poolMonitor.getWaiting())));
+        if (storage instanceof ResilientStorage resilient && resilient.isTripped()) {
+            lines.add(messageConfig.getMessage("status-journal", "%j", String.valueOf(resilient.getJournaled())));
+        }
+        return lines;
+    }
+
+    /**
+     * Formats the line of one in-memory structure.
+     *
+     * @param name The structure name.
+     * @param count The number of records.
+     * @param bytesPerRecord The estimated retained size of one record.
+     * @return The formatted line.
+     */
+    private String structure(@NotNull String name, int count, long bytesPerRecord) {
+        return messageConfig.getMessage("status-structure",
+                "%n", name, "%c", String.valueOf(count), "%m", formatBytes(count * bytesPerRecord));
+    }
+
+    /**
+     * Formats the line of one spatial index.
+     *
+     * @param name The index name.
+     * @param stats The index statistics.
+     * @return The formatted line.
+     */
+    private String index(@NotNull String name, @NotNull SpatialIndex.Stats stats) {
+        return messageConfig.getMessage("status-index",
+                "%n", name,
+                "%c", String.valueOf(stats.cells()),
+                "%a", String.valueOf(stats.activeCells()),
+                "%x", String.valueOf(stats.maxCellSize()),
+                "%m", formatBytes(stats.cells() * CELL_BYTES));
+    }
+
+    /**
+     * Formats a byte count with a binary unit.
+     *
+     * @param bytes The number of bytes.
+     * @return The formatted size.
+     */
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format(Locale.ROOT, "%.1f KiB", bytes / 1024.0);
+        return String.format(Locale.ROOT, "%.1f MiB", bytes / (1024.0 * 1024));
+    }
+}
@@ -0,0 +1,134 @@
+package gg.kite.managers;
+
+import org.bson.Document;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Persistent store of treasures, clues, player progress and teams.
+ * <p>
+ * Calls block until the backend has accepted the write or produced the result, so callers run them through the
+ * {@link TaskExecutor}. Records are addressed by their natural keys: treasures and teams by name, clues by treasure
+ * name and description, and progress by player, treasure and clue. Saving a record that exists replaces it, which
+ * makes every write safe to repeat. Treasures and clues are exchanged in the {@link Documents} form when streamed.
+ */
+public interface Storage {
+    /**
+     * Saves a treasure, replacing any stored treasure of the same name.
+     *
+     * @param treasure The treasure to save.
+     */
+    void saveTreasure(@NotNull Treasure treasure);
+
+    /**
+     * Saves a batch of treasures.
+     *
+     * @param treasures The treasures to save.
+     */
+    void saveTreasures(@NotNull List<Treasure> treasures);
+
+    /**
+     * Deletes a treasure. Its clues and the progress on it are removed too, possibly in the background.
+     *
+     * @param name The name of the treasure to delete.
+     */
+    void deleteTreasure(@NotNull String name);
+
+    /**
+     * Loads all treasures with their clues and clue prerequisites.
+     *
+     * @return The loaded treasures.
+     */
+    List<Treasure> loadTreasures();
+
+    /**
+     * Streams every stored treasure document.
+     *
+     * @param consumer The consumer receiving each document.
+     */
+    void streamTreasures(@NotNull Consumer<Document> consumer);
+
+    /**
+     * Saves a clue, replacing any stored clue with the same treasure and description.
+     *
+     * @param treasureName The name of the associated treasure.
+     * @param clue The clue to save.
+     */
+    void saveClue(@NotNull String treasureName, @NotNull Clue clue);
+
+    /**
+     * Saves a batch of clues.
+     *
+     * @param clues The clues to save, with their treasure names.
+     */
+    void saveClues(@NotNull List<ClueEntry> clues);
+
+    /**
+     * Saves the prerequisites of a clue.
+     *
+     * @param treasureName The name of the associated treasure.
+     * @param description The clue description.
+     * @param requires The descriptions of the clues it requires.
+     */
+    void saveClueRequirements(@NotNull String treasureName, @NotNull String description, @NotNull List<String> requires);
+
+    /**
+     * Deletes all clues of a treasure. Progress on them is removed too, possibly in the background.
+     *
+     * @param treasureName The name of the treasure.
+     */
+    void deleteClues(@NotNull String treasureName);
+
+    /**
+     * Streams every stored clue document.
+     *
+     * @param consumer The consumer receiving each document.
+     */
+    void streamClues(@NotNull Consumer<Document> consumer);
+
+    /**
+     * Records that a player found a treasure.
+     *
+     * @param playerId The UUID of the player.
+     * @param treasureName The name of the treasure.
+     */
+    void savePlayerProgress(@NotNull UUID playerId, @NotNull String treasureName);
+
+    /**
+     * Records that a player solved a clue.
+     *
+     * @param playerId The UUID of the player.
+     * @param treasureName The name of the treasure.
+     * @param clueDescription The description of the clue.
+     */
+    void saveClueProgress(@NotNull UUID playerId, @NotNull String treasureName, @NotNull String clueDescription);
+
+    /**
+     * Saves a team, replacing any stored team of the same name.
+     *
+     * @param team The team to save.
+     */
+    void saveTeam(@NotNull Team team);
+
+    /**
+     * Deletes a team.
+     *
+     * @param name The name of the team to delete.
+     */
+    void deleteTeam(@NotNull String name);
+
+    /**
+     * Loads all teams.
+     *
+     * @return The loaded teams.
+     */
+    List<Team> loadTeams();
+
+    /**
+     * Releases the backend's resources. Called once, after all writes have been submitted.
+     */
+    void close();
+}
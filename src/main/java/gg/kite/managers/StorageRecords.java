@@ -0,0 +1,198 @@
+package gg.kite.managers;
+
+import org.bson.Document;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+/**
+ * Builds and applies the records of an {@link AppendLog}, each describing one {@link Storage} write.
+ * <p>
+ * A record names its operation in {@code op} and carries treasures, clues and teams in their {@link Documents} form.
+ * Every operation saves or deletes by natural key, so applying a run of records again leaves the same result.
+ */
+public final class StorageRecords {
+    static final String HEADER = "header";
+    static final String TREASURE = "treasure";
+    static final String DELETE_TREASURE = "delete-treasure";
+    static final String CLUE = "clue";
+    static final String REQUIRES = "requires";
+    static final String DELETE_CLUES = "delete-clues";
+    static final String PROGRESS = "progress";
+    static final String TEAM = "team";
+    static final String DELETE_TEAM = "delete-team";
+
+    private StorageRecords() {
+    }
+
+    /**
+     * Builds the first record of a log or snapshot.
+     *
+     * @param generation The number of compactions the file follows.
+     * @return The record.
+     */
+    public static Document header(long generation) {
+        return new Document("op", HEADER).append("generation", generation);
+    }
+
+    /**
+     * Builds a record carrying a stored document.
+     *
+     * @param op The operation, {@link #TREASURE}, {@link #CLUE} or {@link #TEAM}.
+     * @param doc The document.
+     * @return The record.
+     */
+    static Document of(@NotNull String op, @NotNull Document doc) {
+        return new Document("op", op).append("doc", doc);
+    }
+
+    /**
+     * Builds the record of a saved treasure.
+     *
+     * @param treasure The treasure.
+     * @return The record.
+     */
+    public static Document saveTreasure(@NotNull Treasure treasure) {
+        return of(TREASURE, Documents.toDocument(treasure));
+    }
+
+    /**
+     * Builds the record of a deleted treasure.
+     *
+     * @param name The name of the treasure.
+     * @return The record.
+     */
+    public static Document deleteTreasure(@NotNull String name) {
+        return new Document("op", DELETE_TREASURE).append("name", name);
+    }
+
+    /**
+     * Builds the record of a saved clue.
+     *
+     * @param treasureName The name of the associated treasure.
+     * @param clue The clue.
+     * @return The record.
+     */
+    public static Document saveClue(@NotNull String treasureName, @NotNull Clue clue) {
+        return of(CLUE, Documents.toDocument(treasureName, clue));
+    }
+
+    /**
+     * Builds the record of saved clue prerequisites.
+     *
+     * @param treasureName The name of the associated treasure.
+     * @param description The clue description.
+     * @param requires The descriptions of the clues it requires.
+     * @return The record.
+     */
+    public static Document saveClueRequirements(@NotNull String treasureName, @NotNull String description,
+                                                @NotNull List<String> requires) {
+        return new Document("op", REQUIRES).append("treasure_name", treasureName).append("description", description)
+                .append("requires", List.copyOf(requires));
+    }
+
+    /**
+     * Builds the record of the deleted clues of a treasure.
+     *
+     * @param treasureName The name of the treasure.
+     * @return The record.
+     */
+    public static Document deleteClues(@NotNull String treasureName) {
+        return new Document("op", DELETE_CLUES).append("treasure_name", treasureName);
+    }
+
+    /**
+     * Builds the record of a found treasure or solved clue.
+     *
+     * @param playerId The UUID of the player.
+     * @param treasureName The name of the treasure.
+     * @param clueDescription The description of the solved clue, or null for a found treasure.
+     * @return The record.
+     */
+    public static Document saveProgress(@NotNull UUID playerId, @NotNull String treasureName, @Nullable String clueDescription) {
+        Document record = new Document("op", PROGRESS).append("player_uuid", playerId.toString()).append("treasure_name", treasureName);
+        if (clueDescription != null) {
+            record.append("clue_description", clueDescription);
+        }
+        return record;
+    }
+
+    /**
+     * Builds the record of a saved team.
+     *
+     * @param team The team.
+     * @param playerNameCache The cache providing member names.
+     * @return The record.
+     */
+    public static Document saveTeam(@NotNull Team team, @NotNull PlayerNameCache playerNameCache) {
+        return of(TEAM, Documents.toDocument(team, playerNameCache));
+    }
+
+    /**
+     * Builds the record of a deleted team.
+     *
+     * @param name The name of the team.
+     * @return The record.
+     */
+    public static Document deleteTeam(@NotNull String name) {
+        return new Document("op", DELETE_TEAM).append("name", name);
+    }
+
+    /**
+     * Performs the write a record describes. Header records are ignored.
+     *
+     * @param record The record.
+     * @param target The storage to write to.
+     * @param playerNameCache The cache receiving the member names of teams.
+     * @param logger The logger for records that cannot be applied.
+     */
+    public static void apply(@NotNull Document record, @NotNull Storage target, @NotNull PlayerNameCache playerNameCache,
+                             @NotNull Logger logger) {
+        String op = record.getString("op");
+        switch (op == null ? "" : op) {
+            case HEADER -> {
+            }
+            case TREASURE -> {
+                Treasure treasure = Documents.parseTreasure(record.get("doc", Document.class));
+                if (treasure == null) {
+                    logger.warning("Skipping logged treasure without a world");
+                    return;
+                }
+                target.saveTreasure(treasure);
+            }
+            case DELETE_TREASURE -> target.deleteTreasure(record.getString("name"));
+            case CLUE -> {
+                Document doc = record.get("doc", Document.class);
+                Clue clue = Documents.parseClue(doc);
+                if (clue == null) {
+                    logger.warning("Skipping logged clue without a world");
+                    return;
+                }
+                String treasureName = doc.getString("treasure_name");
+                target.saveClue(treasureName, clue);
+                List<String> requires = doc.getList("requires", String.class);
+                if (requires != null && !requires.isEmpty()) {
+                    target.saveClueRequirements(treasureName, clue.description(), requires);
+                }
+            }
+            case REQUIRES -> target.saveClueRequirements(record.getString("treasure_name"), record.getString("description"),
+                    record.getList("requires", String.class, List.of()));
+            case DELETE_CLUES -> target.deleteClues(record.getString("treasure_name"));
+            case PROGRESS -> {
+                UUID playerId = UUID.fromString(record.getString("player_uuid"));
+                String clueDescription = record.getString("clue_description");
+                if (clueDescription == null) {
+                    target.savePlayerProgress(playerId, record.getString("treasure_name"));
+                } else {
+                    target.saveClueProgress(playerId, record.getString("treasure_name"), clueDescription);
+                }
+            }
+            case TEAM -> target.saveTeam(Documents.parseTeam(record.get("doc", Document.class), playerNameCache));
+            case DELETE_TEAM -> target.deleteTeam(record.getString("name"));
+            default -> logger.warning("Skipping log record with unknown operation: " + op);
+        }
+    }
+}
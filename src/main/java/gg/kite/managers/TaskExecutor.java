@@ -0,0 +1,206 @@
+package gg.kite.managers;
+
+import com.google.inject.Inject;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs blocking work, such as database calls, off the main server thread and hands results back to it.
+ * Asynchronous tasks run on a single thread so writes reach the database in submission order. Main thread tasks go
+ * through the {@link TickScheduler}, which spreads them over ticks by priority.
+ */
+public class TaskExecutor {
+    private final ExecutorService asyncExecutor;
+    private final TickScheduler scheduler;
+    private final Logger logger;
+    private final AtomicInteger pending;
+    private volatile long lastRunNanos;
+
+    /**
+     * Constructs a TaskExecutor backed by a dedicated worker thread and the tick scheduler.
+     *
+     * @param plugin The plugin instance, providing the logger.
+     * @param scheduler The scheduler that runs main thread tasks.
+     */
+    @Inject
+    public TaskExecutor(@NotNull JavaPlugin plugin, @NotNull TickScheduler scheduler) {
+        this(Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "TreasureHunt-Async");
+                    thread.setDaemon(true);
+                    return thread;
+                }),
+                scheduler,
+                plugin.getLogger());
+    }
+
+    /**
+     * Constructs a TaskExecutor with explicit executors, for use outside a running server.
+     *
+     * @param asyncExecutor The executor for blocking work.
+     * @param scheduler The scheduler that runs main thread tasks.
+     * @param logger The logger for reporting failed tasks.
+     */
+    public TaskExecutor(@NotNull ExecutorService asyncExecutor, @NotNull TickScheduler scheduler, @NotNull Logger logger) {
+        this.asyncExecutor = asyncExecutor;
+        this.scheduler = scheduler;
+        this.logger = logger;
+        this.pending = new AtomicInteger();
+    }
+
+    /**
+     * Runs a task asynchronously.
+     *
+     * @param task The task to run.
+     * @return A future completed when the task finishes.
+     */
+    public CompletableFuture<Void> runAsync(@NotNull Runnable task) {
+        return submit(() -> {
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                lastRunNanos = System.nanoTime() - start;
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Computes a value asynchronously.
+     *
+     * @param task The task producing the value.
+     * @param <T> The value type.
+     * @return A future completed with the computed value.
+     */
+    public <T> CompletableFuture<T> supplyAsync(@NotNull Supplier<T> task) {
+        return submit(task);
+    }
+
+    /**
+     * Queues a task on the worker thread, counting it as pending until it finishes.
+     *
+     * @param task The task producing the value.
+     * @param <T> The value type.
+     * @return A future completed with the computed value.
+     */
+    private <T> CompletableFuture<T> submit(@NotNull Supplier<T> task) {
+        pending.incrementAndGet();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return task.get();
+                } finally {
+                    pending.decrementAndGet();
+                }
+            }, asyncExecutor);
+        } catch (RejectedExecutionException e) {
+            pending.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Gets the number of asynchronous tasks queued or running.
+     *
+     * @return The number of pending tasks.
+     */
+    public int getPendingTasks() {
+        return pending.get();
+    }
+
+    /**
+     * Gets the duration of the last finished {@link #runAsync} task, the path the plugin's writes take.
+     *
+     * @return The duration in microseconds.
+     */
+    public long getLastRunMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(lastRunNanos);
+    }
+
+    /**
+     * Runs a task asynchronously without waiting for the result, logging any failure.
+     *
+     * @param task The task to run.
+     */
+    public void execute(@NotNull Runnable task) {
+        runAsync(task).exceptionally(e -> {
+            logger.log(Level.SEVERE, "Asynchronous task failed", e);
+            return null;
+        });
+    }
+
+    /**
+     * Runs a gameplay task on the main server thread.
+     *
+     * @param task The task to run.
+     */
+    public void runSync(@NotNull Runnable task) {
+        runSync(TickScheduler.Priority.GAMEPLAY, task);
+    }
+
+    /**
+     * Runs a task on the main server thread.
+     *
+     * @param priority The priority of the task within its tick.
+     * @param task The task to run.
+     */
+    public void runSync(@NotNull TickScheduler.Priority priority, @NotNull Runnable task) {
+        scheduler.submit(priority, task);
+    }
+
+    /**
+     * Invokes a gameplay action on the main server thread once a future completes.
+     *
+     * @param future The future to observe.
+     * @param action The action receiving the result or the failure.
+     * @param <T> The result type.
+     */
+    public <T> void whenCompleteSync(@NotNull CompletableFuture<T> future, @NotNull BiConsumer<? super T, ? super Throwable> action) {
+        whenCompleteSync(future, TickScheduler.Priority.GAMEPLAY, action);
+    }
+
+    /**
+     * Invokes an action on the main server thread once a future completes.
+     *
+     * @param future The future to observe.
+     * @param priority The priority of the action within its tick.
+     * @param action The action receiving the result or the failure.
+     * @param <T> The result type.
+     */
+    public <T> void whenCompleteSync(@NotNull CompletableFuture<T> future, @NotNull TickScheduler.Priority priority,
+                                     @NotNull BiConsumer<? super T, ? super Throwable> action) {
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                logger.log(Level.WARNING, "Asynchronous operation failed", error);
+            }
+            runSync(priority, () -> action.accept(result, error));
+        });
+    }
+
+    /**
+     * Stops accepting tasks and waits briefly for pending work to finish.
+     */
+    public void shutdown() {
+        asyncExecutor.shutdown();
+        try {
+            if (!asyncExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warning("Timed out waiting for pending asynchronous tasks; forcing shutdown.");
+                asyncExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            asyncExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -6,14 +6,16 @@ import org.jetbrains.annotations.Nullable;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Represents a team with members and a score for treasure hunts.
+ * Members are held in a concurrent set so the team can be persisted from a background thread.
  */
 public class Team {
     private final String name;
     private final Set<UUID> members;
-    private int score;
+    private volatile int score;
 
     /**
      * Constructs a Team with the specified name and leader.
@@ -23,7 +25,7 @@ public class Team {
      */
     public Team(@NotNull String name, @Nullable UUID leader) {
         this.name = name;
-        this.members = new HashSet<>();
+        this.members = ConcurrentHashMap.newKeySet();
         if (leader != null) {
             this.members.add(leader);
         }
@@ -0,0 +1,210 @@
+package gg.kite.managers;
+
+import com.google.inject.Inject;
+import gg.kite.metrics.LatencyHistogram;
+import gg.kite.metrics.Metrics;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the plugin's main-thread tasks within a per-tick time budget.
+ * <p>
+ * Tasks may be submitted from any thread and wait in one queue per {@link Priority}. Every tick the scheduler runs
+ * queued tasks, highest priority first and in submission order within a priority, until {@code scheduler.tick-budget-millis}
+ * has been spent. Whatever is left stays queued for the next tick, so a burst of work is spread over several ticks
+ * instead of stalling one. At least one task runs per tick, so the queue always drains even if a single task exceeds
+ * the budget. The budget is checked between tasks, never inside one.
+ */
+public class TickScheduler implements Runnable {
+    private final JavaPlugin plugin;
+    private final Logger logger;
+    private final long budgetNanos;
+    private final Lane[] lanes;
+    private final LatencyHistogram tickTimes;
+    private final LongAdder tasksRun;
+    private final LongAdder tasksDeferred;
+    private volatile int lastDeferred;
+    private volatile int maxDeferred;
+
+    /**
+     * Constructs a TickScheduler from the {@code scheduler} configuration section.
+     *
+     * @param plugin The plugin instance used for scheduling and logging.
+     * @param config The plugin configuration.
+     * @param metrics The metrics registry receiving tick times and task counts.
+     */
+    @Inject
+    public TickScheduler(@NotNull JavaPlugin plugin, @NotNull FileConfiguration config, @NotNull Metrics metrics) {
+        this(plugin, plugin.getLogger(), config.getDouble("scheduler.tick-budget-millis", 5.0), metrics);
+    }
+
+    /**
+     * Constructs a TickScheduler that is driven by calling {@link #run()}, for use outside a running server.
+     *
+     * @param logger The logger for reporting failed tasks.
+     * @param budgetMillis The time budget per tick in milliseconds.
+     * @param metrics The metrics registry receiving tick times and task counts.
+     */
+    public TickScheduler(@NotNull Logger logger, double budgetMillis, @NotNull Metrics metrics) {
+        this(null, logger, budgetMillis, metrics);
+    }
+
+    /**
+     * Constructs a TickScheduler.
+     *
+     * @param plugin The plugin used for scheduling, or null if the scheduler is driven manually.
+     * @param logger The logger for reporting failed tasks.
+     * @param budgetMillis The time budget per tick in milliseconds.
+     * @param metrics The metrics registry receiving tick times and task counts.
+     */
+    private TickScheduler(@Nullable JavaPlugin plugin, @NotNull Logger logger, double budgetMillis, @NotNull Metrics metrics) {
+        this.plugin = plugin;
+        this.logger = logger;
+        this.budgetNanos = (long) (Math.max(0.1, budgetMillis) * 1_000_000);
+        this.lanes = new Lane[Priority.values().length];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane();
+        }
+        this.tickTimes = metrics.histogram("scheduler.tick");
+        this.tasksRun = metrics.counter("scheduler.tasks");
+        this.tasksDeferred = metrics.counter("scheduler.deferred");
+    }
+
+    /**
+     * Schedules the scheduler to run every tick.
+     *
+     * @throws IllegalStateException if the scheduler was created for use outside a running server.
+     */
+    public void start() {
+        if (plugin == null) {
+            throw new IllegalStateException("Scheduler is not attached to a plugin");
+        }
+        plugin.getServer().getScheduler().runTaskTimer(plugin, this, 1, 1);
+    }
+
+    /**
+     * Queues a task to run on the main thread. Safe to call from any thread.
+     *
+     * @param priority The task priority.
+     * @param task The task to run.
+     */
+    public void submit(@NotNull Priority priority, @NotNull Runnable task) {
+        Lane lane = lanes[priority.ordinal()];
+        lane.size.incrementAndGet();
+        lane.tasks.add(task);
+    }
+
+    /**
+     * Runs queued tasks until the tick budget is spent, then records what was left for later ticks.
+     */
+    @Override
+    public void run() {
+        if (getQueueDepth() == 0) {
+            lastDeferred = 0;
+            return;
+        }
+        long start = System.nanoTime();
+        int run = 0;
+        for (Lane lane : lanes) {
+            Runnable task;
+            while ((run == 0 || System.nanoTime() - start < budgetNanos) && (task = lane.tasks.poll()) != null) {
+                lane.size.decrementAndGet();
+                run++;
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.log(Level.SEVERE, "Main thread task failed", e);
+                }
+            }
+        }
+        tickTimes.record(System.nanoTime() - start);
+        tasksRun.add(run);
+        int deferred = getQueueDepth();
+        lastDeferred = deferred;
+        if (deferred > 0) {
+            tasksDeferred.add(deferred);
+            if (deferred > maxDeferred) {
+                maxDeferred = deferred;
+            }
+        }
+    }
+
+    /**
+     * Gets the number of queued tasks.
+     *
+     * @return The number of tasks waiting to run.
+     */
+    public int getQueueDepth() {
+        int depth = 0;
+        for (Lane lane : lanes) {
+            depth += lane.size.get();
+        }
+        return depth;
+    }
+
+    /**
+     * Gets the number of queued tasks of a priority.
+     *
+     * @param priority The priority.
+     * @return The number of tasks of that priority waiting to run.
+     */
+    public int getQueueDepth(@NotNull Priority priority) {
+        return lanes[priority.ordinal()].size.get();
+    }
+
+    /**
+     * Gets the number of tasks the last tick left for later ticks.
+     *
+     * @return The number of deferred tasks.
+     */
+    public int getLastDeferred() {
+        return lastDeferred;
+    }
+
+    /**
+     * Gets the largest number of tasks a single tick has left for later ticks since startup.
+     *
+     * @return The number of deferred tasks.
+     */
+    public int getMaxDeferred() {
+        return maxDeferred;
+    }
+
+    /**
+     * Gets the time budget per tick.
+     *
+     * @return The budget in nanoseconds.
+     */
+    public long getBudgetNanos() {
+        return budgetNanos;
+    }
+
+    /**
+     * Order in which queued tasks run, highest first.
+     */
+    public enum Priority {
+        /** Replies and messages a player is waiting for, such as clue solves. */
+        FEEDBACK,
+        /** Game state changes and the events they fire. */
+        GAMEPLAY,
+        /** Work that may wait, such as hints, particles, sidebar refreshes and treasure generation. */
+        HOUSEKEEPING
+    }
+
+    /**
+     * The queue of one priority, with a size counter because concurrent queues count their nodes.
+     */
+    private static final class Lane {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+    }
+}
@@ -0,0 +1,278 @@
+package gg.kite.managers;
+
+import com.google.inject.Inject;
+import org.bson.Document;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Streams treasures and clues to and from newline-delimited JSON files in the plugin's export folder.
+ * Imports are read, indexed and persisted one batch at a time. Clue prerequisites are applied once every clue has been
+ * added, since they name clues that may come in later batches, so the prerequisites of the whole file are held in
+ * memory until the end; memory use grows with them, not with the rest of the file.
+ * Exports wait for the writes already queued on the {@link TaskExecutor}, so they include every change made before
+ * they started.
+ */
+public class TransferService {
+    private static final JsonWriterSettings JSON_SETTINGS = JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).build();
+
+    private final Storage storage;
+    private final TreasureManager treasureManager;
+    private final TaskExecutor taskExecutor;
+    private final Logger logger;
+    private final Path exportFolder;
+    private final int batchSize;
+    private final ExecutorService executor;
+    private final AtomicBoolean busy;
+
+    /**
+     * Constructs a TransferService with the specified dependencies.
+     *
+     * @param storage The storage to stream from and write to.
+     * @param treasureManager The treasure manager holding the in-memory state and indexes.
+     * @param taskExecutor The executor that serializes database writes.
+     * @param config The plugin configuration.
+     * @param plugin The plugin instance, providing the data folder and logger.
+     */
+    @Inject
+    public TransferService(@NotNull Storage storage, @NotNull TreasureManager treasureManager,
+                           @NotNull TaskExecutor taskExecutor, @NotNull FileConfiguration config, @NotNull JavaPlugin plugin) {
+        this.storage = storage;
+        this.treasureManager = treasureManager;
+        this.taskExecutor = taskExecutor;
+        this.logger = plugin.getLogger();
+        this.exportFolder = plugin.getDataFolder().toPath().resolve("exports");
+        this.batchSize = Math.max(1, config.getInt("transfer.batch-size", 500));
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TreasureHunt-Transfer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.busy = new AtomicBoolean();
+    }
+
+    /**
+     * Exports all stored treasures followed by all stored clues, once the writes queued before the call are stored.
+     *
+     * @param fileName The file name inside the export folder.
+     * @param progress Callback receiving the running record count after each batch.
+     * @return A future completed with the total number of records written.
+     * @throws IllegalArgumentException if the file name is invalid.
+     * @throws IllegalStateException if another transfer is running.
+     */
+    public CompletableFuture<Long> exportTo(@NotNull String fileName, @NotNull Consumer<Long> progress) {
+        Path file = resolve(fileName);
+        acquire();
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                // Writes run in submission order, so this completes once every write queued before it is stored.
+                taskExecutor.runAsync(() -> {}).join();
+                Files.createDirectories(exportFolder);
+                try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                    long[] count = new long[1];
+                    Consumer<Document> write = doc -> {
+                        try {
+                            writer.write(doc.toJson(JSON_SETTINGS));
+                            writer.newLine();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        if (++count[0] % batchSize == 0) {
+                            progress.accept(count[0]);
+                        }
+                    };
+                    storage.streamTreasures(doc -> write.accept(doc.append("type", "treasure")));
+                    storage.streamClues(doc -> write.accept(doc.append("type", "clue")));
+                    return count[0];
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                busy.set(false);
+            }
+        }, executor);
+    }
+
+    /**
+     * Imports treasures and clues, skipping records that already exist or cannot be resolved.
+     * Each batch is added to memory and the spatial indexes first, then upserted with a bulk write
+     * before the next batch is read.
+     *
+     * @param fileName The file name inside the export folder.
+     * @param progress Callback receiving the running totals after each batch.
+     * @return A future completed with the final totals.
+     * @throws IllegalArgumentException if the file name is invalid.
+     * @throws IllegalStateException if another transfer is running.
+     */
+    public CompletableFuture<ImportResult> importFrom(@NotNull String fileName, @NotNull Consumer<ImportResult> progress) {
+        Path file = resolve(fileName);
+        acquire();
+        return CompletableFuture.supplyAsync(() -> {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                var treasures = new ArrayList<Treasure>(batchSize);
+                var clues = new ArrayList<ClueEntry>(batchSize);
+                var requires = new HashMap<String, List<String>>();
+                var requirements = new ArrayList<TreasureManager.ClueRequirements>();
+                long[] totals = new long[3];
+                String line;
+                long lineNumber = 0;
+                while ((line = reader.readLine()) != null) {
+                    lineNumber++;
+                    if (line.isBlank()) continue;
+                    if (!parseLine(line, lineNumber, treasures, clues, requires)) {
+                        totals[2]++;
+                    }
+                    if (treasures.size() + clues.size() >= batchSize) {
+                        flush(treasures, clues, requires, requirements, totals);
+                        progress.accept(new ImportResult(totals[0], totals[1], totals[2]));
+                    }
+                }
+                flush(treasures, clues, requires, requirements, totals);
+                List<TreasureManager.ClueRequirements> applied = treasureManager.addImportedRequirements(requirements);
+                taskExecutor.runAsync(() -> applied.forEach(requirement ->
+                        storage.saveClueRequirements(requirement.treasureName(), requirement.description(), requirement.requires())))
+                        .join();
+                return new ImportResult(totals[0], totals[1], totals[2]);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                busy.set(false);
+            }
+        }, executor);
+    }
+
+    /**
+     * Stops the transfer thread.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Parses one line into the pending batches, keeping the prerequisites of a clue under its key.
+     *
+     * @return False if the line could not be used.
+     */
+    private boolean parseLine(@NotNull String line, long lineNumber, @NotNull List<Treasure> treasures, @NotNull List<ClueEntry> clues,
+                              @NotNull Map<String, List<String>> requires) {
+        try {
+            Document doc = Document.parse(line);
+            switch (String.valueOf(doc.getString("type"))) {
+                case "treasure" -> {
+                    Treasure treasure = Documents.parseTreasure(doc);
+                    if (treasure == null) return false;
+                    treasures.add(treasure);
+                }
+                case "clue" -> {
+                    Clue clue = Documents.parseClue(doc);
+                    if (clue == null || doc.getString("treasure_name") == null) return false;
+                    clues.add(new ClueEntry(doc.getString("treasure_name"), clue));
+                    List<String> required = doc.getList("requires", String.class);
+                    if (required != null && !required.isEmpty()) {
+                        requires.put(clueKey(doc.getString("treasure_name"), clue.description()), required);
+                    }
+                }
+                default -> {
+                    return false;
+                }
+            }
+            return true;
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Skipping malformed import line {0}: {1}", new Object[]{lineNumber, e.getMessage()});
+            return false;
+        }
+    }
+
+    /**
+     * Adds the pending batch to memory, persists the accepted records and waits for the write to finish. The
+     * prerequisites of the added clues are kept for the end of the import; those of skipped clues are dropped.
+     */
+    private void flush(@NotNull List<Treasure> treasures, @NotNull List<ClueEntry> clues, @NotNull Map<String, List<String>> requires,
+                       @NotNull List<TreasureManager.ClueRequirements> requirements, long @NotNull [] totals) {
+        List<Treasure> addedTreasures = treasureManager.addImportedTreasures(treasures);
+        List<ClueEntry> addedClues = treasureManager.addImportedClues(clues);
+        for (ClueEntry entry : addedClues) {
+            List<String> required = requires.get(clueKey(entry.treasureName(), entry.clue().description()));
+            if (required != null) {
+                requirements.add(new TreasureManager.ClueRequirements(entry.treasureName(), entry.clue().description(), required));
+            }
+        }
+        requires.clear();
+        totals[0] += addedTreasures.size();
+        totals[1] += addedClues.size();
+        totals[2] += (treasures.size() - addedTreasures.size()) + (clues.size() - addedClues.size());
+        treasures.clear();
+        clues.clear();
+        taskExecutor.runAsync(() -> {
+            storage.saveTreasures(addedTreasures);
+            storage.saveClues(addedClues);
+        }).join();
+    }
+
+    /**
+     * Builds the key of a clue within an import.
+     *
+     * @param treasureName The name of the clue's treasure.
+     * @param description The clue description.
+     * @return The key.
+     */
+    private static String clueKey(@NotNull String treasureName, @NotNull String description) {
+        return treasureName + '\n' + description;
+    }
+
+    /**
+     * Resolves a file name inside the export folder.
+     *
+     * @throws IllegalArgumentException if the name is not a plain file name.
+     */
+    private Path resolve(@NotNull String fileName) {
+        if (!fileName.matches("[a-zA-Z0-9_.-]{1,64}") || fileName.startsWith(".")) {
+            throw new IllegalArgumentException("File name must be alphanumeric and may contain . _ -");
+        }
+        return exportFolder.resolve(fileName);
+    }
+
+    /**
+     * Marks a transfer as running.
+     *
+     * @throws IllegalStateException if another transfer is running.
+     */
+    private void acquire() {
+        if (!busy.compareAndSet(false, true)) {
+            throw new IllegalStateException("Another import or export is already running");
+        }
+    }
+
+    /**
+     * Running or final totals of an import.
+     *
+     * @param treasures The number of treasures imported.
+     * @param clues The number of clues imported.
+     * @param skipped The number of records skipped.
+     */
+    public record ImportResult(long treasures, long clues, long skipped) {}
+}
@@ -1,19 +1,37 @@
 package gg.kite.managers;
 
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Represents a treasure with a name, location, rarity, and associated clues.
+ * The treasure is stored by world name; its location and its clues' locations only reference the world while it is
+ * loaded, see {@link #bind(World)} and {@link #unbind()}.
+ * <p>
+ * Clues may require earlier clues to be solved first. Prerequisites are kept as one bitmask of clue positions per
+ * clue and may only point to clues added before it, so the chain is always acyclic and a player's unlocked clues
+ * follow from their solved bitmask with a single AND.
  */
 public class Treasure {
+    /**
+     * The maximum number of clues per treasure, one per bit of a prerequisite mask.
+     */
+    public static final int MAX_CLUES = 64;
+
     private final String name;
+    private final String worldName;
     private final Location location;
     private final int rarity;
     private final List<Clue> clues;
+    private final Map<String, Integer> clueIndexes;
+    private volatile long[] prerequisites;
     private final long createdAt;
 
     /**
@@ -24,10 +42,24 @@ public class Treasure {
      * @param rarity The rarity level of the treasure (minimum 1).
      */
     public Treasure(@NotNull String name, @NotNull Location location, int rarity) {
+        this(name, location.getWorld().getName(), location, rarity);
+    }
+
+    /**
+     * Constructs a Treasure in a world that may not be loaded.
+     *
+     * @param name The unique name of the treasure.
+     * @param worldName The name of the treasure's world.
+     * @param location The location of the treasure, with a null world if the world is not loaded.
+     * @param rarity The rarity level of the treasure (minimum 1).
+     */
+    public Treasure(@NotNull String name, @NotNull String worldName, @NotNull Location location, int rarity) {
         this.name = name;
+        this.worldName = worldName;
         this.location = location;
         this.rarity = Math.max(1, rarity);
-        this.clues = new ArrayList<>();
+        this.clues = new CopyOnWriteArrayList<>();
+        this.clueIndexes = new ConcurrentHashMap<>();
         this.createdAt = System.currentTimeMillis();
     }
 
@@ -41,7 +73,16 @@ public class Treasure {
     }
 
     /**
-     * Gets the treasure location.
+     * Gets the name of the treasure's world.
+     *
+     * @return The world name.
+     */
+    public String getWorldName() {
+        return worldName;
+    }
+
+    /**
+     * Gets the treasure location. Its world is null while the treasure's world is not loaded.
      *
      * @return The treasure location.
      */
@@ -67,20 +108,141 @@ public class Treasure {
         return new ArrayList<>(clues);
     }
 
+    /**
+     * Gets the number of clues without copying them.
+     *
+     * @return The number of clues.
+     */
+    public int getClueCount() {
+        return clues.size();
+    }
+
+    /**
+     * Checks whether the treasure has a clue with the given description.
+     *
+     * @param description The clue description.
+     * @return True if such a clue exists.
+     */
+    public boolean hasClue(@NotNull String description) {
+        return clueIndexes.containsKey(description);
+    }
+
+    /**
+     * Gets the position of a clue, which is its bit in prerequisite and solved masks.
+     *
+     * @param description The clue description.
+     * @return The zero-based position, or -1 if the treasure has no such clue.
+     */
+    public int indexOf(@NotNull String description) {
+        return clueIndexes.getOrDefault(description, -1);
+    }
+
     /**
      * Adds a clue to the treasure.
      *
      * @param clue The clue to add.
+     * @return False if the treasure already has {@link #MAX_CLUES} clues or a clue with the same description.
      */
-    public void addClue(@NotNull Clue clue) {
+    public synchronized boolean addClue(@NotNull Clue clue) {
+        if (clues.size() >= MAX_CLUES || clueIndexes.containsKey(clue.description())) {
+            return false;
+        }
+        clueIndexes.put(clue.description(), clues.size());
         clues.add(clue);
+        return true;
     }
 
     /**
-     * Clears all clues associated with the treasure.
+     * Clears all clues associated with the treasure, along with their prerequisites.
      */
-    public void clearClues() {
+    public synchronized void clearClues() {
         clues.clear();
+        clueIndexes.clear();
+        prerequisites = null;
+    }
+
+    /**
+     * Replaces the prerequisites of a clue.
+     *
+     * @param index The position of the clue.
+     * @param mask The bitmask of the positions of the clues it requires; all must be lower than {@code index}.
+     * @return False if the position is unknown or the mask refers to the clue itself or a later clue.
+     */
+    public synchronized boolean setPrerequisites(int index, long mask) {
+        if (index < 0 || index >= clues.size() || (mask & -(1L << index)) != 0) {
+            return false;
+        }
+        long[] updated = prerequisites != null ? prerequisites.clone() : new long[MAX_CLUES];
+        updated[index] = mask;
+        prerequisites = updated;
+        return true;
+    }
+
+    /**
+     * Gets the prerequisites of a clue.
+     *
+     * @param index The position of the clue.
+     * @return The bitmask of the positions of the clues it requires.
+     */
+    public long getPrerequisites(int index) {
+        long[] current = prerequisites;
+        return current != null && index >= 0 && index < current.length ? current[index] : 0L;
+    }
+
+    /**
+     * Checks whether all prerequisites of a clue are solved.
+     *
+     * @param index The position of the clue.
+     * @param solvedMask The bitmask of the positions of the solved clues.
+     * @return True if the clue can be solved.
+     */
+    public boolean isUnlocked(int index, long solvedMask) {
+        return (getPrerequisites(index) & ~solvedMask) == 0;
+    }
+
+    /**
+     * Gets the descriptions of the clues a clue requires, in position order.
+     *
+     * @param index The position of the clue.
+     * @return The descriptions of the required clues.
+     */
+    public List<String> getPrerequisiteDescriptions(int index) {
+        long mask = getPrerequisites(index);
+        var descriptions = new ArrayList<String>(Long.bitCount(mask));
+        List<Clue> snapshot = clues;
+        for (int i = 0; i < snapshot.size() && mask != 0; i++, mask >>>= 1) {
+            if ((mask & 1) != 0) {
+                descriptions.add(snapshot.get(i).description());
+            }
+        }
+        return descriptions;
+    }
+
+    /**
+     * Checks whether the treasure's world is loaded and bound to its locations.
+     *
+     * @return True if bound.
+     */
+    public boolean isBound() {
+        return location.getWorld() != null;
+    }
+
+    /**
+     * Points the treasure's location and its clues' locations at its newly loaded world.
+     *
+     * @param world The loaded world, which must have the treasure's world name.
+     */
+    public void bind(@NotNull World world) {
+        location.setWorld(world);
+        clues.forEach(clue -> clue.location().setWorld(world));
+    }
+
+    /**
+     * Clears the world from the treasure's location and its clues' locations, so an unloaded world is not retained.
+     */
+    public void unbind() {
+        location.setWorld(null);
+        clues.forEach(clue -> clue.location().setWorld(null));
     }
 
     /**
@@ -0,0 +1,388 @@
+package gg.kite.managers;
+
+import com.google.inject.Inject;
+import org.bukkit.HeightMap;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Places randomly generated treasures and clues around a center point.
+ * <p>
+ * Candidate chunks are loaded with {@link World#getChunkAtAsync(int, int)}, whose callbacks run on the main thread,
+ * so a generation only ever does a surface check and an index insert per callback. At most
+ * {@code generation.max-chunk-loads} placements are in flight at once, each holding a single chunk load, and freed
+ * slots are refilled by a housekeeping task on the {@link TickScheduler}, as far as its per-tick budget allows.
+ * If a placement fails, no new ones start; the run finishes once those in flight are done, and its future fails.
+ * Accepted treasures are indexed immediately, which keeps the spacing check exact, and persisted in bulk batches.
+ */
+public class TreasureGenerator {
+    private final TreasureManager treasureManager;
+    private final Storage storage;
+    private final TaskExecutor taskExecutor;
+    private final Logger logger;
+    private final Random random;
+    private final int maxCount;
+    private final int maxRadius;
+    private final int maxChunkLoads;
+    private final int maxAttemptsPerTreasure;
+    private final int batchSize;
+    private final double minSpacing;
+    private final int cluesPerTreasure;
+    private final double clueDistance;
+    private final int maxRarity;
+    private final String clueDescription;
+    private boolean running;
+
+    /**
+     * Constructs a TreasureGenerator from the {@code generation} configuration section.
+     *
+     * @param treasureManager The treasure manager holding the in-memory state and indexes.
+     * @param storage The storage persisting generated records.
+     * @param taskExecutor The executor that serializes database writes.
+     * @param config The plugin configuration.
+     * @param plugin The plugin instance, providing the logger.
+     */
+    @Inject
+    public TreasureGenerator(@NotNull TreasureManager treasureManager, @NotNull Storage storage,
+                             @NotNull TaskExecutor taskExecutor, @NotNull FileConfiguration config, @NotNull JavaPlugin plugin) {
+        this.treasureManager = treasureManager;
+        this.storage = storage;
+        this.taskExecutor = taskExecutor;
+        this.logger = plugin.getLogger();
+        this.random = new Random();
+        this.maxCount = Math.max(1, config.getInt("generation.max-count", 1000));
+        this.maxRadius = Math.max(16, config.getInt("generation.max-radius", 5000));
+        this.maxChunkLoads = Math.max(1, config.getInt("generation.max-chunk-loads", 8));
+        this.maxAttemptsPerTreasure = Math.max(1, config.getInt("generation.max-attempts-per-treasure", 20));
+        this.batchSize = Math.max(1, config.getInt("generation.batch-size", 100));
+        this.minSpacing = Math.max(0, config.getDouble("generation.min-spacing", 64.0));
+        this.cluesPerTreasure = Math.max(0, config.getInt("generation.clues-per-treasure", 3));
+        // Keep clues well inside max-clue-distance so differences in surface height cannot push them past it.
+        this.clueDistance = Math.min(config.getDouble("generation.clue-distance", 32.0), treasureManager.getMaxClueDistance() * 0.75);
+        this.maxRarity = Math.max(1, config.getInt("generation.max-rarity", 3));
+        this.clueDescription = config.getString("generation.clue-description", "Clue %d for %s");
+    }
+
+    /**
+     * Starts generating treasures around a center point. Must be called on the main thread.
+     *
+     * @param center The center of the area, whose world receives the treasures.
+     * @param count The number of treasures to generate.
+     * @param radius The maximum horizontal distance from the center.
+     * @param progress Callback receiving the running treasure count after each persisted batch.
+     * @return A future completed with the totals once every batch has been written.
+     * @throws IllegalArgumentException if the count or radius is out of range.
+     * @throws IllegalStateException if another generation is running.
+     */
+    public CompletableFuture<Result> generate(@NotNull Location center, int count, int radius, @NotNull Consumer<Integer> progress) {
+        if (count < 1 || count > maxCount) {
+            throw new IllegalArgumentException("Count must be between 1 and " + maxCount);
+        }
+        if (radius < 16 || radius > maxRadius) {
+            throw new IllegalArgumentException("Radius must be between 16 and " + maxRadius);
+        }
+        if (center.getWorld() == null) {
+            throw new IllegalArgumentException("Center must be in a loaded world");
+        }
+        if (running) {
+            throw new IllegalStateException("Another generation is already running");
+        }
+        running = true;
+        Job job = new Job(center, count, radius, progress);
+        job.pump();
+        return job.result;
+    }
+
+    /**
+     * Loads the chunk containing a column and finds a safe surface position in it.
+     *
+     * @param world The world.
+     * @param x The block x coordinate.
+     * @param z The block z coordinate.
+     * @return A future completed on the main thread with the position above the surface, or null if unsafe.
+     */
+    private CompletableFuture<Location> findSurface(@NotNull World world, int x, int z) {
+        return world.getChunkAtAsync(x >> 4, z >> 4).thenApply(chunk -> surfaceAt(world, x, z));
+    }
+
+    /**
+     * Checks a column for a solid, dry surface with two passable blocks above it.
+     *
+     * @param world The world.
+     * @param x The block x coordinate.
+     * @param z The block z coordinate.
+     * @return The position above the surface, or null if the column is unsafe.
+     */
+    private @Nullable Location surfaceAt(@NotNull World world, int x, int z) {
+        Block ground = world.getHighestBlockAt(x, z, HeightMap.MOTION_BLOCKING_NO_LEAVES);
+        if (ground.isLiquid() || !ground.getType().isSolid()) return null;
+        Block feet = ground.getRelative(BlockFace.UP);
+        Block head = feet.getRelative(BlockFace.UP);
+        if (feet.isLiquid() || !feet.isPassable() || head.isLiquid() || !head.isPassable()) return null;
+        Location location = feet.getLocation().add(0.5, 0, 0.5);
+        return world.getWorldBorder().isInside(location) ? location : null;
+    }
+
+    /**
+     * State of one generation run. Only touched from the main thread.
+     */
+    private final class Job {
+        private final World world;
+        private final int centerX;
+        private final int centerZ;
+        private final int count;
+        private final int radius;
+        private final String namePrefix;
+        private final Consumer<Integer> progress;
+        private final CompletableFuture<Result> result;
+        private final List<Treasure> pendingTreasures;
+        private final List<ClueEntry> pendingClues;
+        private CompletableFuture<Void> writes;
+        private @Nullable Throwable failure;
+        private int inFlight;
+        private int searching;
+        private int attempts;
+        private int created;
+        private int clues;
+        private int sequence;
+        private boolean pumpScheduled;
+
+        private Job(@NotNull Location center, int count, int radius, @NotNull Consumer<Integer> progress) {
+            this.world = center.getWorld();
+            this.centerX = center.getBlockX();
+            this.centerZ = center.getBlockZ();
+            this.count = count;
+            this.radius = radius;
+            this.namePrefix = "gen-" + Long.toString(System.currentTimeMillis(), 36) + "-";
+            this.progress = progress;
+            this.result = new CompletableFuture<>();
+            this.pendingTreasures = new ArrayList<>(batchSize);
+            this.pendingClues = new ArrayList<>(batchSize * Math.max(1, cluesPerTreasure));
+            this.writes = CompletableFuture.completedFuture(null);
+        }
+
+        /**
+         * Starts placements until the in-flight limit is reached, or finishes once nothing is left to do.
+         */
+        private void pump() {
+            while (failure == null && inFlight < maxChunkLoads && created + searching < count
+                    && attempts < count * maxAttemptsPerTreasure) {
+                attempts++;
+                inFlight++;
+                searching++;
+                Slot slot = new Slot();
+                try {
+                    placeTreasure(slot);
+                } catch (RuntimeException e) {
+                    searching--;
+                    fail(slot, e);
+                }
+            }
+            if (inFlight == 0) {
+                finish();
+            }
+        }
+
+        /**
+         * Tries one random position for a treasure and places its clues if accepted.
+         *
+         * @param slot The in-flight slot the placement holds.
+         */
+        private void placeTreasure(@NotNull Slot slot) {
+            double angle = random.nextDouble() * Math.PI * 2;
+            double distance = Math.sqrt(random.nextDouble()) * radius;
+            int x = centerX + (int) Math.round(Math.cos(angle) * distance);
+            int z = centerZ + (int) Math.round(Math.sin(angle) * distance);
+            findSurface(world, x, z).whenComplete((location, error) -> guarded(slot, () -> {
+                searching--;
+                if (error != null) {
+                    logger.log(Level.WARNING, "Failed to load chunk for treasure generation", error);
+                }
+                if (location == null || created >= count || treasureManager.hasTreasureWithin(location, minSpacing)) {
+                    release(slot);
+                    return;
+                }
+                Treasure treasure = new Treasure(namePrefix + sequence++, location, 1 + random.nextInt(maxRarity));
+                if (treasureManager.addImportedTreasures(List.of(treasure)).isEmpty()) {
+                    release(slot);
+                    return;
+                }
+                created++;
+                pendingTreasures.add(treasure);
+                placeClue(slot, treasure, 0, 0);
+            }));
+        }
+
+        /**
+         * Places the clues of a treasure one after another, giving each a few attempts.
+         *
+         * @param slot The in-flight slot the placement holds.
+         * @param treasure The treasure.
+         * @param index The index of the clue being placed.
+         * @param tries The attempts already made for this clue.
+         */
+        private void placeClue(@NotNull Slot slot, @NotNull Treasure treasure, int index, int tries) {
+            if (index >= cluesPerTreasure) {
+                completeTreasure(slot);
+                return;
+            }
+            if (tries >= 3) {
+                placeClue(slot, treasure, index + 1, 0);
+                return;
+            }
+            Location origin = treasure.getLocation();
+            double angle = random.nextDouble() * Math.PI * 2;
+            double distance = clueDistance * (0.5 + random.nextDouble() * 0.5);
+            int x = origin.getBlockX() + (int) Math.round(Math.cos(angle) * distance);
+            int z = origin.getBlockZ() + (int) Math.round(Math.sin(angle) * distance);
+            findSurface(world, x, z).whenComplete((location, error) -> guarded(slot, () -> {
+                if (location == null) {
+                    placeClue(slot, treasure, index, tries + 1);
+                    return;
+                }
+                String description = String.format(clueDescription, index + 1, treasure.getName());
+                List<ClueEntry> added = treasureManager.addImportedClues(
+                        List.of(new ClueEntry(treasure.getName(), new Clue(description, location, treasureManager.getClueDifficulty()))));
+                if (added.isEmpty()) {
+                    placeClue(slot, treasure, index, tries + 1);
+                    return;
+                }
+                clues++;
+                pendingClues.addAll(added);
+                placeClue(slot, treasure, index + 1, 0);
+            }));
+        }
+
+        /**
+         * Finishes a placement, writing a batch once enough treasures are pending.
+         *
+         * @param slot The in-flight slot the placement holds.
+         */
+        private void completeTreasure(@NotNull Slot slot) {
+            if (pendingTreasures.size() >= batchSize) {
+                flush();
+                progress.accept(created);
+            }
+            release(slot);
+        }
+
+        /**
+         * Runs the body of a chunk load callback, failing the placement if it throws, so that its slot is always
+         * released.
+         *
+         * @param slot The in-flight slot the placement holds.
+         * @param body The callback body.
+         */
+        private void guarded(@NotNull Slot slot, @NotNull Runnable body) {
+            try {
+                body.run();
+            } catch (RuntimeException e) {
+                fail(slot, e);
+            }
+        }
+
+        /**
+         * Records the first failure of the run, which stops new placements, and releases the failed placement's slot.
+         *
+         * @param slot The in-flight slot the placement holds.
+         * @param error The failure.
+         */
+        private void fail(@NotNull Slot slot, @NotNull Throwable error) {
+            if (failure == null) {
+                failure = error;
+                logger.log(Level.WARNING, "Treasure generation failed; finishing the placements in flight", error);
+            }
+            release(slot);
+        }
+
+        /**
+         * Frees an in-flight slot and queues the next placements as housekeeping on the tick scheduler, merging the
+         * slots freed in the meantime into one pump. Chunks that are already loaded complete immediately, so placements
+         * can chain within a tick, but only while the tick's budget lasts; the rest waits for later ticks. A slot is
+         * only freed once, however often its placement reports completion.
+         *
+         * @param slot The in-flight slot to free.
+         */
+        private void release(@NotNull Slot slot) {
+            if (slot.released) return;
+            slot.released = true;
+            inFlight--;
+            if (pumpScheduled) return;
+            pumpScheduled = true;
+            taskExecutor.runSync(TickScheduler.Priority.HOUSEKEEPING, () -> {
+                pumpScheduled = false;
+                pump();
+            });
+        }
+
+        /**
+         * Persists the pending treasures and clues with bulk writes on the database thread.
+         */
+        private void flush() {
+            if (pendingTreasures.isEmpty() && pendingClues.isEmpty()) return;
+            List<Treasure> treasureBatch = List.copyOf(pendingTreasures);
+            List<ClueEntry> clueBatch = List.copyOf(pendingClues);
+            pendingTreasures.clear();
+            pendingClues.clear();
+            writes = CompletableFuture.allOf(writes, taskExecutor.runAsync(() -> {
+                storage.saveTreasures(treasureBatch);
+                storage.saveClues(clueBatch);
+            }));
+        }
+
+        /**
+         * Writes the remaining batch and completes the result once all writes are done, exceptionally if a placement
+         * failed.
+         */
+        private void finish() {
+            if (result.isDone()) return;
+            running = false;
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                result.completeExceptionally(failure != null ? failure : e);
+                return;
+            }
+            Result totals = new Result(created, clues, attempts);
+            writes.whenComplete((v, error) -> {
+                if (failure != null) {
+                    result.completeExceptionally(failure);
+                } else if (error != null) {
+                    result.completeExceptionally(error);
+                } else {
+                    result.complete(totals);
+                }
+            });
+        }
+    }
+
+    /**
+     * The in-flight slot held by one placement from its chunk load until it is accepted or given up.
+     */
+    private static final class Slot {
+        private boolean released;
+    }
+
+    /**
+     * Totals of a generation run.
+     *
+     * @param treasures The number of treasures created.
+     * @param clues The number of clues created.
+     * @param attempts The number of treasure positions tried.
+     */
+    public record Result(int treasures, int clues, int attempts) {}
+}
@@ -1,33 +1,47 @@
 package gg.kite.managers;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import com.google.inject.Inject;
 import gg.kite.config.MessageConfig;
+import gg.kite.events.LeaderboardChangeEvent;
+import gg.kite.metrics.LatencyHistogram;
+import gg.kite.metrics.LoadPhaseEvent;
+import gg.kite.metrics.Metrics;
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
  * Manages treasures, clues, teams, and game state with thread-safe operations.
  */
 public class TreasureManager {
-    private final DatabaseManager databaseManager;
+    private final Storage storage;
+    private final TaskExecutor taskExecutor;
+    private final CleanupService cleanupService;
+    private final PlayerNameCache playerNameCache;
     private final MessageConfig messageConfig;
     private final FileConfiguration config;
     private final ConcurrentHashMap<String, Treasure> treasures;
+    private final SpatialIndex<Treasure> treasureIndex;
+    private final SpatialIndex<ClueEntry> clueIndex;
+    private final AtomicInteger clueCount;
     private final ConcurrentHashMap<String, Team> teams;
-    private final ConcurrentHashMap<UUID, Set<String>> playerProgress;
-    private final ConcurrentHashMap<UUID, Set<String>> clueProgress;
-    private final Cache<UUID, Long> commandCooldowns;
+    private final ConcurrentHashMap<UUID, PlayerProgress> progress;
+    private final ConcurrentHashMap<UUID, HuntSession> sessions;
     private volatile boolean competitionActive;
     private final Random random;
     private final double maxClueDistance;
@@ -35,34 +49,55 @@ public class TreasureManager {
     private final int minCluesRequired;
     private final double treasureFindRadius;
     private final int maxTreasuresPerHunt;
+    private final long huntDurationMillis;
     private final Map<Integer, List<ItemStack>> rewardItems;
+    private final LatencyHistogram clueSolveLatency;
+    private final LatencyHistogram treasureFindLatency;
+    private final LongAdder clueSolves;
+    private final LongAdder treasureFinds;
+    private final LongAdder treasureCandidates;
 
     /**
      * Constructs a TreasureManager with the specified dependencies and configuration.
      *
-     * @param databaseManager The database manager for persistence.
+     * @param storage The storage for persistence.
+     * @param taskExecutor The executor running database work off the main thread.
+     * @param cleanupService The service removing related rows after deletes.
+     * @param playerNameCache The cache of player names persisted with teams.
      * @param config The plugin configuration.
      * @param messageConfig The message configuration for sending formatted messages.
+     * @param metrics The metrics registry for solve and find latencies.
      */
     @Inject
-    public TreasureManager(@NotNull DatabaseManager databaseManager, @NotNull FileConfiguration config, @NotNull MessageConfig messageConfig) {
-        this.databaseManager = databaseManager;
+    public TreasureManager(@NotNull Storage storage, @NotNull TaskExecutor taskExecutor,
+                           @NotNull CleanupService cleanupService, @NotNull PlayerNameCache playerNameCache,
+                           @NotNull FileConfiguration config, @NotNull MessageConfig messageConfig, @NotNull Metrics metrics) {
+        this.storage = storage;
+        this.taskExecutor = taskExecutor;
+        this.cleanupService = cleanupService;
+        this.playerNameCache = playerNameCache;
         this.config = config;
         this.messageConfig = messageConfig;
         this.treasures = new ConcurrentHashMap<>();
+        this.treasureIndex = new SpatialIndex<>(Treasure::getLocation);
+        this.clueIndex = new SpatialIndex<>(entry -> entry.clue().location());
+        this.clueCount = new AtomicInteger();
         this.teams = new ConcurrentHashMap<>();
-        this.playerProgress = new ConcurrentHashMap<>();
-        this.clueProgress = new ConcurrentHashMap<>();
-        this.commandCooldowns = CacheBuilder.newBuilder()
-                .expireAfterWrite(30, TimeUnit.SECONDS)
-                .build();
+        this.progress = new ConcurrentHashMap<>();
+        this.sessions = new ConcurrentHashMap<>();
         this.random = new Random();
         this.maxClueDistance = config.getDouble("treasure.max-clue-distance", 100.0);
         this.clueDifficulty = config.getString("treasure.clue-difficulty", "medium").toLowerCase();
         this.minCluesRequired = config.getInt("treasure.min-clues-required", 1);
         this.treasureFindRadius = config.getDouble("treasure.find-radius", 2.0);
         this.maxTreasuresPerHunt = config.getInt("treasure.max-treasures-per-hunt", 5);
+        this.huntDurationMillis = TimeUnit.MINUTES.toMillis(config.getLong("treasure.hunt-duration-minutes", 30));
         this.rewardItems = loadRewards(config);
+        this.clueSolveLatency = metrics.histogram("clue.solve");
+        this.treasureFindLatency = metrics.histogram("treasure.find");
+        this.clueSolves = metrics.counter("clue.solves");
+        this.treasureFinds = metrics.counter("treasure.finds");
+        this.treasureCandidates = metrics.counter("treasure.candidates");
         validateConfig();
         loadTreasures();
         loadTeams();
@@ -74,7 +109,7 @@ public class TreasureManager {
      * @throws IllegalArgumentException if configuration values are invalid.
      */
     private void validateConfig() {
-        if (treasureFindRadius <= 0 || maxClueDistance <= 0 || minCluesRequired < 0 || maxTreasuresPerHunt <= 0) {
+        if (treasureFindRadius <= 0 || maxClueDistance <= 0 || minCluesRequired < 0 || maxTreasuresPerHunt <= 0 || huntDurationMillis <= 0) {
             throw new IllegalArgumentException("Invalid configuration values in config.yml");
         }
     }
@@ -93,11 +128,14 @@ public class TreasureManager {
     }
 
     /**
-     * Cleans up stale data, such as empty teams, and saves to the database.
+     * Cleans up stale data, such as empty teams and expired hunts, and saves to the database.
      */
     public void cleanupStaleData() {
+        long now = System.currentTimeMillis();
+        sessions.values().removeIf(session -> session.isExpired(now));
         teams.entrySet().removeIf(entry -> entry.getValue().getMembers().isEmpty());
-        teams.forEach((name, team) -> databaseManager.saveTeam(team));
+        List<Team> snapshot = getTeams();
+        taskExecutor.execute(() -> snapshot.forEach(storage::saveTeam));
     }
 
     /**
@@ -106,32 +144,39 @@ public class TreasureManager {
      * @param name The treasure name.
      * @param location The treasure location.
      * @param rarity The treasure rarity.
-     * @return True if created successfully, false if name exists or invalid.
+     * @return A future completed with true once saved, or false if the name exists or is invalid.
      */
-    public boolean createTreasure(@NotNull String name, @NotNull Location location, int rarity) {
+    public CompletableFuture<Boolean> createTreasure(@NotNull String name, @NotNull Location location, int rarity) {
         if (name.length() > 32 || !name.matches("[a-zA-Z0-9_-]+") || location.getWorld() == null) {
-            return false;
+            return CompletableFuture.completedFuture(false);
+        }
+        Treasure treasure = new Treasure(name, location, Math.max(1, rarity));
+        if (treasures.putIfAbsent(name, treasure) != null) {
+            return CompletableFuture.completedFuture(false);
         }
-        return treasures.computeIfAbsent(name, k -> {
-            Treasure treasure = new Treasure(name, location, Math.max(1, rarity));
-            databaseManager.saveTreasure(treasure);
-            return treasure;
-        }) != null;
+        treasureIndex.add(treasure);
+        return taskExecutor.runAsync(() -> storage.saveTreasure(treasure)).thenApply(v -> true);
     }
 
     /**
-     * Deletes a treasure by name.
+     * Deletes a treasure by name. Its clues and progress are removed in the background.
      *
      * @param name The treasure name.
-     * @return True if deleted, false if not found.
+     * @return A future completed with true once deleted, or false if not found.
      */
-    public boolean deleteTreasure(@NotNull String name) {
+    public CompletableFuture<Boolean> deleteTreasure(@NotNull String name) {
         Treasure removed = treasures.remove(name);
-        if (removed != null) {
-            databaseManager.deleteTreasure(name);
-            return true;
+        if (removed == null) {
+            return CompletableFuture.completedFuture(false);
         }
-        return false;
+        treasureIndex.remove(removed);
+        clueCount.addAndGet(-removed.getClueCount());
+        removed.getClues().forEach(clue -> clueIndex.remove(new ClueEntry(name, clue)));
+        progress.values().forEach(p -> p.forgetTreasure(name));
+        return taskExecutor.runAsync(() -> {
+            storage.deleteTreasure(name);
+            cleanupService.queueTreasureCascade(name);
+        }).thenApply(v -> true);
     }
 
     /**
@@ -143,52 +188,345 @@ public class TreasureManager {
         return new ArrayList<>(treasures.values());
     }
 
+    /**
+     * Adds treasures read from an import, skipping names that already exist.
+     *
+     * @param imported The treasures to add.
+     * @return The treasures that were added and still need to be persisted.
+     */
+    public List<Treasure> addImportedTreasures(@NotNull List<Treasure> imported) {
+        var added = new ArrayList<Treasure>(imported.size());
+        for (Treasure treasure : imported) {
+            if (treasures.putIfAbsent(treasure.getName(), treasure) == null) {
+                index(treasure);
+                added.add(treasure);
+            }
+        }
+        return added;
+    }
+
+    /**
+     * Adds clues read from an import, skipping clues whose treasure is unknown, whose location is invalid,
+     * whose description already exists for the treasure, or whose treasure already has the maximum number of clues.
+     *
+     * @param imported The clues to add.
+     * @return The clues that were added and still need to be persisted.
+     */
+    public List<ClueEntry> addImportedClues(@NotNull List<ClueEntry> imported) {
+        var added = new ArrayList<ClueEntry>(imported.size());
+        for (ClueEntry entry : imported) {
+            var treasure = treasures.get(entry.treasureName());
+            if (treasure == null || !isValidClueLocation(treasure, entry.clue().world(), entry.clue().location())
+                    || !treasure.addClue(entry.clue())) {
+                continue;
+            }
+            clueCount.incrementAndGet();
+            if (treasure.isBound()) {
+                clueIndex.add(entry);
+            }
+            added.add(entry);
+        }
+        return added;
+    }
+
+    /**
+     * Applies the prerequisites of imported clues, which name earlier clues of the same treasure by description.
+     * Requirements whose clue is gone or whose prerequisites are not earlier clues are skipped.
+     *
+     * @param imported The prerequisites read from an import.
+     * @return The prerequisites that were applied and still need to be persisted, naming only the clues found.
+     */
+    public List<ClueRequirements> addImportedRequirements(@NotNull List<ClueRequirements> imported) {
+        var applied = new ArrayList<ClueRequirements>(imported.size());
+        for (ClueRequirements requirement : imported) {
+            var treasure = treasures.get(requirement.treasureName());
+            int index = treasure != null ? treasure.indexOf(requirement.description()) : -1;
+            if (index < 0) continue;
+            long mask = 0;
+            for (String required : requirement.requires()) {
+                int requiredIndex = treasure.indexOf(required);
+                if (requiredIndex >= 0) {
+                    mask |= 1L << requiredIndex;
+                }
+            }
+            if (mask != 0 && treasure.setPrerequisites(index, mask)) {
+                applied.add(new ClueRequirements(requirement.treasureName(), requirement.description(),
+                        treasure.getPrerequisiteDescriptions(index)));
+            }
+        }
+        return applied;
+    }
+
+    /**
+     * Activates the treasures and clues of a loaded chunk for proximity lookups.
+     *
+     * @param world The world name.
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     */
+    public void activateChunk(@NotNull String world, int chunkX, int chunkZ) {
+        treasureIndex.activate(world, chunkX, chunkZ);
+        clueIndex.activate(world, chunkX, chunkZ);
+    }
+
+    /**
+     * Deactivates the treasures and clues of an unloaded chunk. They stay in memory and the database.
+     *
+     * @param world The world name.
+     * @param chunkX The chunk X coordinate.
+     * @param chunkZ The chunk Z coordinate.
+     */
+    public void deactivateChunk(@NotNull String world, int chunkX, int chunkZ) {
+        treasureIndex.deactivate(world, chunkX, chunkZ);
+        clueIndex.deactivate(world, chunkX, chunkZ);
+    }
+
+    /**
+     * Activates every chunk that is already loaded, for chunks loaded before the chunk listener was registered.
+     */
+    public void activateLoadedChunks() {
+        LoadPhaseEvent phase = new LoadPhaseEvent();
+        phase.begin();
+        long chunks = 0;
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                activateChunk(world.getName(), chunk.getX(), chunk.getZ());
+                chunks++;
+            }
+        }
+        phase.commit("activate-chunks", chunks);
+    }
+
+    /**
+     * Invokes an action for every clue in a loaded chunk within a radius of a location.
+     *
+     * @param location The search center.
+     * @param radius The search radius.
+     * @param action The action to invoke for each nearby clue.
+     */
+    public void forEachClueNear(@NotNull Location location, double radius, @NotNull Consumer<ClueEntry> action) {
+        clueIndex.forEachNear(location, radius, action);
+    }
+
+    /**
+     * Finds the treasure in a loaded chunk nearest to a location within a radius.
+     *
+     * @param location The search center.
+     * @param radius The search radius.
+     * @return The nearest treasure, or null if none is within the radius.
+     */
+    public @Nullable Treasure findTreasureNear(@NotNull Location location, double radius) {
+        return treasureIndex.nearest(location, radius, treasure -> true);
+    }
+
+    /**
+     * Checks whether any treasure lies within a radius of a location.
+     *
+     * @param location The search center.
+     * @param radius The search radius.
+     * @return True if a treasure is within the radius.
+     */
+    public boolean hasTreasureWithin(@NotNull Location location, double radius) {
+        return treasureIndex.anyWithin(location, radius);
+    }
+
+    /**
+     * Finds the nearest treasure in a loaded chunk within a radius that belongs to a player's hunt and that they have
+     * not found yet.
+     *
+     * @param location The search center.
+     * @param radius The search radius.
+     * @param playerId The player's UUID.
+     * @param session The player's hunt, restricting the candidates.
+     * @return The nearest unfound hunted treasure, or null if none is within the radius.
+     */
+    public @Nullable Treasure findTreasureNear(@NotNull Location location, double radius, @NotNull UUID playerId,
+                                               @NotNull HuntSession session) {
+        PlayerProgress playerProgress = progress.get(playerId);
+        return treasureIndex.nearest(location, radius, treasure -> {
+            treasureCandidates.increment();
+            return session.contains(treasure.getName())
+                    && (playerProgress == null || !playerProgress.hasFoundTreasure(treasure.getName()));
+        });
+    }
+
+    /**
+     * Finds the location a hint should point a hunting player to: the nearest unlocked, unsolved clue or unfound treasure in
+     * their hunt, where a treasure only counts once enough of its clues are solved to find it. Targets in unloaded
+     * chunks are included, since hints reach further than the loaded area.
+     *
+     * @param playerId The player's UUID.
+     * @param session The player's active hunt.
+     * @param location The player's location.
+     * @param radius The search radius.
+     * @return The nearest target location, or null if none is within the radius.
+     */
+    public @Nullable Location findHintTarget(@NotNull UUID playerId, @NotNull HuntSession session, @NotNull Location location, double radius) {
+        PlayerProgress playerProgress = progress.get(playerId);
+        ClueEntry clue = clueIndex.nearestResident(location, radius, entry -> session.contains(entry.treasureName())
+                && isOnFrontier(playerProgress, entry));
+        double clueDistance = clue != null ? clue.clue().location().distanceSquared(location) : Double.MAX_VALUE;
+        Treasure treasure = treasureIndex.nearestResident(location, radius, t -> session.contains(t.getName())
+                && (playerProgress != null ? !playerProgress.hasFoundTreasure(t.getName())
+                        && playerProgress.getSolvedCount(t.getName()) >= minCluesRequired : minCluesRequired == 0));
+        if (treasure != null && treasure.getLocation().distanceSquared(location) < clueDistance) {
+            return treasure.getLocation();
+        }
+        return clue != null ? clue.clue().location() : null;
+    }
+
     /**
      * Creates a clue for a specified treasure.
      *
      * @param treasureName The treasure name.
      * @param description The clue description.
      * @param location The clue location.
-     * @return True if created successfully, false if invalid.
+     * @return A future completed with true once saved, or false if invalid, a duplicate, or over the clue limit.
      */
-    public boolean createClue(@NotNull String treasureName, @NotNull String description, @NotNull Location location) {
+    public CompletableFuture<Boolean> createClue(@NotNull String treasureName, @NotNull String description, @NotNull Location location) {
         var treasure = treasures.get(treasureName);
-        if (treasure == null || !isValidClueLocation(treasure, location)) {
-            return false;
+        if (treasure == null || location.getWorld() == null
+                || !isValidClueLocation(treasure, location.getWorld().getName(), location)) {
+            return CompletableFuture.completedFuture(false);
         }
         var clue = new Clue(description, location, clueDifficulty);
-        treasure.addClue(clue);
-        databaseManager.saveClue(treasureName, clue);
-        return true;
+        if (!treasure.addClue(clue)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        clueCount.incrementAndGet();
+        clueIndex.add(new ClueEntry(treasureName, clue));
+        return taskExecutor.runAsync(() -> storage.saveClue(treasureName, clue)).thenApply(v -> true);
+    }
+
+    /**
+     * Checks whether a clue is on a player's frontier: not yet solved, with all of its prerequisites solved.
+     *
+     * @param playerProgress The player's progress, or null if they have none.
+     * @param entry The clue.
+     * @return True if the player can solve the clue now.
+     */
+    public boolean isOnFrontier(@Nullable PlayerProgress playerProgress, @NotNull ClueEntry entry) {
+        var treasure = treasures.get(entry.treasureName());
+        int index = treasure != null ? treasure.indexOf(entry.clue().description()) : -1;
+        if (index < 0) return false;
+        long solved = playerProgress != null ? playerProgress.getSolvedMask(entry.treasureName()) : 0L;
+        return (solved & (1L << index)) == 0 && treasure.isUnlocked(index, solved);
+    }
+
+    /**
+     * Replaces the prerequisites of a clue, identified by positions in the treasure's clue list.
+     *
+     * @param treasureName The treasure name.
+     * @param clueIndex The zero-based position of the clue.
+     * @param requiredIndexes The zero-based positions of the clues it requires, all lower than {@code clueIndex}.
+     * @return A future completed with true once saved, or false if the treasure or a position is invalid.
+     */
+    public CompletableFuture<Boolean> setClueRequirements(@NotNull String treasureName, int clueIndex, @NotNull List<Integer> requiredIndexes) {
+        var treasure = treasures.get(treasureName);
+        if (treasure == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        long mask = 0;
+        for (int required : requiredIndexes) {
+            if (required < 0 || required >= clueIndex) {
+                return CompletableFuture.completedFuture(false);
+            }
+            mask |= 1L << required;
+        }
+        List<Clue> clues = treasure.getClues();
+        if (clueIndex >= clues.size() || !treasure.setPrerequisites(clueIndex, mask)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        String description = clues.get(clueIndex).description();
+        List<String> required = treasure.getPrerequisiteDescriptions(clueIndex);
+        return taskExecutor.runAsync(() -> storage.saveClueRequirements(treasureName, description, required))
+                .thenApply(v -> true);
     }
 
     /**
-     * Validates a clue's location relative to its treasure.
+     * Validates a clue's location relative to its treasure. Worlds are compared by name, so clues of treasures in
+     * worlds that are not loaded can be validated too.
      *
      * @param treasure The treasure.
+     * @param worldName The name of the clue's world.
      * @param location The clue location.
      * @return True if the clue location is valid, false otherwise.
      */
-    private boolean isValidClueLocation(@NotNull Treasure treasure, @NotNull Location location) {
-        return location.getWorld() != null &&
-                location.getWorld().equals(treasure.getLocation().getWorld()) &&
-                location.distance(treasure.getLocation()) <= maxClueDistance;
+    private boolean isValidClueLocation(@NotNull Treasure treasure, @NotNull String worldName, @NotNull Location location) {
+        if (!treasure.getWorldName().equals(worldName)) return false;
+        Location origin = treasure.getLocation();
+        double dx = location.getX() - origin.getX();
+        double dy = location.getY() - origin.getY();
+        double dz = location.getZ() - origin.getZ();
+        return dx * dx + dy * dy + dz * dz <= maxClueDistance * maxClueDistance;
+    }
+
+    /**
+     * Adds a treasure and its clues to the spatial indexes if its world is loaded.
+     *
+     * @param treasure The treasure.
+     */
+    private void index(@NotNull Treasure treasure) {
+        if (!treasure.isBound()) return;
+        treasureIndex.add(treasure);
+        treasure.getClues().forEach(clue -> clueIndex.add(new ClueEntry(treasure.getName(), clue)));
+    }
+
+    /**
+     * Binds the treasures stored for a world that has just loaded and adds them to the spatial indexes.
+     *
+     * @param world The loaded world.
+     * @return The number of treasures bound.
+     */
+    public int bindWorld(@NotNull World world) {
+        int bound = 0;
+        for (Treasure treasure : treasures.values()) {
+            if (treasure.isBound() || !treasure.getWorldName().equals(world.getName())) continue;
+            treasure.bind(world);
+            index(treasure);
+            bound++;
+        }
+        return bound;
+    }
+
+    /**
+     * Drops a world's grid from the spatial indexes and clears the world from its treasures, so no reference to the
+     * unloaded world is kept. The treasures stay in memory and are bound again when the world loads.
+     *
+     * @param worldName The name of the unloading world.
+     * @return The number of treasures unbound.
+     */
+    public int unbindWorld(@NotNull String worldName) {
+        treasureIndex.removeWorld(worldName);
+        clueIndex.removeWorld(worldName);
+        int unbound = 0;
+        for (Treasure treasure : treasures.values()) {
+            if (!treasure.isBound() || !treasure.getWorldName().equals(worldName)) continue;
+            treasure.unbind();
+            unbound++;
+        }
+        return unbound;
     }
 
     /**
      * Deletes all clues for a specified treasure.
      *
      * @param treasureName The treasure name.
-     * @return True if deleted, false if treasure not found.
+     * @return A future completed with true once deleted, or false if the treasure was not found.
      */
-    public boolean deleteClues(@NotNull String treasureName) {
+    public CompletableFuture<Boolean> deleteClues(@NotNull String treasureName) {
         var treasure = treasures.get(treasureName);
         if (treasure == null) {
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
+        treasure.getClues().forEach(clue -> clueIndex.remove(new ClueEntry(treasureName, clue)));
+        clueCount.addAndGet(-treasure.getClueCount());
         treasure.clearClues();
-        databaseManager.deleteClues(treasureName);
-        return true;
+        progress.values().forEach(p -> p.forgetClues(treasureName));
+        return taskExecutor.runAsync(() -> {
+            storage.deleteClues(treasureName);
+            cleanupService.queueClueCascade(treasureName);
+        }).thenApply(v -> true);
     }
 
     /**
@@ -208,19 +546,39 @@ public class TreasureManager {
      * @param player The player solving the clue.
      * @param treasureName The treasure name.
      * @param clueDescription The clue description.
-     * @return True if newly solved, false if already solved or invalid.
+     * @return True if newly solved, false if already solved, still locked by its prerequisites, or invalid.
      */
     public boolean markClueSolved(@NotNull Player player, @NotNull String treasureName, @NotNull String clueDescription) {
+        long start = System.nanoTime();
+        boolean solved = solveClue(player, treasureName, clueDescription);
+        clueSolveLatency.record(System.nanoTime() - start);
+        if (solved) {
+            clueSolves.increment();
+        }
+        return solved;
+    }
+
+    /**
+     * Records a clue as solved by a player and persists it.
+     *
+     * @param player The player solving the clue.
+     * @param treasureName The treasure name.
+     * @param clueDescription The clue description.
+     * @return True if newly solved.
+     */
+    private boolean solveClue(@NotNull Player player, @NotNull String treasureName, @NotNull String clueDescription) {
         var treasure = treasures.get(treasureName);
-        if (treasure == null || treasure.getClues().stream().noneMatch(c -> c.description().equals(clueDescription))) {
+        int index = treasure != null ? treasure.indexOf(clueDescription) : -1;
+        if (index < 0) {
             return false;
         }
-        String clueId = treasureName + ":" + clueDescription;
-        Set<String> playerClues = clueProgress.computeIfAbsent(player.getUniqueId(), k -> ConcurrentHashMap.newKeySet());
-        if (!playerClues.add(clueId)) {
+        UUID playerId = player.getUniqueId();
+        PlayerProgress playerProgress = progress.computeIfAbsent(playerId, k -> new PlayerProgress());
+        if (!treasure.isUnlocked(index, playerProgress.getSolvedMask(treasureName))
+                || !playerProgress.markClueSolved(treasureName, clueDescription, index)) {
             return false;
         }
-        databaseManager.saveClueProgress(player.getUniqueId(), treasureName, clueDescription);
+        taskExecutor.execute(() -> storage.saveClueProgress(playerId, treasureName, clueDescription));
         return true;
     }
 
@@ -232,26 +590,44 @@ public class TreasureManager {
      * @return True if found successfully, false if conditions not met.
      */
     public boolean markTreasureFound(@NotNull Player player, @NotNull String treasureName) {
+        long start = System.nanoTime();
+        boolean found = findTreasure(player, treasureName);
+        treasureFindLatency.record(System.nanoTime() - start);
+        if (found) {
+            treasureFinds.increment();
+        }
+        return found;
+    }
+
+    /**
+     * Records a treasure as found by a player, persists it, awards rewards and completes the hunt if it was the last.
+     *
+     * @param player The player finding the treasure.
+     * @param treasureName The treasure name.
+     * @return True if newly found.
+     */
+    private boolean findTreasure(@NotNull Player player, @NotNull String treasureName) {
         var treasure = treasures.get(treasureName);
         if (treasure == null) return false;
 
-        Set<String> playerClues = clueProgress.getOrDefault(player.getUniqueId(), Set.of());
-        long solvedClues = playerClues.stream()
-                .filter(clueId -> clueId.startsWith(treasureName + ":"))
-                .count();
-        if (solvedClues < minCluesRequired) {
+        UUID playerId = player.getUniqueId();
+        PlayerProgress playerProgress = progress.computeIfAbsent(playerId, k -> new PlayerProgress());
+        if (playerProgress.getSolvedCount(treasureName) < minCluesRequired) {
             return false;
         }
-
-        Set<String> playerTreasures = playerProgress.computeIfAbsent(player.getUniqueId(), k -> ConcurrentHashMap.newKeySet());
-        if (!playerTreasures.add(treasureName)) {
+        if (!playerProgress.markTreasureFound(treasureName)) {
             return false;
         }
 
-        databaseManager.savePlayerProgress(player.getUniqueId(), treasureName);
+        taskExecutor.execute(() -> storage.savePlayerProgress(playerId, treasureName));
         awardRewards(player, treasure);
         updateTeamScore(player);
         player.sendMessage(messageConfig.getMessage("treasure-found", "%s", treasureName));
+        HuntSession session = sessions.get(playerId);
+        if (session != null && session.getTreasureNames().stream().allMatch(name -> playerProgress.hasFoundTreasure(name) || !treasures.containsKey(name))) {
+            sessions.remove(playerId, session);
+            player.sendMessage(messageConfig.getMessage("hunt-complete"));
+        }
         return true;
     }
 
@@ -281,23 +657,39 @@ public class TreasureManager {
                 .findFirst()
                 .ifPresent(team -> {
                     team.incrementScore();
-                    databaseManager.saveTeam(team);
+                    taskExecutor.execute(() -> storage.saveTeam(team));
+                    fireLeaderboardChange(team.getName());
                 });
     }
 
+    /**
+     * Notifies listeners that team standings may have changed, moving to the main thread if needed.
+     *
+     * @param teamName The name of the team that changed, or null if every team may have changed.
+     */
+    private void fireLeaderboardChange(@Nullable String teamName) {
+        if (Bukkit.isPrimaryThread()) {
+            Bukkit.getPluginManager().callEvent(new LeaderboardChangeEvent(teamName));
+        } else {
+            taskExecutor.runSync(() -> Bukkit.getPluginManager().callEvent(new LeaderboardChangeEvent(teamName)));
+        }
+    }
+
     /**
      * Creates a new team.
      *
      * @param name The team name.
      * @param player The player creating the team.
-     * @return True if created, false if name exists.
+     * @return A future completed with true once saved, or false if the name exists.
      */
-    public boolean createTeam(@NotNull String name, @NotNull Player player) {
-        return teams.computeIfAbsent(name, k -> {
-            Team team = new Team(name, player.getUniqueId());
-            databaseManager.saveTeam(team);
-            return team;
-        }) != null;
+    public CompletableFuture<Boolean> createTeam(@NotNull String name, @NotNull Player player) {
+        playerNameCache.remember(player.getUniqueId(), player.getName());
+        Team team = new Team(name, player.getUniqueId());
+        if (teams.putIfAbsent(name, team) != null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        fireLeaderboardChange(name);
+        return taskExecutor.runAsync(() -> storage.saveTeam(team)).thenApply(v -> true);
     }
 
     /**
@@ -305,14 +697,15 @@ public class TreasureManager {
      *
      * @param teamName The team name.
      * @param invited The player to invite.
-     * @return True if invited successfully, false otherwise.
+     * @return A future completed with true once saved, or false if the team was not found.
      */
-    public boolean invitePlayer(@NotNull String teamName, @NotNull Player invited) {
+    public CompletableFuture<Boolean> invitePlayer(@NotNull String teamName, @NotNull Player invited) {
         Team team = teams.get(teamName);
-        if (team == null) return false;
+        if (team == null) return CompletableFuture.completedFuture(false);
+        playerNameCache.remember(invited.getUniqueId(), invited.getName());
         team.addMember(invited.getUniqueId());
-        databaseManager.saveTeam(team);
-        return true;
+        fireLeaderboardChange(teamName);
+        return taskExecutor.runAsync(() -> storage.saveTeam(team)).thenApply(v -> true);
     }
 
     /**
@@ -320,14 +713,14 @@ public class TreasureManager {
      *
      * @param teamName The team name.
      * @param kicked The player to kick.
-     * @return True if kicked successfully, false otherwise.
+     * @return A future completed with true once saved, or false if the team was not found.
      */
-    public boolean kickPlayer(@NotNull String teamName, @NotNull Player kicked) {
+    public CompletableFuture<Boolean> kickPlayer(@NotNull String teamName, @NotNull Player kicked) {
         Team team = teams.get(teamName);
-        if (team == null) return false;
+        if (team == null) return CompletableFuture.completedFuture(false);
         team.removeMember(kicked.getUniqueId());
-        databaseManager.saveTeam(team);
-        return true;
+        fireLeaderboardChange(teamName);
+        return taskExecutor.runAsync(() -> storage.saveTeam(team)).thenApply(v -> true);
     }
 
     /**
@@ -340,36 +733,121 @@ public class TreasureManager {
     }
 
     /**
-     * Starts a treasure hunt for a player.
+     * Gets the number of records of each kind held in memory, read from the maps' own counters and a clue counter
+     * that also covers treasures in worlds that are not loaded.
+     *
+     * @return The record counts.
+     */
+    public Counts getCounts() {
+        return new Counts(treasures.size(), clueCount.get(), teams.size(), progress.size(), sessions.size());
+    }
+
+    /**
+     * Gets the occupancy of the treasure index.
+     *
+     * @return The treasure index statistics.
+     */
+    public SpatialIndex.Stats getTreasureIndexStats() {
+        return treasureIndex.stats();
+    }
+
+    /**
+     * Gets the occupancy of the clue index.
+     *
+     * @return The clue index statistics.
+     */
+    public SpatialIndex.Stats getClueIndexStats() {
+        return clueIndex.stats();
+    }
+
+    /**
+     * Starts a treasure hunt for a player, selecting up to the configured number of unfound treasures at random.
+     * The selection is kept as the player's session, and only its treasures and their clues are detected until
+     * the session is completed or expires. Repeated starts are throttled by the command rate limiter.
      *
      * @param player The player starting the hunt.
      */
     public void startHunt(@NotNull Player player) {
-        Long lastUsed = commandCooldowns.getIfPresent(player.getUniqueId());
-        if (lastUsed != null && System.currentTimeMillis() - lastUsed < 30_000) {
-            player.sendMessage(messageConfig.getMessage("cooldown-active"));
+        UUID playerId = player.getUniqueId();
+        HuntSession current = getActiveSession(playerId);
+        if (current != null) {
+            long minutesLeft = Math.max(1, TimeUnit.MILLISECONDS.toMinutes(current.getExpiresAt() - System.currentTimeMillis()));
+            player.sendMessage(messageConfig.getMessage("hunt-active",
+                    "%d", String.valueOf(current.getTreasureNames().size()), "%m", String.valueOf(minutesLeft)));
             return;
         }
-        commandCooldowns.put(player.getUniqueId(), System.currentTimeMillis());
-        List<Treasure> available = getTreasures().stream()
-                .filter(t -> !playerProgress.getOrDefault(player.getUniqueId(), Set.of()).contains(t.getName()))
-                .limit(maxTreasuresPerHunt)
-                .toList();
-        if (available.isEmpty()) {
+        PlayerProgress playerProgress = progress.get(playerId);
+        List<String> selected = new ArrayList<>(maxTreasuresPerHunt);
+        int seen = 0;
+        for (Treasure treasure : treasures.values()) {
+            if (playerProgress != null && playerProgress.hasFoundTreasure(treasure.getName())) continue;
+            seen++;
+            if (selected.size() < maxTreasuresPerHunt) {
+                selected.add(treasure.getName());
+            } else {
+                int slot = random.nextInt(seen);
+                if (slot < maxTreasuresPerHunt) {
+                    selected.set(slot, treasure.getName());
+                }
+            }
+        }
+        if (selected.isEmpty()) {
             player.sendMessage(messageConfig.getMessage("no-treasures-available"));
-        } else {
-            player.sendMessage(messageConfig.getMessage("hunt-started", "%d", String.valueOf(available.size())));
+            return;
+        }
+        sessions.put(playerId, new HuntSession(new HashSet<>(selected), System.currentTimeMillis(), huntDurationMillis));
+        player.sendMessage(messageConfig.getMessage("hunt-started", "%d", String.valueOf(selected.size())));
+        player.sendMessage(messageConfig.getMessage("hunt-treasures", "%s", String.join(", ", selected)));
+    }
+
+    /**
+     * Gets a player's active hunt, discarding it if it has expired.
+     *
+     * @param playerId The player's UUID.
+     * @return The active session, or null if the player is not hunting.
+     */
+    public @Nullable HuntSession getActiveSession(@NotNull UUID playerId) {
+        HuntSession session = sessions.get(playerId);
+        if (session != null && session.isExpired(System.currentTimeMillis())) {
+            sessions.remove(playerId, session);
+            return null;
         }
+        return session;
     }
 
     /**
-     * Starts a competition among all teams.
+     * Starts a competition among all teams. The score reset and the announcement are queued on the tick scheduler,
+     * as gameplay and feedback, instead of running inside the command.
      */
     public void startCompetition() {
         if (competitionActive) return;
         competitionActive = true;
-        teams.values().forEach(Team::resetScore);
-        Bukkit.broadcastMessage(messageConfig.getMessage("competition-started"));
+        taskExecutor.runSync(TickScheduler.Priority.GAMEPLAY, () -> {
+            teams.values().forEach(Team::resetScore);
+            fireLeaderboardChange(null);
+        });
+        taskExecutor.runSync(TickScheduler.Priority.FEEDBACK,
+                () -> Bukkit.broadcastMessage(messageConfig.getMessage("competition-started")));
+    }
+
+    /**
+     * Checks whether a competition is running.
+     *
+     * @return True if a competition is active.
+     */
+    public boolean isCompetitionActive() {
+        return competitionActive;
+    }
+
+    /**
+     * Gets all teams ranked by score, highest first.
+     *
+     * @return A sorted list of teams.
+     */
+    public List<Team> getRankedTeams() {
+        return teams.values().stream()
+                .sorted(Comparator.comparingInt(Team::getScore).reversed().thenComparing(Team::getName))
+                .toList();
     }
 
     /**
@@ -393,6 +871,24 @@ public class TreasureManager {
         return treasureFindRadius;
     }
 
+    /**
+     * Gets the maximum distance a clue may be from its treasure.
+     *
+     * @return The maximum clue distance.
+     */
+    public double getMaxClueDistance() {
+        return maxClueDistance;
+    }
+
+    /**
+     * Gets the difficulty assigned to new clues.
+     *
+     * @return The clue difficulty.
+     */
+    public String getClueDifficulty() {
+        return clueDifficulty;
+    }
+
     /**
      * Gets the minimum number of clues required to find a treasure.
      *
@@ -403,36 +899,66 @@ public class TreasureManager {
     }
 
     /**
-     * Gets a player's clue progress.
+     * Gets a player's hunt progress.
      *
      * @param playerId The player's UUID.
-     * @return A set of clue IDs solved by the player.
+     * @return The player's progress, or null if they have none.
      */
-    public Set<String> getPlayerClueProgress(@NotNull UUID playerId) {
-        return clueProgress.getOrDefault(playerId, Set.of());
+    public @Nullable PlayerProgress getPlayerProgress(@NotNull UUID playerId) {
+        return progress.get(playerId);
     }
 
     /**
-     * Gets a player's treasure progress.
+     * Gets a treasure by name.
      *
-     * @param playerId The player's UUID.
-     * @return A set of treasure names found by the player.
+     * @param name The treasure name.
+     * @return The treasure, or null if not found.
      */
-    public Set<String> getPlayerTreasureProgress(@NotNull UUID playerId) {
-        return playerProgress.getOrDefault(playerId, Set.of());
+    public @Nullable Treasure getTreasure(@NotNull String name) {
+        return treasures.get(name);
     }
 
     /**
      * Loads treasures from the database.
      */
     private void loadTreasures() {
-        databaseManager.loadTreasures().forEach(t -> treasures.put(t.getName(), t));
+        LoadPhaseEvent phase = new LoadPhaseEvent();
+        phase.begin();
+        storage.loadTreasures().forEach(t -> {
+            treasures.put(t.getName(), t);
+            clueCount.addAndGet(t.getClueCount());
+            index(t);
+        });
+        phase.commit("load-treasures", treasures.size());
     }
 
     /**
      * Loads teams from the database.
      */
     private void loadTeams() {
-        databaseManager.loadTeams().forEach(t -> teams.put(t.getName(), t));
+        LoadPhaseEvent phase = new LoadPhaseEvent();
+        phase.begin();
+        storage.loadTeams().forEach(t -> teams.put(t.getName(), t));
+        phase.commit("load-teams", teams.size());
     }
+
+    /**
+     * Numbers of records held in memory.
+     *
+     * @param treasures The number of treasures.
+     * @param clues The number of clues.
+     * @param teams The number of teams.
+     * @param players The number of players with progress.
+     * @param sessions The number of hunt sessions, including expired ones not yet swept.
+     */
+    public record Counts(int treasures, int clues, int teams, int players, int sessions) {}
+
+    /**
+     * The prerequisites of a clue by description.
+     *
+     * @param treasureName The name of the clue's treasure.
+     * @param description The clue description.
+     * @param requires The descriptions of the clues it requires.
+     */
+    public record ClueRequirements(@NotNull String treasureName, @NotNull String description, @NotNull List<String> requires) {}
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package gg.kite.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one evaluation of the clues around a moving player.
+ * <p>
+ * Disabled by default; enable it in a recording with {@code gg.kite.treasurehunt.ClueProximity#enabled=true}.
+ */
+@Name("gg.kite.treasurehunt.ClueProximity")
+@Label("Clue Proximity Check")
+@Description("Evaluation of the clues around a moving hunting player")
+@Category({"TreasureHunt", "Gameplay"})
+@Enabled(false)
+@StackTrace(false)
+public class ClueProximityEvent extends Event {
+    @Label("Player")
+    public String player;
+
+    @Label("Candidates Scanned")
+    public int candidates;
+
+    @Label("Clues Solved")
+    public int solved;
+}
@@ -0,0 +1,15 @@
+package gg.kite.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the plugin's counters.
+ */
+public interface CountersMXBean {
+    /**
+     * Gets the current value of every counter.
+     *
+     * @return The counter values by name.
+     */
+    Map<String, Long> getCounters();
+}
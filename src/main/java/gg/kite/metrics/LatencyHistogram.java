@@ -0,0 +1,136 @@
+package gg.kite.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of durations in nanoseconds.
+ * <p>
+ * Values are bucketed by their power of two and the next three bits below it, the layout HdrHistogram uses with
+ * three bits of precision, so every recorded value is within 12.5% of its bucket's bounds. Recording is one
+ * {@link AtomicLongArray} increment plus two {@link LongAdder} updates, and never allocates.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final LongAdder count;
+    private final LongAdder sum;
+    private final AtomicLong max;
+
+    /**
+     * Constructs an empty LatencyHistogram.
+     */
+    public LatencyHistogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.count = new LongAdder();
+        this.sum = new LongAdder();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos The duration in nanoseconds; negative values are recorded as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(bucketFor(value));
+        count.increment();
+        sum.add(value);
+        if (value > max.get()) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Takes a snapshot of the histogram's summary statistics.
+     *
+     * @return The snapshot.
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        long maxValue = max.get();
+        double mean = total > 0 ? (double) sum.sum() / total : 0;
+        return new Snapshot(total, mean, percentile(copy, total, 0.50, maxValue), percentile(copy, total, 0.90, maxValue),
+                percentile(copy, total, 0.99, maxValue), percentile(copy, total, 0.999, maxValue), maxValue);
+    }
+
+    /**
+     * Finds the upper bound of the bucket containing a percentile.
+     *
+     * @param counts The bucket counts.
+     * @param total The total count.
+     * @param quantile The quantile, between 0 and 1.
+     * @param maxValue The largest recorded value, capping the result.
+     * @return The percentile value in nanoseconds.
+     */
+    private static long percentile(long[] counts, long total, double quantile, long maxValue) {
+        if (total == 0) return 0;
+        long target = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(maxValue, upperBound(i));
+            }
+        }
+        return maxValue;
+    }
+
+    /**
+     * Gets the bucket of a value.
+     *
+     * @param value The non-negative value.
+     * @return The bucket index.
+     */
+    static int bucketFor(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return ((exponent - SUB_BUCKET_BITS + 1) << SUB_BUCKET_BITS) | subBucket;
+    }
+
+    /**
+     * Gets the largest value that falls in a bucket.
+     *
+     * @param bucket The bucket index.
+     * @return The inclusive upper bound.
+     */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exponent = (bucket >>> SUB_BUCKET_BITS) + SUB_BUCKET_BITS - 1;
+        long lower = (long) (SUB_BUCKETS | (bucket & (SUB_BUCKETS - 1))) << (exponent - SUB_BUCKET_BITS);
+        return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    /**
+     * Summary statistics of a histogram, in nanoseconds.
+     *
+     * @param count The number of recorded values.
+     * @param mean The mean value.
+     * @param p50 The median.
+     * @param p90 The 90th percentile.
+     * @param p99 The 99th percentile.
+     * @param p999 The 99.9th percentile.
+     * @param max The largest value.
+     */
+    public record Snapshot(long count, double mean, long p50, long p90, long p99, long p999, long max) {}
+}
@@ -0,0 +1,55 @@
+package gg.kite.metrics;
+
+/**
+ * JMX view of a {@link LatencyHistogram}, with durations in microseconds.
+ */
+public interface LatencyMXBean {
+    /**
+     * Gets the number of recorded durations.
+     *
+     * @return The count.
+     */
+    long getCount();
+
+    /**
+     * Gets the mean duration.
+     *
+     * @return The mean in microseconds.
+     */
+    double getMeanMicros();
+
+    /**
+     * Gets the median duration.
+     *
+     * @return The median in microseconds.
+     */
+    long getP50Micros();
+
+    /**
+     * Gets the 90th percentile duration.
+     *
+     * @return The percentile in microseconds.
+     */
+    long getP90Micros();
+
+    /**
+     * Gets the 99th percentile duration.
+     *
+     * @return The percentile in microseconds.
+     */
+    long getP99Micros();
+
+    /**
+     * Gets the 99.9th percentile duration.
+     *
+     * @return The percentile in microseconds.
+     */
+    long getP999Micros();
+
+    /**
+     * Gets the longest duration.
+     *
+     * @return The maximum in microseconds.
+     */
+    long getMaxMicros();
+}
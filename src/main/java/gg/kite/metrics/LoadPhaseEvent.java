@@ -0,0 +1,45 @@
+package gg.kite.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Flight Recorder event for one phase of loading the plugin's state at startup.
+ * <p>
+ * Disabled by default; enable it in a recording with {@code gg.kite.treasurehunt.LoadPhase#enabled=true}.
+ */
+@Name("gg.kite.treasurehunt.LoadPhase")
+@Label("Load Phase")
+@Description("A startup phase such as connecting to MongoDB or loading treasures")
+@Category({"TreasureHunt", "Startup"})
+@Enabled(false)
+@StackTrace(false)
+public class LoadPhaseEvent extends Event {
+    @Label("Phase")
+    public String phase;
+
+    @Label("Records")
+    @Description("Records loaded or activated in the phase, or -1 if not applicable")
+    public long records;
+
+    /**
+     * Ends the phase and records it if the event is enabled.
+     *
+     * @param name The phase name.
+     * @param count The number of records loaded or activated, or -1 if not applicable.
+     */
+    public void commit(@NotNull String name, long count) {
+        end();
+        if (shouldCommit()) {
+            phase = name;
+            records = count;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package gg.kite.metrics;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registry of the plugin's counters and latency histograms.
+ * <p>
+ * Hot paths look their counters and histograms up once and keep the references, so recording is a {@link LongAdder}
+ * or {@link LatencyHistogram} update without any map access. Once {@link #registerMBeans(Logger)} has been called,
+ * every histogram is also published as an MXBean named {@code gg.kite.treasurehunt:type=Latency,name=<name>} and the
+ * counters as {@code gg.kite.treasurehunt:type=Counters}.
+ */
+public class Metrics {
+    private static final String DOMAIN = "gg.kite.treasurehunt";
+
+    private final Map<String, LongAdder> counters;
+    private final Map<String, LatencyHistogram> histograms;
+    private final Map<String, ObjectName> registered;
+    private volatile Logger logger;
+
+    /**
+     * Constructs an empty Metrics registry.
+     */
+    public Metrics() {
+        this.counters = new ConcurrentHashMap<>();
+        this.histograms = new ConcurrentHashMap<>();
+        this.registered = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Gets or creates a counter.
+     *
+     * @param name The counter name.
+     * @return The counter.
+     */
+    public @NotNull LongAdder counter(@NotNull String name) {
+        return counters.computeIfAbsent(name, k -> new LongAdder());
+    }
+
+    /**
+     * Gets or creates a histogram, publishing it over JMX if MBeans are registered.
+     *
+     * @param name The histogram name.
+     * @return The histogram.
+     */
+    public @NotNull LatencyHistogram histogram(@NotNull String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram != null) return histogram;
+        histogram = histograms.computeIfAbsent(name, k -> new LatencyHistogram());
+        Logger current = logger;
+        if (current != null) {
+            register(current, name, histogram);
+        }
+        return histogram;
+    }
+
+    /**
+     * Times an operation and records its duration in a histogram.
+     *
+     * @param histogram The histogram receiving the duration.
+     * @param operation The operation.
+     */
+    public static void time(@NotNull LatencyHistogram histogram, @NotNull Runnable operation) {
+        long start = System.nanoTime();
+        try {
+            operation.run();
+        } finally {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Times an operation and records its duration in a histogram.
+     *
+     * @param histogram The histogram receiving the duration.
+     * @param operation The operation.
+     * @param <T> The result type.
+     * @return The operation's result.
+     */
+    public static <T> T time(@NotNull LatencyHistogram histogram, @NotNull Supplier<T> operation) {
+        long start = System.nanoTime();
+        try {
+            return operation.get();
+        } finally {
+            histogram.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Gets the current value of every counter.
+     *
+     * @return The counter values, sorted by name.
+     */
+    public @NotNull SortedMap<String, Long> getCounterValues() {
+        SortedMap<String, Long> values = new TreeMap<>();
+        counters.forEach((name, counter) -> values.put(name, counter.sum()));
+        return values;
+    }
+
+    /**
+     * Takes a snapshot of every histogram.
+     *
+     * @return The snapshots, sorted by name.
+     */
+    public @NotNull SortedMap<String, LatencyHistogram.Snapshot> getHistogramSnapshots() {
+        SortedMap<String, LatencyHistogram.Snapshot> snapshots = new TreeMap<>();
+        histograms.forEach((name, histogram) -> snapshots.put(name, histogram.snapshot()));
+        return snapshots;
+    }
+
+    /**
+     * Publishes the counters and every current and future histogram over JMX.
+     *
+     * @param logger The logger for registration failures.
+     */
+    public void registerMBeans(@NotNull Logger logger) {
+        this.logger = logger;
+        register(logger, null, new CountersBean(this));
+        histograms.forEach((name, histogram) -> register(logger, name, histogram));
+    }
+
+    /**
+     * Removes every MBean published by this registry.
+     */
+    public void unregisterMBeans() {
+        logger = null;
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        registered.values().forEach(objectName -> {
+            try {
+                server.unregisterMBean(objectName);
+            } catch (JMException ignored) {
+                // Already gone, e.g. removed by another plugin instance during a reload.
+            }
+        });
+        registered.clear();
+    }
+
+    /**
+     * Publishes a histogram over JMX.
+     *
+     * @param logger The logger for registration failures.
+     * @param name The histogram name.
+     * @param histogram The histogram.
+     */
+    private void register(@NotNull Logger logger, @NotNull String name, @NotNull LatencyHistogram histogram) {
+        register(logger, name, new LatencyBean(histogram));
+    }
+
+    /**
+     * Publishes an MXBean, replacing any stale registration left by a previous plugin instance.
+     *
+     * @param logger The logger for registration failures.
+     * @param name The histogram name, or null for the counters bean.
+     * @param bean The MXBean.
+     */
+    private void register(@NotNull Logger logger, @Nullable String name, @NotNull Object bean) {
+        String key = name == null ? "" : name;
+        if (registered.containsKey(key)) return;
+        try {
+            ObjectName objectName = name == null
+                    ? new ObjectName(DOMAIN + ":type=Counters")
+                    : new ObjectName(DOMAIN + ":type=Latency,name=" + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            if (server.isRegistered(objectName)) {
+                server.unregisterMBean(objectName);
+            }
+            server.registerMBean(bean, objectName);
+            registered.put(key, objectName);
+        } catch (JMException e) {
+            logger.log(Level.WARNING, "Failed to register metrics MBean " + key, e);
+        }
+    }
+
+    /**
+     * Adapts the registry's counters to {@link CountersMXBean}.
+     *
+     * @param metrics The registry.
+     */
+    private record CountersBean(@NotNull Metrics metrics) implements CountersMXBean {
+        @Override
+        public Map<String, Long> getCounters() {
+            return metrics.getCounterValues();
+        }
+    }
+
+    /**
+     * Adapts a histogram to {@link LatencyMXBean}.
+     *
+     * @param histogram The histogram.
+     */
+    private record LatencyBean(@NotNull LatencyHistogram histogram) implements LatencyMXBean {
+        @Override
+        public long getCount() {
+            return histogram.getCount();
+        }
+
+        @Override
+        public double getMeanMicros() {
+            return histogram.snapshot().mean() / 1000.0;
+        }
+
+        @Override
+        public long getP50Micros() {
+            return TimeUnit.NANOSECONDS.toMicros(histogram.snapshot().p50());
+        }
+
+        @Override
+        public long getP90Micros() {
+            return TimeUnit.NANOSECONDS.toMicros(histogram.snapshot().p90());
+        }
+
+        @Override
+        public long getP99Micros() {
+            return TimeUnit.NANOSECONDS.toMicros(histogram.snapshot().p99());
+        }
+
+        @Override
+        public long getP999Micros() {
+            return TimeUnit.NANOSECONDS.toMicros(histogram.snapshot().p999());
+        }
+
+        @Override
+        public long getMaxMicros() {
+            return TimeUnit.NANOSECONDS.toMicros(histogram.snapshot().max());
+        }
+    }
+}
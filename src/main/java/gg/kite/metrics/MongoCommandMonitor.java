@@ -0,0 +1,216 @@
+package gg.kite.metrics;
+
+import com.google.inject.Inject;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Driver-level monitor of every command the MongoDB client sends.
+ * <p>
+ * Latencies are recorded per collection and command in histograms named {@code mongo.<collection>.<command>}, and
+ * commands slower than {@code mongodb.slow-command-millis} are logged with the shape of their filter: its field names
+ * and operators with every value replaced by {@code ?}. The command document is only readable while the started
+ * event is being handled, so the collection and filter shape are captured there and matched to the outcome by
+ * request id. Commands that do not target a collection, such as handshakes and pings, are ignored.
+ */
+public class MongoCommandMonitor implements CommandListener {
+    private static final int MAX_SHAPE_LENGTH = 256;
+
+    private final Metrics metrics;
+    private final Logger logger;
+    private final long slowNanos;
+    private final Map<Integer, Started> inFlight;
+    private final LongAdder commands;
+    private final LongAdder failures;
+    private final LongAdder slowCommands;
+
+    /**
+     * Constructs a MongoCommandMonitor from the {@code mongodb} configuration section.
+     *
+     * @param metrics The metrics registry receiving command latencies.
+     * @param config The plugin configuration.
+     * @param plugin The plugin instance, providing the logger.
+     */
+    @Inject
+    public MongoCommandMonitor(@NotNull Metrics metrics, @NotNull FileConfiguration config, @NotNull JavaPlugin plugin) {
+        this.metrics = metrics;
+        this.logger = plugin.getLogger();
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, config.getLong("mongodb.slow-command-millis", 100)));
+        this.inFlight = new ConcurrentHashMap<>();
+        this.commands = metrics.counter("mongo.commands");
+        this.failures = metrics.counter("mongo.failures");
+        this.slowCommands = metrics.counter("mongo.slow-commands");
+    }
+
+    /**
+     * Captures the collection and filter shape of a collection command.
+     *
+     * @param event The command started event.
+     */
+    @Override
+    public void commandStarted(@NotNull CommandStartedEvent event) {
+        BsonDocument command = event.getCommand();
+        if (command.isEmpty()) return;
+        BsonValue target = command.get(command.getFirstKey());
+        if (target == null || !target.isString()) return;
+        String shape = slowNanos > 0 ? shape(filterOf(event.getCommandName(), command)) : "";
+        inFlight.put(event.getRequestId(), new Started(target.asString().getValue(), shape));
+    }
+
+    /**
+     * Records the latency of a completed command and logs it if slow.
+     *
+     * @param event The command succeeded event.
+     */
+    @Override
+    public void commandSucceeded(@NotNull CommandSucceededEvent event) {
+        Started started = inFlight.remove(event.getRequestId());
+        if (started == null) return;
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        record(started, event.getCommandName(), elapsed);
+        if (slowNanos > 0 && elapsed >= slowNanos) {
+            slowCommands.increment();
+            logger.log(Level.WARNING, "Slow MongoDB {0} on {1} took {2} ms, filter {3}", new Object[]{
+                    event.getCommandName(), started.collection(), TimeUnit.NANOSECONDS.toMillis(elapsed), started.shape()});
+        }
+    }
+
+    /**
+     * Records the latency of a failed command and logs the failure.
+     *
+     * @param event The command failed event.
+     */
+    @Override
+    public void commandFailed(@NotNull CommandFailedEvent event) {
+        Started started = inFlight.remove(event.getRequestId());
+        if (started == null) return;
+        long elapsed = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        record(started, event.getCommandName(), elapsed);
+        failures.increment();
+        logger.log(Level.WARNING, "MongoDB {0} on {1} failed after {2} ms, filter {3}: {4}", new Object[]{
+                event.getCommandName(), started.collection(), TimeUnit.NANOSECONDS.toMillis(elapsed), started.shape(),
+                event.getThrowable().getMessage()});
+    }
+
+    /**
+     * Records a command's latency under its collection and command name.
+     *
+     * @param started The captured command details.
+     * @param commandName The command name.
+     * @param elapsedNanos The round-trip time.
+     */
+    private void record(@NotNull Started started, @NotNull String commandName, long elapsedNanos) {
+        commands.increment();
+        metrics.histogram("mongo." + started.collection() + "." + commandName).record(elapsedNanos);
+    }
+
+    /**
+     * Finds the filter of a command: the query of a find, count or distinct, the first statement's query of an
+     * update or delete, or the first {@code $match} stage of an aggregation.
+     *
+     * @param commandName The command name.
+     * @param command The command document.
+     * @return The filter, or null if the command has none.
+     */
+    private static @Nullable BsonValue filterOf(@NotNull String commandName, @NotNull BsonDocument command) {
+        return switch (commandName) {
+            case "find" -> command.get("filter");
+            case "count", "distinct" -> command.get("query");
+            case "update" -> firstStatementQuery(command.get("updates"));
+            case "delete" -> firstStatementQuery(command.get("deletes"));
+            case "aggregate" -> {
+                BsonValue pipeline = command.get("pipeline");
+                if (pipeline != null && pipeline.isArray()) {
+                    for (BsonValue stage : pipeline.asArray()) {
+                        if (stage.isDocument() && stage.asDocument().containsKey("$match")) {
+                            yield stage.asDocument().get("$match");
+                        }
+                    }
+                }
+                yield null;
+            }
+            default -> null;
+        };
+    }
+
+    /**
+     * Gets the query of the first statement of a write command.
+     *
+     * @param statements The statements array.
+     * @return The query, or null if there is none.
+     */
+    private static @Nullable BsonValue firstStatementQuery(@Nullable BsonValue statements) {
+        if (statements == null || !statements.isArray() || statements.asArray().isEmpty()) return null;
+        BsonValue first = statements.asArray().get(0);
+        return first.isDocument() ? first.asDocument().get("q") : null;
+    }
+
+    /**
+     * Describes a filter's field names and operators with every value replaced by {@code ?}.
+     *
+     * @param filter The filter.
+     * @return The shape, truncated to a bounded length.
+     */
+    static @NotNull String shape(@Nullable BsonValue filter) {
+        if (filter == null) return "{}";
+        StringBuilder builder = new StringBuilder();
+        appendShape(builder, filter);
+        return builder.length() > MAX_SHAPE_LENGTH ? builder.substring(0, MAX_SHAPE_LENGTH) + "..." : builder.toString();
+    }
+
+    /**
+     * Appends the shape of a value: documents and arrays keep their structure, anything else becomes {@code ?}.
+     * Arrays are shown by their first element, since {@code $in} lists of ids would otherwise dominate.
+     *
+     * @param builder The builder.
+     * @param value The value.
+     */
+    private static void appendShape(@NotNull StringBuilder builder, @NotNull BsonValue value) {
+        if (builder.length() > MAX_SHAPE_LENGTH) return;
+        if (value.isDocument()) {
+            builder.append('{');
+            boolean first = true;
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                if (!first) builder.append(", ");
+                first = false;
+                builder.append(entry.getKey()).append(": ");
+                appendShape(builder, entry.getValue());
+            }
+            builder.append('}');
+        } else if (value.isArray()) {
+            BsonArray array = value.asArray();
+            builder.append('[');
+            if (!array.isEmpty()) {
+                appendShape(builder, array.get(0));
+                if (array.size() > 1) builder.append(", ...");
+            }
+            builder.append(']');
+        } else {
+            builder.append('?');
+        }
+    }
+
+    /**
+     * The details of a command captured when it started.
+     *
+     * @param collection The target collection.
+     * @param shape The filter shape, or an empty string if slow commands are not logged.
+     */
+    private record Started(@NotNull String collection, @NotNull String shape) {}
+}
@@ -0,0 +1,35 @@
+package gg.kite.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one storage operation against MongoDB.
+ * <p>
+ * Disabled by default; enable it in a recording with {@code gg.kite.treasurehunt.MongoOperation#enabled=true}.
+ */
+@Name("gg.kite.treasurehunt.MongoOperation")
+@Label("Mongo Operation")
+@Description("A DatabaseManager operation, including every round trip it makes")
+@Category({"TreasureHunt", "Storage"})
+@Enabled(false)
+@StackTrace(false)
+public class MongoOperationEvent extends Event {
+    @Label("Collection")
+    public String collection;
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Documents")
+    @Description("Documents written, deleted or read, or -1 if unknown")
+    public long documents;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,146 @@
+package gg.kite.metrics;
+
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolClosedEvent;
+import com.mongodb.event.ConnectionPoolCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks the usage of the MongoDB driver's connection pools from the driver's pool events.
+ * <p>
+ * The driver keeps one pool per server, so the figures are totals across all servers the client talks to.
+ */
+public class MongoPoolMonitor implements ConnectionPoolListener {
+    private final Map<ServerId, Integer> maxSizes = new ConcurrentHashMap<>();
+    private final AtomicInteger open = new AtomicInteger();
+    private final AtomicInteger checkedOut = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /**
+     * Adds the capacity of a new pool.
+     *
+     * @param event The pool created event.
+     */
+    @Override
+    public void connectionPoolCreated(@NotNull ConnectionPoolCreatedEvent event) {
+        maxSizes.put(event.getServerId(), event.getSettings().getMaxSize());
+    }
+
+    /**
+     * Removes the capacity of a closed pool.
+     *
+     * @param event The pool closed event.
+     */
+    @Override
+    public void connectionPoolClosed(@NotNull ConnectionPoolClosedEvent event) {
+        maxSizes.remove(event.getServerId());
+    }
+
+    /**
+     * Counts a connection being opened.
+     *
+     * @param event The connection created event.
+     */
+    @Override
+    public void connectionCreated(@NotNull ConnectionCreatedEvent event) {
+        open.incrementAndGet();
+    }
+
+    /**
+     * Counts a connection being closed.
+     *
+     * @param event The connection closed event.
+     */
+    @Override
+    public void connectionClosed(@NotNull ConnectionClosedEvent event) {
+        open.decrementAndGet();
+    }
+
+    /**
+     * Counts a thread starting to wait for a connection.
+     *
+     * @param event The check out started event.
+     */
+    @Override
+    public void connectionCheckOutStarted(@NotNull ConnectionCheckOutStartedEvent event) {
+        waiting.incrementAndGet();
+    }
+
+    /**
+     * Counts a connection being handed to a thread.
+     *
+     * @param event The checked out event.
+     */
+    @Override
+    public void connectionCheckedOut(@NotNull ConnectionCheckedOutEvent event) {
+        waiting.decrementAndGet();
+        checkedOut.incrementAndGet();
+    }
+
+    /**
+     * Counts a thread giving up waiting for a connection.
+     *
+     * @param event The check out failed event.
+     */
+    @Override
+    public void connectionCheckOutFailed(@NotNull ConnectionCheckOutFailedEvent event) {
+        waiting.decrementAndGet();
+    }
+
+    /**
+     * Counts a connection being returned to its pool.
+     *
+     * @param event The checked in event.
+     */
+    @Override
+    public void connectionCheckedIn(@NotNull ConnectionCheckedInEvent event) {
+        checkedOut.decrementAndGet();
+    }
+
+    /**
+     * Gets the maximum number of connections across all pools.
+     *
+     * @return The combined pool size limit.
+     */
+    public int getMaxSize() {
+        return maxSizes.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Gets the number of open connections.
+     *
+     * @return The number of connections.
+     */
+    public int getOpen() {
+        return open.get();
+    }
+
+    /**
+     * Gets the number of connections in use.
+     *
+     * @return The number of checked out connections.
+     */
+    public int getCheckedOut() {
+        return checkedOut.get();
+    }
+
+    /**
+     * Gets the number of threads waiting for a connection.
+     *
+     * @return The number of waiting threads.
+     */
+    public int getWaiting() {
+        return waiting.get();
+    }
+}
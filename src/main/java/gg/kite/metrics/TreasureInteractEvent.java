@@ -0,0 +1,32 @@
+package gg.kite.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one block interaction checked for a treasure.
+ * <p>
+ * Disabled by default; enable it in a recording with {@code gg.kite.treasurehunt.TreasureInteract#enabled=true}.
+ */
+@Name("gg.kite.treasurehunt.TreasureInteract")
+@Label("Treasure Interaction")
+@Description("Check of a hunting player's block interaction for a nearby treasure")
+@Category({"TreasureHunt", "Gameplay"})
+@Enabled(false)
+@StackTrace(false)
+public class TreasureInteractEvent extends Event {
+    @Label("Player")
+    public String player;
+
+    @Label("Treasure")
+    @Description("The treasure near the clicked block, if any")
+    public String treasure;
+
+    @Label("Found")
+    public boolean found;
+}
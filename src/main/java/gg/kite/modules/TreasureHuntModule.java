@@ -1,20 +1,45 @@
 package gg.kite.modules;
 
 import com.google.inject.AbstractModule;
+import com.google.inject.Provider;
 import com.google.inject.Provides;
 import com.google.inject.Scopes;
+import com.google.inject.Singleton;
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 import gg.kite.TreasureHunt;
 import gg.kite.commands.CommandHandler;
+import gg.kite.commands.RateLimiter;
 import gg.kite.config.MessageConfig;
+import gg.kite.managers.CleanupService;
 import gg.kite.managers.DatabaseManager;
+import gg.kite.managers.HintService;
+import gg.kite.managers.InMemoryStorage;
+import gg.kite.managers.LogStorage;
+import gg.kite.managers.ParticleRenderer;
+import gg.kite.managers.PlayerNameCache;
+import gg.kite.managers.ResilientStorage;
+import gg.kite.managers.ScoreboardService;
+import gg.kite.managers.StatusService;
+import gg.kite.managers.Storage;
+import gg.kite.managers.TaskExecutor;
+import gg.kite.managers.TickScheduler;
+import gg.kite.managers.TransferService;
+import gg.kite.managers.TreasureGenerator;
 import gg.kite.managers.TreasureManager;
+import gg.kite.metrics.Metrics;
+import gg.kite.metrics.MongoCommandMonitor;
+import gg.kite.metrics.MongoPoolMonitor;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Locale;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 
 /**
  * Guice module for configuring dependency injection in the TreasureHunt plugin.
@@ -40,21 +65,129 @@ public class TreasureHuntModule extends AbstractModule {
         bind(TreasureHunt.class).toInstance(plugin);
         bind(FileConfiguration.class).toProvider(() -> plugin.getConfig());
         bind(MessageConfig.class).in(Scopes.SINGLETON);
+        bind(Metrics.class).in(Scopes.SINGLETON);
+        bind(MongoCommandMonitor.class).in(Scopes.SINGLETON);
+        bind(MongoPoolMonitor.class).in(Scopes.SINGLETON);
         bind(DatabaseManager.class).in(Scopes.SINGLETON);
+        bind(InMemoryStorage.class).in(Scopes.SINGLETON);
+        bind(LogStorage.class).in(Scopes.SINGLETON);
+        bind(ResilientStorage.class).in(Scopes.SINGLETON);
+        bind(TickScheduler.class).in(Scopes.SINGLETON);
+        bind(TaskExecutor.class).in(Scopes.SINGLETON);
+        bind(PlayerNameCache.class).in(Scopes.SINGLETON);
+        bind(TransferService.class).in(Scopes.SINGLETON);
         bind(TreasureManager.class).in(Scopes.SINGLETON);
+        bind(TreasureGenerator.class).in(Scopes.SINGLETON);
+        bind(HintService.class).in(Scopes.SINGLETON);
+        bind(ParticleRenderer.class).in(Scopes.SINGLETON);
+        bind(ScoreboardService.class).in(Scopes.SINGLETON);
+        bind(StatusService.class).in(Scopes.SINGLETON);
         bind(CommandHandler.class).in(Scopes.SINGLETON);
+        bind(RateLimiter.class).in(Scopes.SINGLETON);
     }
 
     /**
-     * Provides a MongoDB client instance for database operations.
+     * Provides the storage backend selected by {@code storage.type}. MongoDB is guarded by a circuit breaker unless
+     * {@code storage.breaker.enabled} is off.
      *
      * @param plugin The plugin instance to access configuration.
+     * @param mongo The provider of the MongoDB storage.
+     * @param resilient The provider of the MongoDB storage behind a circuit breaker.
+     * @param memory The provider of the in-memory storage.
+     * @param log The provider of the embedded log storage.
+     * @return The storage backend.
+     * @throws IllegalArgumentException if the storage type is unknown.
+     */
+    @Provides
+    @Singleton
+    @NotNull
+    public Storage provideStorage(@NotNull TreasureHunt plugin, @NotNull Provider<DatabaseManager> mongo,
+                                  @NotNull Provider<ResilientStorage> resilient, @NotNull Provider<InMemoryStorage> memory,
+                                  @NotNull Provider<LogStorage> log) {
+        String type = storageType(plugin.getConfig());
+        return switch (type) {
+            case "mongodb" -> plugin.getConfig().getBoolean("storage.breaker.enabled", true) ? resilient.get() : mongo.get();
+            case "memory" -> memory.get();
+            case "log" -> log.get();
+            default -> throw new IllegalArgumentException("Unknown storage type: " + type);
+        };
+    }
+
+    /**
+     * Provides the cleanup service, which is only enabled for the MongoDB storage and pauses while the circuit breaker
+     * is journaling writes.
+     *
+     * @param plugin The plugin instance to access configuration and the logger.
+     * @param mongo The provider of the MongoDB storage.
+     * @param storage The provider of the configured storage backend.
+     * @return The cleanup service.
+     */
+    @Provides
+    @Singleton
+    @NotNull
+    public CleanupService provideCleanupService(@NotNull TreasureHunt plugin, @NotNull Provider<DatabaseManager> mongo,
+                                                @NotNull Provider<Storage> storage) {
+        DatabaseManager databaseManager = storageType(plugin.getConfig()).equals("mongodb") ? mongo.get() : null;
+        CleanupService cleanupService = new CleanupService(databaseManager, plugin.getConfig(), plugin.getLogger());
+        if (databaseManager != null && storage.get() instanceof ResilientStorage resilient) {
+            cleanupService.setPauseCondition(resilient::isTripped);
+        }
+        return cleanupService;
+    }
+
+    /**
+     * Reads the configured storage type.
+     *
+     * @param config The plugin configuration.
+     * @return The lower-case storage type.
+     */
+    private static String storageType(@NotNull FileConfiguration config) {
+        return config.getString("storage.type", "mongodb").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Provides the plugin's single MongoDB client, with command monitoring attached, retrying failed creation. With the
+     * circuit breaker enabled, server selection and connection attempts give up after
+     * {@code storage.breaker.trip-after-millis}, so an unreachable server trips the breaker instead of holding writes
+     * for the driver's default timeouts.
+     *
+     * @param plugin The plugin instance to access configuration.
+     * @param commandMonitor The listener recording command latencies and slow operations.
+     * @param poolMonitor The listener tracking connection pool usage.
      * @return The MongoDB client instance.
+     * @throws IllegalStateException if the client cannot be created after retries.
      */
     @Provides
+    @Singleton
     @NotNull
-    public MongoClient provideMongoClient(@NotNull TreasureHunt plugin) {
+    public MongoClient provideMongoClient(@NotNull TreasureHunt plugin, @NotNull MongoCommandMonitor commandMonitor,
+                                          @NotNull MongoPoolMonitor poolMonitor) {
         String connectionString = plugin.getConfig().getString("mongodb.connection-string", "mongodb://localhost:27017");
-        return MongoClients.create(connectionString);
+        MongoClientSettings.Builder settings = MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(connectionString))
+                .applyToConnectionPoolSettings(pool -> pool.addConnectionPoolListener(poolMonitor));
+        if (plugin.getConfig().getBoolean("mongodb.monitor-commands", true)) {
+            settings.addCommandListener(commandMonitor);
+        }
+        if (plugin.getConfig().getBoolean("storage.breaker.enabled", true)) {
+            long tripAfter = Math.max(100, plugin.getConfig().getLong("storage.breaker.trip-after-millis", 3000));
+            settings.applyToClusterSettings(cluster -> cluster.serverSelectionTimeout(tripAfter, TimeUnit.MILLISECONDS))
+                    .applyToSocketSettings(socket -> socket.connectTimeout(tripAfter, TimeUnit.MILLISECONDS));
+        }
+        int retries = 3;
+        for (int i = 0; i < retries; i++) {
+            try {
+                return MongoClients.create(settings.build());
+            } catch (Exception e) {
+                plugin.getLogger().log(Level.WARNING, "MongoDB connection attempt {0} failed: {1}", new Object[]{i + 1, e.getMessage()});
+                if (i < retries - 1) {
+                    try {
+                        Thread.sleep(1000L * (i + 1)); // Exponential backoff
+                    } catch (InterruptedException ignored) {
+                    }
+                }
+            }
+        }
+        throw new IllegalStateException("Failed to connect to MongoDB after " + retries + " attempts");
     }
 }
\ No newline at end of file
@@ -0,0 +1,161 @@
+package gg.kite.offline;
+
+import gg.kite.config.MessageConfig;
+import gg.kite.managers.CleanupService;
+import gg.kite.managers.Clue;
+import gg.kite.managers.ClueEntry;
+import gg.kite.managers.DatabaseManager;
+import gg.kite.managers.InMemoryStorage;
+import gg.kite.managers.LogStorage;
+import gg.kite.managers.PlayerNameCache;
+import gg.kite.managers.Storage;
+import gg.kite.managers.TaskExecutor;
+import gg.kite.managers.TickScheduler;
+import gg.kite.managers.Treasure;
+import gg.kite.managers.TreasureManager;
+import gg.kite.metrics.Metrics;
+import org.bson.Document;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Logger;
+
+/**
+ * The plugin's core objects wired together over stubbed server and database interfaces.
+ * <p>
+ * Database writes go to a daemon thread and are discarded by the stub collections; main-thread tasks wait in the
+ * tick scheduler until the caller runs it.
+ */
+public final class Fixture {
+    public final FileConfiguration config;
+    public final Logger logger;
+    public final Metrics metrics;
+    public final MessageConfig messageConfig;
+    public final Storage storage;
+    public final TickScheduler scheduler;
+    public final TaskExecutor taskExecutor;
+    public final TreasureManager treasureManager;
+    public final World world;
+    private final ExecutorService asyncExecutor;
+
+    /**
+     * Creates a fixture with no stored treasures or teams.
+     */
+    public Fixture() {
+        this(Map.of());
+    }
+
+    /**
+     * Creates a fixture whose database initially holds the given documents.
+     *
+     * @param collections The stored documents of each collection.
+     */
+    public Fixture(@NotNull Map<String, List<Document>> collections) {
+        this("mongodb", collections);
+    }
+
+    /**
+     * Creates a fixture over the given storage backend, which initially holds the given documents when it is the
+     * stubbed MongoDB database.
+     *
+     * @param storageType The storage backend, {@code mongodb}, {@code memory} or {@code log} in a temporary directory.
+     * @param collections The stored documents of each collection.
+     * @throws IllegalArgumentException if the storage type is unknown.
+     */
+    public Fixture(@NotNull String storageType, @NotNull Map<String, List<Document>> collections) {
+        this.config = Stubs.config();
+        this.logger = Logger.getLogger("TreasureHunt-Bench");
+        this.metrics = new Metrics();
+        this.messageConfig = new MessageConfig(config, logger);
+        PlayerNameCache playerNameCache = new PlayerNameCache();
+        DatabaseManager databaseManager = storageType.equals("mongodb")
+                ? new DatabaseManager(Stubs.mongoClient(collections), playerNameCache, metrics, logger)
+                : null;
+        this.storage = switch (storageType) {
+            case "mongodb" -> databaseManager;
+            case "memory" -> new InMemoryStorage(playerNameCache, logger);
+            case "log" -> new LogStorage(playerNameCache, createTempDirectory(), 16 * 1024 * 1024,
+                    config.getLong("storage.log.sync-interval-millis", 20), 64L * 1024 * 1024, metrics, logger);
+            default -> throw new IllegalArgumentException("Unknown storage type " + storageType);
+        };
+        this.asyncExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "TreasureHunt-Bench-Async");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler = new TickScheduler(logger, config.getDouble("scheduler.tick-budget-millis", 5.0), metrics);
+        this.taskExecutor = new TaskExecutor(asyncExecutor, scheduler, logger);
+        CleanupService cleanupService = new CleanupService(databaseManager, config, logger);
+        this.treasureManager = new TreasureManager(storage, taskExecutor, cleanupService, playerNameCache,
+                config, messageConfig, metrics);
+        this.world = Stubs.world("world");
+    }
+
+    /**
+     * Places treasures at random positions in a square area, each with clues around it, and activates every chunk of
+     * the area as if it were loaded.
+     *
+     * @param treasureCount The number of treasures.
+     * @param cluesPerTreasure The number of clues per treasure.
+     * @param halfSize Half the side length of the area, in blocks.
+     * @param seed The random seed.
+     */
+    public void populate(int treasureCount, int cluesPerTreasure, int halfSize, long seed) {
+        Random random = new Random(seed);
+        List<Treasure> treasures = new ArrayList<>(treasureCount);
+        List<ClueEntry> clues = new ArrayList<>(treasureCount * cluesPerTreasure);
+        double clueDistance = Math.min(32, treasureManager.getMaxClueDistance() * 0.75);
+        for (int i = 0; i < treasureCount; i++) {
+            Location location = new Location(world, random.nextInt(2 * halfSize) - halfSize, 64, random.nextInt(2 * halfSize) - halfSize);
+            Treasure treasure = new Treasure("t" + i, location, 1 + random.nextInt(3));
+            treasures.add(treasure);
+            for (int c = 0; c < cluesPerTreasure; c++) {
+                double angle = random.nextDouble() * Math.PI * 2;
+                Location clueLocation = location.clone().add(Math.cos(angle) * clueDistance, 0, Math.sin(angle) * clueDistance);
+                clues.add(new ClueEntry(treasure.getName(), new Clue("c" + c, clueLocation, "medium")));
+            }
+        }
+        treasureManager.addImportedTreasures(treasures);
+        treasureManager.addImportedClues(clues);
+        int chunkRadius = (halfSize + 64) >> 4;
+        for (int x = -chunkRadius; x <= chunkRadius; x++) {
+            for (int z = -chunkRadius; z <= chunkRadius; z++) {
+                treasureManager.activateChunk(world.getName(), x, z);
+            }
+        }
+    }
+
+    /**
+     * Creates a directory for the log storage.
+     *
+     * @return The directory.
+     * @throws UncheckedIOException if the directory cannot be created.
+     */
+    private static Path createTempDirectory() {
+        try {
+            return Files.createTempDirectory("treasurehunt-log");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stops the database write thread and closes the storage.
+     */
+    public void close() {
+        asyncExecutor.shutdownNow();
+        storage.close();
+    }
+}
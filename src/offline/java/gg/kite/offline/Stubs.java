@@ -0,0 +1,217 @@
+package gg.kite.offline;
+
+import com.mongodb.client.MongoClient;
+import org.bson.Document;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Dynamic-proxy stand-ins for the server and MongoDB interfaces the plugin touches, so its classes can be driven
+ * without a running server or database.
+ * <p>
+ * Every stub answers the handful of methods the plugin calls and returns the zero value of the return type for
+ * everything else. Mongo collections serve reads from a fixed list of documents and ignore writes.
+ */
+public final class Stubs {
+    private Stubs() {
+    }
+
+    /**
+     * Loads the plugin's bundled config.yml.
+     *
+     * @return The default configuration.
+     */
+    public static @NotNull FileConfiguration config() {
+        InputStream stream = Stubs.class.getResourceAsStream("/config.yml");
+        if (stream == null) {
+            throw new IllegalStateException("config.yml is not on the classpath");
+        }
+        return YamlConfiguration.loadConfiguration(new InputStreamReader(stream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Creates a world with a name.
+     *
+     * @param name The world name.
+     * @return The world stub.
+     */
+    public static @NotNull World world(@NotNull String name) {
+        return proxy(World.class, (self, method, args) -> switch (method.getName()) {
+            case "getName" -> name;
+            case "getUID" -> UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8));
+            default -> null;
+        });
+    }
+
+    /**
+     * Creates an online player that discards the messages sent to it.
+     *
+     * @param playerId The player's UUID.
+     * @param name The player's name.
+     * @return The player stub.
+     */
+    public static @NotNull Player player(@NotNull UUID playerId, @NotNull String name) {
+        return proxy(Player.class, (self, method, args) -> switch (method.getName()) {
+            case "getUniqueId" -> playerId;
+            case "getName" -> name;
+            case "isOnline" -> true;
+            default -> null;
+        });
+    }
+
+    /**
+     * Creates a block at a location.
+     *
+     * @param location The block's location.
+     * @return The block stub.
+     */
+    public static @NotNull Block block(@NotNull Location location) {
+        Location blockLocation = location.toBlockLocation();
+        return proxy(Block.class, (self, method, args) -> switch (method.getName()) {
+            case "getLocation" -> method.getParameterCount() == 0 ? blockLocation.clone() : null;
+            case "getWorld" -> blockLocation.getWorld();
+            case "getX" -> blockLocation.getBlockX();
+            case "getY" -> blockLocation.getBlockY();
+            case "getZ" -> blockLocation.getBlockZ();
+            default -> null;
+        });
+    }
+
+    /**
+     * Creates a MongoDB client whose collections serve the given documents.
+     *
+     * @param collections The documents of each collection; missing collections are empty.
+     * @return The client stub.
+     */
+    public static @NotNull MongoClient mongoClient(@NotNull Map<String, List<Document>> collections) {
+        return proxy(MongoClient.class, (self, method, args) -> method.getName().equals("getDatabase")
+                ? database(collections)
+                : null);
+    }
+
+    /**
+     * Creates a database whose collections serve the given documents.
+     *
+     * @param collections The documents of each collection.
+     * @return The database stub.
+     */
+    private static Object database(@NotNull Map<String, List<Document>> collections) {
+        return proxy(com.mongodb.client.MongoDatabase.class, (self, method, args) -> method.getName().equals("getCollection")
+                ? collection(collections.getOrDefault((String) args[0], List.of()))
+                : null);
+    }
+
+    /**
+     * Creates a collection whose queries return every document, ignoring filters, and whose writes do nothing.
+     *
+     * @param documents The documents.
+     * @return The collection stub.
+     */
+    private static Object collection(@NotNull List<Document> documents) {
+        return proxy(com.mongodb.client.MongoCollection.class, (self, method, args) -> switch (method.getName()) {
+            case "find" -> iterable(documents);
+            case "createIndex" -> "stub";
+            case "countDocuments", "estimatedDocumentCount" -> (long) documents.size();
+            default -> null;
+        });
+    }
+
+    /**
+     * Creates a find result over a list of documents. Sorting, projections and limits are ignored.
+     *
+     * @param documents The documents.
+     * @return The find iterable stub.
+     */
+    @SuppressWarnings("unchecked")
+    private static Object iterable(@NotNull List<Document> documents) {
+        return proxy(com.mongodb.client.FindIterable.class, (self, method, args) -> switch (method.getName()) {
+            case "iterator", "cursor" -> cursor(documents.iterator());
+            case "first" -> documents.isEmpty() ? null : documents.get(0);
+            case "into" -> {
+                ((Collection<Document>) args[0]).addAll(documents);
+                yield args[0];
+            }
+            default -> method.getReturnType().isInstance(self) ? self : null;
+        });
+    }
+
+    /**
+     * Creates a cursor over an iterator of documents.
+     *
+     * @param iterator The iterator.
+     * @return The cursor stub.
+     */
+    private static Object cursor(@NotNull Iterator<Document> iterator) {
+        return proxy(com.mongodb.client.MongoCursor.class, (self, method, args) -> switch (method.getName()) {
+            case "hasNext" -> iterator.hasNext();
+            case "next" -> iterator.next();
+            case "tryNext" -> iterator.hasNext() ? iterator.next() : null;
+            default -> null;
+        });
+    }
+
+    /**
+     * Creates a proxy that answers {@link Object} methods by identity and unknown methods with zero values.
+     *
+     * @param type The interface to implement.
+     * @param handler The handler for the interface's methods.
+     * @param <T> The interface type.
+     * @return The proxy.
+     */
+    private static <T> T proxy(@NotNull Class<T> type, @NotNull InvocationHandler handler) {
+        Object instance = Proxy.newProxyInstance(Stubs.class.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    if (method.getParameterCount() == 1) return self == args[0];
+                    break;
+                case "hashCode":
+                    if (method.getParameterCount() == 0) return System.identityHashCode(self);
+                    break;
+                case "toString":
+                    if (method.getParameterCount() == 0) return type.getSimpleName() + "Stub";
+                    break;
+                default:
+                    break;
+            }
+            Object result = handler.invoke(self, method, args);
+            return result != null ? result : zero(method);
+        });
+        return type.cast(instance);
+    }
+
+    /**
+     * Gets the zero value of a method's return type.
+     *
+     * @param method The method.
+     * @return The zero value, or null for reference types.
+     */
+    private static Object zero(@NotNull Method method) {
+        Class<?> type = method.getReturnType();
+        if (!type.isPrimitive() || type == void.class) return null;
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0.0f;
+        if (type == int.class) return 0;
+        if (type == short.class) return (short) 0;
+        return (byte) 0;
+    }
+}
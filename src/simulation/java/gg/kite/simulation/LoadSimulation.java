@@ -0,0 +1,348 @@
+package gg.kite.simulation;
+
+import gg.kite.listeners.ClueListener;
+import gg.kite.listeners.TreasureListener;
+import gg.kite.managers.HuntSession;
+import gg.kite.managers.TreasureManager;
+import gg.kite.metrics.LatencyHistogram;
+import gg.kite.offline.Fixture;
+import gg.kite.offline.Stubs;
+import org.bukkit.Location;
+import org.bukkit.block.BlockFace;
+import org.bukkit.entity.Player;
+import org.bukkit.event.block.Action;
+import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Headless load simulation: synthetic players hunt over a populated world while the plugin's listeners and
+ * {@link TreasureManager} run against stubbed server and database interfaces.
+ * <p>
+ * Every simulated tick each player takes a walking step, towards the target the hint system would show them or in a
+ * random direction when it shows none, and clicks the block at its target once close enough. Moving the players and
+ * building the events is driver work and is not measured; the plugin's handling of the tick's events and the tick
+ * scheduler's run are timed as one block, together with the bytes the main thread allocates during it.
+ * <p>
+ * Options: {@code --players}, {@code --treasures}, {@code --clues-per-treasure}, {@code --half-size} (blocks),
+ * {@code --ticks}, {@code --warmup-ticks}, {@code --interact-chance} (per player and tick), {@code --seed} and
+ * {@code --storage} ({@code mongodb}, {@code memory} or {@code log}).
+ */
+public final class LoadSimulation {
+    private static final double WALK_SPEED = 0.215;
+    private static final double REACH = 1.5;
+    private static final int RETARGET_TICKS = 20;
+    private static final int RESTART_TICKS = 200;
+    private static final double HINT_RADIUS = 256;
+    private static final long TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final Options options;
+    private final Fixture fixture;
+    private final TreasureManager treasureManager;
+    private final ClueListener clueListener;
+    private final TreasureListener treasureListener;
+    private final com.sun.management.ThreadMXBean threads;
+    private final Random random;
+    private final List<SimPlayer> players;
+    private final List<PlayerMoveEvent> moves;
+    private final List<PlayerInteractEvent> interactions;
+    private final List<Player> huntStarts;
+    private final LatencyHistogram tickTimes;
+    private long allocatedBytes;
+    private long huntsStarted;
+
+    /**
+     * Sets up the world, listeners and players of a simulation.
+     *
+     * @param options The simulation options.
+     */
+    private LoadSimulation(@NotNull Options options) {
+        this.options = options;
+        this.fixture = new Fixture(options.storage(), Map.of());
+        this.treasureManager = fixture.treasureManager;
+        this.clueListener = new ClueListener(treasureManager, fixture.scheduler, fixture.messageConfig,
+                fixture.config.getDouble("treasure.clue-find-radius", 3.0),
+                fixture.config.getDouble("treasure.clue-exit-margin", 1.5),
+                fixture.config.getLong("treasure.clue-retry-millis", 1000), fixture.metrics);
+        this.treasureListener = new TreasureListener(treasureManager, fixture.messageConfig, fixture.metrics);
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.random = new Random(options.seed());
+        this.players = new ArrayList<>(options.players());
+        this.moves = new ArrayList<>(options.players());
+        this.interactions = new ArrayList<>();
+        this.huntStarts = new ArrayList<>();
+        this.tickTimes = new LatencyHistogram();
+        fixture.populate(options.treasures(), options.cluesPerTreasure(), options.halfSize(), options.seed());
+        for (int i = 0; i < options.players(); i++) {
+            Location spawn = new Location(fixture.world, random.nextInt(2 * options.halfSize()) - options.halfSize(), 64,
+                    random.nextInt(2 * options.halfSize()) - options.halfSize());
+            players.add(new SimPlayer(Stubs.player(UUID.randomUUID(), "sim" + i), spawn, random.nextDouble() * Math.PI * 2, i));
+        }
+    }
+
+    /**
+     * Runs the simulation from the command line.
+     *
+     * @param args The options, as {@code --name value} pairs.
+     */
+    public static void main(String[] args) {
+        Options options = Options.parse(args);
+        LoadSimulation simulation = new LoadSimulation(options);
+        try {
+            simulation.run();
+        } finally {
+            simulation.fixture.close();
+        }
+    }
+
+    /**
+     * Runs the warmup and measured ticks and prints the report.
+     */
+    private void run() {
+        System.out.printf(Locale.ROOT, "Simulating %d players over %d treasures and %d clues in a %d x %d area%n",
+                options.players(), options.treasures(), options.treasures() * options.cluesPerTreasure(),
+                options.halfSize() * 2, options.halfSize() * 2);
+        for (int tick = 0; tick < options.warmupTicks(); tick++) {
+            tick(tick, false);
+        }
+        long clueSolves = fixture.metrics.counter("clue.solves").sum();
+        long treasureFinds = fixture.metrics.counter("treasure.finds").sum();
+        long startedBefore = huntsStarted;
+        long wallStart = System.nanoTime();
+        for (int tick = 0; tick < options.ticks(); tick++) {
+            tick(options.warmupTicks() + tick, true);
+        }
+        long wallNanos = System.nanoTime() - wallStart;
+        report(fixture.metrics.counter("clue.solves").sum() - clueSolves,
+                fixture.metrics.counter("treasure.finds").sum() - treasureFinds,
+                huntsStarted - startedBefore, wallNanos);
+    }
+
+    /**
+     * Simulates one tick: moves every player, then lets the plugin handle the resulting events.
+     *
+     * @param tick The tick number.
+     * @param measured Whether the tick counts towards the report.
+     */
+    private void tick(int tick, boolean measured) {
+        moves.clear();
+        interactions.clear();
+        huntStarts.clear();
+        for (SimPlayer player : players) {
+            step(player, tick);
+        }
+
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (Player player : huntStarts) {
+            treasureManager.startHunt(player);
+        }
+        for (PlayerMoveEvent move : moves) {
+            clueListener.onPlayerMove(move);
+        }
+        for (PlayerInteractEvent interaction : interactions) {
+            treasureListener.onPlayerInteract(interaction);
+        }
+        fixture.scheduler.run();
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        if (measured) {
+            tickTimes.record(elapsed);
+            allocatedBytes += allocated;
+        }
+    }
+
+    /**
+     * Advances a player by one tick and queues the events it causes.
+     *
+     * @param player The player.
+     * @param tick The tick number.
+     */
+    private void step(@NotNull SimPlayer player, int tick) {
+        HuntSession session = treasureManager.getActiveSession(player.id());
+        if (session == null) {
+            player.target = null;
+            if (tick >= player.nextRestart) {
+                player.nextRestart = tick + RESTART_TICKS;
+                huntStarts.add(player.stub);
+                huntsStarted++;
+            }
+        } else if ((tick + player.index) % RETARGET_TICKS == 0) {
+            player.target = treasureManager.findHintTarget(player.id(), session, player.location, HINT_RADIUS);
+        }
+
+        Location from = player.location;
+        Location to;
+        if (player.target != null && distanceSquared(from, player.target) <= REACH * REACH) {
+            interactions.add(interact(player.stub, player.target));
+            player.target = null;
+            to = from.clone();
+        } else {
+            if (player.target != null) {
+                player.heading = Math.atan2(player.target.getZ() - from.getZ(), player.target.getX() - from.getX());
+            } else if (random.nextInt(100) == 0) {
+                player.heading = random.nextDouble() * Math.PI * 2;
+            }
+            to = from.clone().add(Math.cos(player.heading) * WALK_SPEED, 0, Math.sin(player.heading) * WALK_SPEED);
+            if (Math.abs(to.getX()) > options.halfSize() || Math.abs(to.getZ()) > options.halfSize()) {
+                player.heading += Math.PI;
+                to = from.clone();
+            }
+        }
+        if (random.nextDouble() < options.interactChance()) {
+            interactions.add(interact(player.stub, to));
+        }
+        moves.add(new PlayerMoveEvent(player.stub, from, to));
+        player.location = to;
+    }
+
+    /**
+     * Builds a right click on the block at a location.
+     *
+     * @param player The clicking player.
+     * @param location The clicked location.
+     * @return The interact event.
+     */
+    private static PlayerInteractEvent interact(@NotNull Player player, @NotNull Location location) {
+        return new PlayerInteractEvent(player, Action.RIGHT_CLICK_BLOCK, null, Stubs.block(location), BlockFace.UP);
+    }
+
+    /**
+     * Gets the squared horizontal distance between two locations.
+     *
+     * @param a The first location.
+     * @param b The second location.
+     * @return The squared distance.
+     */
+    private static double distanceSquared(@NotNull Location a, @NotNull Location b) {
+        double dx = a.getX() - b.getX();
+        double dz = a.getZ() - b.getZ();
+        return dx * dx + dz * dz;
+    }
+
+    /**
+     * Prints the tick time percentiles, allocation rate, solve throughput and hot-path latencies.
+     *
+     * @param clueSolves The clues solved during the measured ticks.
+     * @param treasureFinds The treasures found during the measured ticks.
+     * @param hunts The hunts started during the measured ticks.
+     * @param wallNanos The wall time of the measured ticks, including driver work.
+     */
+    private void report(long clueSolves, long treasureFinds, long hunts, long wallNanos) {
+        LatencyHistogram.Snapshot ticks = tickTimes.snapshot();
+        double gameSeconds = options.ticks() / 20.0;
+        System.out.printf(Locale.ROOT, "%nMeasured %d ticks (%.0f s of game time) after %d warmup ticks, in %.1f s wall time%n",
+                options.ticks(), gameSeconds, options.warmupTicks(), wallNanos / 1e9);
+        System.out.printf(Locale.ROOT, "Plugin time per tick (us): mean %.1f, p50 %d, p90 %d, p99 %d, p99.9 %d, max %d%n",
+                ticks.mean() / 1000, micros(ticks.p50()), micros(ticks.p90()), micros(ticks.p99()), micros(ticks.p999()), micros(ticks.max()));
+        System.out.printf(Locale.ROOT, "Share of the 50 ms tick at p99: %.2f%%%n", 100.0 * ticks.p99() / TICK_NANOS);
+        System.out.printf(Locale.ROOT, "Allocation: %.1f KB per tick, %.2f MB per second of game time%n",
+                allocatedBytes / 1024.0 / options.ticks(), allocatedBytes / 1024.0 / 1024.0 / gameSeconds);
+        System.out.printf(Locale.ROOT, "Throughput: %d clue solves (%.1f/s), %d treasure finds (%.1f/s), %d hunts started%n",
+                clueSolves, clueSolves / gameSeconds, treasureFinds, treasureFinds / gameSeconds, hunts);
+        System.out.println("Hot-path latencies (us):");
+        fixture.metrics.getHistogramSnapshots().forEach((name, snapshot) -> {
+            if (snapshot.count() == 0) return;
+            System.out.printf(Locale.ROOT, "  %-22s count %9d, p50 %6d, p99 %6d, max %7d%n",
+                    name, snapshot.count(), micros(snapshot.p50()), micros(snapshot.p99()), micros(snapshot.max()));
+        });
+    }
+
+    /**
+     * Converts nanoseconds to microseconds.
+     *
+     * @param nanos The duration in nanoseconds.
+     * @return The duration in microseconds.
+     */
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    /**
+     * A synthetic player's movement state.
+     */
+    private static final class SimPlayer {
+        private final Player stub;
+        private final int index;
+        private Location location;
+        private double heading;
+        private @Nullable Location target;
+        private int nextRestart;
+
+        private SimPlayer(@NotNull Player stub, @NotNull Location location, double heading, int index) {
+            this.stub = stub;
+            this.location = location;
+            this.heading = heading;
+            this.index = index;
+        }
+
+        private UUID id() {
+            return stub.getUniqueId();
+        }
+    }
+
+    /**
+     * Simulation options.
+     *
+     * @param players The number of synthetic players.
+     * @param treasures The number of treasures.
+     * @param cluesPerTreasure The number of clues around each treasure.
+     * @param halfSize Half the side length of the populated area, in blocks.
+     * @param ticks The number of measured ticks.
+     * @param warmupTicks The number of ticks run before measuring.
+     * @param interactChance The chance per player and tick of clicking the block underfoot.
+     * @param seed The random seed.
+     * @param storage The storage backend.
+     */
+    private record Options(int players, int treasures, int cluesPerTreasure, int halfSize, int ticks, int warmupTicks,
+                           double interactChance, long seed, String storage) {
+        /**
+         * Parses {@code --name value} pairs, using defaults for missing options.
+         *
+         * @param args The command-line arguments.
+         * @return The options.
+         * @throws IllegalArgumentException if an option is unknown or has no value.
+         */
+        static Options parse(String[] args) {
+            int players = 100;
+            int treasures = 2000;
+            int cluesPerTreasure = 5;
+            int halfSize = 2048;
+            int ticks = 6000;
+            int warmupTicks = 1200;
+            double interactChance = 0.01;
+            long seed = 42;
+            String storage = "mongodb";
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i]);
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--players" -> players = Integer.parseInt(value);
+                    case "--treasures" -> treasures = Integer.parseInt(value);
+                    case "--clues-per-treasure" -> cluesPerTreasure = Integer.parseInt(value);
+                    case "--half-size" -> halfSize = Integer.parseInt(value);
+                    case "--ticks" -> ticks = Integer.parseInt(value);
+                    case "--warmup-ticks" -> warmupTicks = Integer.parseInt(value);
+                    case "--interact-chance" -> interactChance = Double.parseDouble(value);
+                    case "--seed" -> seed = Long.parseLong(value);
+                    case "--storage" -> storage = value;
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+                }
+            }
+            return new Options(players, treasures, cluesPerTreasure, halfSize, Math.max(1, ticks), Math.max(0, warmupTicks),
+                    interactChance, seed, storage);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package gg.kite.managers;
+
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Crash recovery of {@link AppendLog}: what a reader gets back from a log that was cut short, damaged or reset.
+ */
+class AppendLogTest {
+    private static final int WINDOW_BYTES = 4096;
+    private static final Logger LOGGER = Logger.getLogger("AppendLogTest");
+
+    @TempDir
+    Path directory;
+
+    /**
+     * Records appended and closed are read back in order.
+     */
+    @Test
+    void readsAppendedRecordsInOrder() throws IOException {
+        Path file = directory.resolve("log");
+        try (AppendLog log = open(file, new ArrayList<>())) {
+            for (int i = 0; i < 3; i++) {
+                log.append(record(i));
+            }
+        }
+        assertEquals(List.of(0, 1, 2), read(file));
+    }
+
+    /**
+     * Records that were only synced, as after a crash without close, are read back, and the untrimmed tail of the
+     * mapped window ends the log.
+     */
+    @Test
+    void readsSyncedRecordsWithoutClose() throws IOException {
+        Path file = directory.resolve("log");
+        AppendLog log = open(file, new ArrayList<>());
+        log.append(record(0));
+        log.append(record(1));
+        log.force();
+        assertEquals(List.of(0, 1), read(file));
+        log.close();
+    }
+
+    /**
+     * A record cut off part way stops the read, and the next append replaces it without exposing its bytes.
+     */
+    @Test
+    void stopsAtTornTailAndAppendsOverIt() throws IOException {
+        Path file = directory.resolve("log");
+        try (AppendLog log = open(file, new ArrayList<>())) {
+            log.append(record(0));
+            log.append(record(1));
+        }
+        long size = Files.size(file);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 3);
+        }
+        assertEquals(List.of(0), read(file));
+
+        List<Integer> existing = new ArrayList<>();
+        try (AppendLog log = open(file, existing)) {
+            log.append(record(2));
+        }
+        assertEquals(List.of(0), existing);
+        assertEquals(List.of(0, 2), read(file));
+    }
+
+    /**
+     * A record whose bytes no longer match its checksum stops the read, hiding every record after it.
+     */
+    @Test
+    void stopsAtChecksumMismatch() throws IOException {
+        Path file = directory.resolve("log");
+        try (AppendLog log = open(file, new ArrayList<>())) {
+            log.append(record(0));
+            log.append(record(1));
+            log.append(record(2));
+        }
+        long second = recordOffset(file, 1);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer lastByte = ByteBuffer.allocate(1);
+            // The last byte of the second record's document, which belongs to no length or checksum.
+            long position = second + 8 + lengthAt(channel, second) - 2;
+            channel.read(lastByte, position);
+            lastByte.flip();
+            byte flipped = (byte) (lastByte.get(0) ^ 0x7f);
+            channel.write(ByteBuffer.wrap(new byte[]{flipped}), position);
+        }
+        assertEquals(List.of(0), read(file));
+    }
+
+    /**
+     * A reset empties the log without shrinking the file: the end marker at the start hides the old records, both
+     * right away and after new appends shorter than what was there.
+     */
+    @Test
+    void resetHidesOldRecords() throws IOException {
+        Path file = directory.resolve("log");
+        AppendLog log = open(file, new ArrayList<>());
+        for (int i = 0; i < 5; i++) {
+            log.append(record(i));
+        }
+        log.force();
+        log.reset();
+        assertEquals(0, log.size());
+        assertEquals(List.of(), read(file));
+
+        log.append(record(9));
+        log.force();
+        assertEquals(List.of(9), read(file));
+        log.close();
+        assertEquals(List.of(9), read(file));
+    }
+
+    /**
+     * Appends that outgrow the first mapped window continue in the next one.
+     */
+    @Test
+    void appendsAcrossWindows() throws IOException {
+        Path file = directory.resolve("log");
+        List<Integer> expected = new ArrayList<>();
+        try (AppendLog log = open(file, new ArrayList<>())) {
+            for (int i = 0; i < 500; i++) {
+                log.append(record(i));
+                expected.add(i);
+            }
+        }
+        assertEquals(expected, read(file));
+    }
+
+    /**
+     * A file written in one go reads back like an appended log.
+     */
+    @Test
+    void writesCompleteFile() throws IOException {
+        Path file = directory.resolve("snapshot");
+        AppendLog.write(file, consumer -> {
+            consumer.accept(record(0));
+            consumer.accept(record(1));
+        });
+        assertEquals(List.of(0, 1), read(file));
+    }
+
+    /**
+     * Opens a log with a small window and no sync thread.
+     *
+     * @param file The log file.
+     * @param existing The list receiving the sequence numbers of the records already in the file.
+     * @return The log.
+     */
+    private static AppendLog open(Path file, List<Integer> existing) throws IOException {
+        return new AppendLog(file, WINDOW_BYTES, 0, LOGGER, record -> existing.add(record.getInteger("seq")));
+    }
+
+    /**
+     * Builds a test record.
+     *
+     * @param seq The sequence number of the record.
+     * @return The record.
+     */
+    private static Document record(int seq) {
+        return new Document("seq", seq).append("payload", "record " + seq);
+    }
+
+    /**
+     * Reads the sequence numbers of the records in a log file.
+     *
+     * @param file The log file.
+     * @return The sequence numbers, in order.
+     */
+    private static List<Integer> read(Path file) throws IOException {
+        List<Integer> seqs = new ArrayList<>();
+        AppendLog.read(file, record -> seqs.add(record.getInteger("seq")));
+        return seqs;
+    }
+
+    /**
+     * Finds where a record starts by walking the length fields.
+     *
+     * @param file The log file.
+     * @param index The index of the record.
+     * @return The file offset of the record.
+     */
+    private static long recordOffset(Path file, int index) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long position = 0;
+            for (int i = 0; i < index; i++) {
+                position += 8 + lengthAt(channel, position);
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Reads the length field of the record at an offset.
+     *
+     * @param channel The channel of the log file.
+     * @param position The offset of the record.
+     * @return The length of the record's document.
+     */
+    private static int lengthAt(FileChannel channel, long position) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(4);
+        channel.read(length, position);
+        return length.getInt(0);
+    }
+}
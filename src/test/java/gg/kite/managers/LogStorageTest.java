@@ -0,0 +1,154 @@
+package gg.kite.managers;
+
+import gg.kite.metrics.Metrics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Restart and crash recovery of {@link LogStorage}, using teams since they need no worlds.
+ */
+class LogStorageTest {
+    private static final Logger LOGGER = Logger.getLogger("LogStorageTest");
+    private static final long NEVER_COMPACT = Long.MAX_VALUE;
+
+    @TempDir
+    Path directory;
+
+    private final PlayerNameCache playerNameCache = new PlayerNameCache();
+
+    /**
+     * Logged saves and deletes are replayed on the next start.
+     */
+    @Test
+    void replaysLoggedChanges() {
+        LogStorage storage = open(NEVER_COMPACT);
+        storage.saveTeam(team("alpha"));
+        storage.saveTeam(team("beta"));
+        storage.deleteTeam("alpha");
+        storage.close();
+
+        LogStorage reopened = open(NEVER_COMPACT);
+        assertEquals(List.of("beta"), teamNames(reopened));
+        reopened.close();
+    }
+
+    /**
+     * A change cut off part way is dropped on the next start, and later changes are kept after it.
+     */
+    @Test
+    void dropsTornChange() throws IOException {
+        LogStorage storage = open(NEVER_COMPACT);
+        storage.saveTeam(team("alpha"));
+        storage.saveTeam(team("beta"));
+        storage.close();
+        Path log = directory.resolve("changes.log");
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(log) - 3);
+        }
+
+        LogStorage reopened = open(NEVER_COMPACT);
+        assertEquals(List.of("alpha"), teamNames(reopened));
+        reopened.saveTeam(team("gamma"));
+        reopened.close();
+
+        LogStorage again = open(NEVER_COMPACT);
+        assertEquals(List.of("alpha", "gamma"), teamNames(again));
+        again.close();
+    }
+
+    /**
+     * State compacted into the snapshot survives a restart, as do changes logged after the last compaction.
+     */
+    @Test
+    void keepsStateAcrossCompactions() {
+        // A threshold of one byte compacts after every append.
+        LogStorage storage = open(1);
+        storage.saveTeam(team("alpha"));
+        storage.saveTeam(team("beta"));
+        storage.deleteTeam("alpha");
+        storage.saveTeam(team("gamma"));
+        storage.close();
+        assertTrue(Files.exists(directory.resolve("snapshot.bson")));
+
+        LogStorage reopened = open(NEVER_COMPACT);
+        assertEquals(List.of("beta", "gamma"), teamNames(reopened));
+        reopened.saveTeam(team("delta"));
+        reopened.close();
+
+        LogStorage again = open(NEVER_COMPACT);
+        assertEquals(List.of("beta", "delta", "gamma"), teamNames(again));
+        again.close();
+    }
+
+    /**
+     * A log left behind by a compaction interrupted after the snapshot was replaced belongs to the previous
+     * generation; its changes are already in the snapshot, so it is skipped and started over.
+     */
+    @Test
+    void skipsLogOfOlderGeneration() throws IOException {
+        AppendLog.write(directory.resolve("snapshot.bson"), records -> {
+            records.accept(StorageRecords.header(1));
+            records.accept(StorageRecords.saveTeam(team("alpha"), playerNameCache));
+        });
+        AppendLog.write(directory.resolve("changes.log"), records -> {
+            records.accept(StorageRecords.header(0));
+            records.accept(StorageRecords.deleteTeam("alpha"));
+            records.accept(StorageRecords.saveTeam(team("stale"), playerNameCache));
+        });
+
+        LogStorage storage = open(NEVER_COMPACT);
+        assertEquals(List.of("alpha"), teamNames(storage));
+        storage.saveTeam(team("beta"));
+        storage.close();
+
+        LogStorage reopened = open(NEVER_COMPACT);
+        assertEquals(List.of("alpha", "beta"), teamNames(reopened));
+        reopened.close();
+    }
+
+    /**
+     * Opens the storage in the test directory with a small window and no sync thread.
+     *
+     * @param compactBytes The log size that triggers a compaction.
+     * @return The storage.
+     */
+    private LogStorage open(long compactBytes) {
+        return new LogStorage(playerNameCache, directory, 4096, 0, compactBytes, new Metrics(), LOGGER);
+    }
+
+    /**
+     * Builds a team with one member.
+     *
+     * @param name The team name.
+     * @return The team.
+     */
+    private static Team team(String name) {
+        return new Team(name, UUID.randomUUID());
+    }
+
+    /**
+     * Gets the sorted names of the stored teams.
+     *
+     * @param storage The storage.
+     * @return The team names.
+     */
+    private static List<String> teamNames(Storage storage) {
+        List<String> names = new ArrayList<>();
+        storage.loadTeams().forEach(team -> names.add(team.getName()));
+        names.sort(null);
+        return names;
+    }
+}
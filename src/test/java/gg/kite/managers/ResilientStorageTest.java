@@ -0,0 +1,298 @@
+package gg.kite.managers;
+
+import com.mongodb.MongoException;
+import com.mongodb.MongoSocketOpenException;
+import com.mongodb.MongoTimeoutException;
+import com.mongodb.ServerAddress;
+import gg.kite.metrics.Metrics;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tripping, journaling and replay of {@link ResilientStorage}, against a delegate that fails on demand. Replays are
+ * started by hand; the scheduled one is too far off to run during a test.
+ */
+class ResilientStorageTest {
+    private static final Logger LOGGER = Logger.getLogger("ResilientStorageTest");
+    private static final long RECOVERY_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    @TempDir
+    Path directory;
+
+    private final PlayerNameCache playerNameCache = new PlayerNameCache();
+    private final Metrics metrics = new Metrics();
+
+    /**
+     * A write that finds the storage unreachable trips the breaker; it and later writes are journaled, reads fail,
+     * and a replay writes them in order and closes the breaker.
+     */
+    @Test
+    void journalsWritesUntilRecovered() {
+        FlakyStorage delegate = new FlakyStorage();
+        ResilientStorage storage = open(delegate);
+        delegate.failAfter(0, unavailable());
+        storage.saveTeam(team("alpha"));
+        storage.saveTeam(team("beta"));
+        assertTrue(storage.isTripped());
+        assertEquals(2, storage.getJournaled());
+        assertThrows(IllegalStateException.class, storage::loadTeams);
+
+        delegate.heal();
+        storage.recover();
+        assertFalse(storage.isTripped());
+        assertEquals(List.of("alpha", "beta"), delegate.saved);
+        assertEquals(2, storage.loadTeams().size());
+        storage.close();
+    }
+
+    /**
+     * A replay cut short by the storage failing again resumes after the last record written, without repeating or
+     * losing any.
+     */
+    @Test
+    void resumesPartialReplay() {
+        FlakyStorage delegate = new FlakyStorage();
+        ResilientStorage storage = open(delegate);
+        delegate.failAfter(0, unavailable());
+        for (String name : List.of("alpha", "beta", "gamma", "delta")) {
+            storage.saveTeam(team(name));
+        }
+
+        delegate.failAfter(2, new MongoTimeoutException("timed out"));
+        storage.recover();
+        assertTrue(storage.isTripped());
+        assertEquals(List.of("alpha", "beta"), delegate.saved);
+
+        storage.saveTeam(team("epsilon"));
+        delegate.heal();
+        storage.recover();
+        assertFalse(storage.isTripped());
+        assertEquals(List.of("alpha", "beta", "gamma", "delta", "epsilon"), delegate.saved);
+        storage.close();
+    }
+
+    /**
+     * A journaled write the storage rejects for a reason other than unavailability is skipped, so it cannot keep
+     * the breaker open.
+     */
+    @Test
+    void skipsRejectedRecords() {
+        FlakyStorage delegate = new FlakyStorage();
+        ResilientStorage storage = open(delegate);
+        delegate.failAfter(0, unavailable());
+        for (String name : List.of("alpha", "beta", "gamma")) {
+            storage.saveTeam(team(name));
+        }
+
+        delegate.heal();
+        delegate.rejected.add("beta");
+        storage.recover();
+        assertFalse(storage.isTripped());
+        assertEquals(List.of("alpha", "gamma"), delegate.saved);
+        assertEquals(1, metrics.counter("storage.breaker.skipped").sum());
+        storage.close();
+    }
+
+    /**
+     * While the breaker is closed, a write rejected for a reason other than unavailability is thrown to the caller
+     * and does not trip the breaker.
+     */
+    @Test
+    void throwsRejectedWriteWhileClosed() {
+        FlakyStorage delegate = new FlakyStorage();
+        ResilientStorage storage = open(delegate);
+        delegate.rejected.add("alpha");
+        assertThrows(IllegalStateException.class, () -> storage.saveTeam(team("alpha")));
+        assertFalse(storage.isTripped());
+        storage.close();
+    }
+
+    /**
+     * Writes made while a replay is writing to the storage are journaled without waiting for it, and are replayed
+     * by the same recovery.
+     */
+    @Test
+    void journalsWritesDuringReplay() throws Exception {
+        FlakyStorage delegate = new FlakyStorage();
+        ResilientStorage storage = open(delegate);
+        delegate.failAfter(0, unavailable());
+        storage.saveTeam(team("alpha"));
+        storage.saveTeam(team("slow"));
+
+        delegate.heal();
+        delegate.slow = "slow";
+        CompletableFuture<Void> replay = CompletableFuture.runAsync(storage::recover);
+        assertTrue(delegate.entered.await(5, TimeUnit.SECONDS));
+        CompletableFuture.runAsync(() -> storage.saveTeam(team("late"))).get(5, TimeUnit.SECONDS);
+        assertTrue(storage.isTripped());
+
+        delegate.release.countDown();
+        replay.get(5, TimeUnit.SECONDS);
+        assertFalse(storage.isTripped());
+        assertEquals(List.of("alpha", "slow", "late"), delegate.saved);
+        storage.close();
+    }
+
+    /**
+     * Writes still journaled at close are replayed when the storage is next opened.
+     */
+    @Test
+    void replaysLeftoverJournalOnOpen() {
+        FlakyStorage delegate = new FlakyStorage();
+        ResilientStorage storage = open(delegate);
+        delegate.failAfter(0, unavailable());
+        storage.saveTeam(team("alpha"));
+        storage.deleteTeam("alpha");
+        storage.saveTeam(team("beta"));
+        storage.close();
+        assertEquals(List.of(), delegate.saved);
+
+        FlakyStorage restarted = new FlakyStorage();
+        ResilientStorage reopened = open(restarted);
+        assertFalse(reopened.isTripped());
+        assertEquals(List.of("alpha", "beta"), restarted.saved);
+        assertEquals(List.of("beta"), reopened.loadTeams().stream().map(Team::getName).toList());
+        reopened.close();
+    }
+
+    /**
+     * Connection and timeout failures count as unavailability, also when wrapped; other failures do not.
+     */
+    @Test
+    void classifiesUnavailability() {
+        assertTrue(ResilientStorage.isUnavailable(unavailable()));
+        assertTrue(ResilientStorage.isUnavailable(new MongoTimeoutException("timed out")));
+        assertTrue(ResilientStorage.isUnavailable(new IllegalStateException("wrapped", unavailable())));
+        assertFalse(ResilientStorage.isUnavailable(new MongoException("duplicate key")));
+        assertFalse(ResilientStorage.isUnavailable(new IllegalStateException("rejected")));
+    }
+
+    /**
+     * Opens a storage journaling to the test directory around a delegate.
+     *
+     * @param delegate The storage to guard.
+     * @return The storage.
+     */
+    private ResilientStorage open(Storage delegate) {
+        return new ResilientStorage(delegate, playerNameCache, directory.resolve("journal.log"), 4096, 0,
+                RECOVERY_MILLIS, metrics, LOGGER);
+    }
+
+    /**
+     * Builds a team with one member.
+     *
+     * @param name The team name.
+     * @return The team.
+     */
+    private static Team team(String name) {
+        return new Team(name, UUID.randomUUID());
+    }
+
+    /**
+     * Builds a failure of the storage being unreachable.
+     *
+     * @return The failure.
+     */
+    private static MongoException unavailable() {
+        return new MongoSocketOpenException("connection refused", new ServerAddress());
+    }
+
+    /**
+     * An in-memory storage whose team writes can be made to fail, rejected by name, or held until released, and
+     * which records the team writes it accepted in order.
+     */
+    private static final class FlakyStorage extends InMemoryStorage {
+        private final List<String> saved = new ArrayList<>();
+        private final Set<String> rejected = new HashSet<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile @Nullable RuntimeException failure;
+        private volatile int remaining;
+        private volatile @Nullable String slow;
+
+        /**
+         * Constructs an empty FlakyStorage that accepts every write.
+         */
+        private FlakyStorage() {
+            super(new PlayerNameCache(), LOGGER);
+        }
+
+        /**
+         * Makes every team write fail once a number of further writes have succeeded.
+         *
+         * @param writes The number of writes that still succeed.
+         * @param failure The failure to throw.
+         */
+        private void failAfter(int writes, @NotNull RuntimeException failure) {
+            this.remaining = writes;
+            this.failure = failure;
+        }
+
+        /**
+         * Lets every team write succeed again.
+         */
+        private void heal() {
+            failure = null;
+        }
+
+        /**
+         * Fails, rejects or holds a team write as configured.
+         *
+         * @param name The name of the team written.
+         */
+        private void check(@NotNull String name) {
+            RuntimeException failure = this.failure;
+            if (failure != null && remaining-- <= 0) throw failure;
+            if (rejected.contains(name)) throw new IllegalStateException("Rejected " + name);
+            if (name.equals(slow)) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        /**
+         * Saves a team unless configured to fail.
+         *
+         * @param team The team to save.
+         */
+        @Override
+        public void saveTeam(@NotNull Team team) {
+            check(team.getName());
+            super.saveTeam(team);
+            saved.add(team.getName());
+        }
+
+        /**
+         * Deletes a team unless configured to fail.
+         *
+         * @param name The name of the team to delete.
+         */
+        @Override
+        public void deleteTeam(@NotNull String name) {
+            check(name);
+            super.deleteTeam(name);
+        }
+    }
+}